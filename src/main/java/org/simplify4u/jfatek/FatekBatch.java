@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.simplify4u.jfatek.io.FatekConnection;
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekTransaction;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Sequence of commands executed back to back on one connection.</p>
+ *
+ * <p>Connection is leased once for whole batch and all commands are executed as one transaction,
+ * so messages of other threads are not mixed between commands of batch.</p>
+ *
+ * <p>By default batch stops on first failed command, remaining commands are skipped.
+ * When batch continues on error, only problem with connection stops it.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class FatekBatch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FatekBatch.class);
+
+    /**
+     * Result of one command of batch.
+     *
+     * @param <T> type of command result
+     */
+    public static final class CommandResult<T> {
+
+        private final FatekCommand<T> command;
+        private final boolean executed;
+        private final T value;
+        private final Exception error;
+
+        private CommandResult(FatekCommand<T> command, boolean executed, T value, Exception error) {
+
+            this.command = command;
+            this.executed = executed;
+            this.value = value;
+            this.error = error;
+        }
+
+        public FatekCommand<T> getCommand() {
+            return command;
+        }
+
+        /**
+         * Test if command was sent, command is skipped when batch is stopped by earlier error.
+         *
+         * @return true if command was sent
+         */
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        public boolean isSuccess() {
+            return executed && error == null;
+        }
+
+        /**
+         * Result of successful command.
+         *
+         * @return command result, null if command fails or was skipped
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Error of command, {@link FatekIOException} if problem with connection or {@link FatekException}.
+         *
+         * @return error if command fails
+         */
+        public Optional<Exception> getError() {
+            return Optional.ofNullable(error);
+        }
+    }
+
+    private final FatekPLC fatekPLC;
+    private final List<FatekCommand<?>> commands = new ArrayList<>();
+    private boolean continueOnError;
+
+    FatekBatch(FatekPLC fatekPLC) {
+
+        this.fatekPLC = fatekPLC;
+    }
+
+    /**
+     * Add command to batch.
+     *
+     * @param command command to execute
+     * @return this batch
+     */
+    public FatekBatch add(FatekCommand<?> command) {
+
+        commands.add(command);
+        return this;
+    }
+
+    /**
+     * Set if batch should execute next commands after command error.
+     *
+     * @param continueOnError true if remaining commands should be executed after error
+     * @return this batch
+     */
+    public FatekBatch continueOnError(boolean continueOnError) {
+
+        this.continueOnError = continueOnError;
+        return this;
+    }
+
+    public List<FatekCommand<?>> getCommands() {
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Execute all commands and wait for results.
+     *
+     * @return results of commands in order of adding
+     * @throws FatekIOException if connection can not be leased
+     */
+    public List<CommandResult<?>> execute() throws FatekIOException {
+
+        if (commands.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        long startTime = System.currentTimeMillis();
+        BatchTransaction transaction = new BatchTransaction();
+
+        FatekConnection conn = fatekPLC.leaseConnection();
+        try {
+            transaction.start();
+            conn.execute(transaction);
+            fatekPLC.getLatency().record(System.nanoTime() - transaction.writeNanos, transaction.messages);
+        } catch (FatekIOException e) {
+            FatekCommand.closeConnection(conn);
+            transaction.failed(e);
+        } catch (FatekException | RuntimeException e) {
+            transaction.failed(e);
+        } finally {
+            fatekPLC.releaseConnection(conn);
+            logWorkTime(startTime);
+        }
+
+        return transaction.results();
+    }
+
+    /**
+     * Execute all commands without waiting for results.
+     *
+     * @return future of command results, completed exceptionally only when connection can not be leased
+     */
+    public CompletableFuture<List<CommandResult<?>>> executeAsync() {
+
+        if (commands.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        FatekConnection conn;
+        try {
+            conn = fatekPLC.leaseConnection();
+        } catch (FatekIOException e) {
+            CompletableFuture<List<CommandResult<?>>> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        return executeAsync(conn);
+    }
+
+    /**
+     * Execute all commands without waiting for results on connection already leased by caller,
+     * connection is released when batch is finished.
+     *
+     * @param conn leased connection
+     * @return future of command results
+     */
+    CompletableFuture<List<CommandResult<?>>> executeAsync(FatekConnection conn) {
+
+        long startTime = System.currentTimeMillis();
+        BatchTransaction transaction = new BatchTransaction();
+
+        CompletableFuture<Void> txFuture;
+        try {
+            transaction.start();
+            txFuture = conn.executeAsync(transaction);
+        } catch (RuntimeException e) {
+            txFuture = new CompletableFuture<>();
+            txFuture.completeExceptionally(e);
+        }
+
+        return txFuture.handle((v, e) -> {
+            fatekPLC.releaseConnection(conn);
+            logWorkTime(startTime);
+            if (e == null) {
+                fatekPLC.getLatency().record(System.nanoTime() - transaction.writeNanos, transaction.messages);
+            } else {
+                Exception cause = FatekCommand.toException(e);
+                if (cause instanceof FatekIOException) {
+                    FatekCommand.closeConnection(conn);
+                }
+                transaction.failed(cause);
+            }
+            return transaction.results();
+        });
+    }
+
+    // private methods
+
+    private void logWorkTime(long startTime) {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Process batch of {} commands work time: {} ms",
+                    commands.size(), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Transaction which sends commands one by one, command error ends only its command.
+     */
+    private final class BatchTransaction implements FatekTransaction {
+
+        private final FatekCommand<?>[] batchCommands = commands.toArray(new FatekCommand<?>[commands.size()]);
+        private final Object[] values = new Object[batchCommands.length];
+        private final Exception[] errors = new Exception[batchCommands.length];
+        private int current;
+        private int messages;
+        private long writeNanos;
+        // batch was finished by error of request which was not sent
+        private boolean stopped;
+
+        private void start() {
+
+            for (FatekCommand<?> command : batchCommands) {
+                command.setAlreadySent(false);
+                command.beforeExecute();
+            }
+        }
+
+        @Override
+        public void writeRequest(FatekWriter writer) throws FatekException, FatekIOException {
+
+            if (messages == 0) {
+                writeNanos = System.nanoTime();
+            }
+
+            while (true) {
+                try {
+                    batchCommands[current].getTransaction().writeRequest(writer);
+                    messages++;
+                    return;
+                } catch (FatekException e) {
+                    // request of command can not be built, next command is written instead
+                    writer.discard();
+                    errors[current] = e;
+                    current++;
+                    if (!continueOnError || current == batchCommands.length) {
+                        stopped = true;
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean readResponse(FatekReader reader) throws FatekException {
+
+            FatekCommand<?> command = batchCommands[current];
+            try {
+                if (command.getTransaction().readResponse(reader)) {
+                    return true;
+                }
+                command.setAlreadySent(true);
+                values[current] = command.getResult();
+            } catch (FatekException e) {
+                errors[current] = e;
+                if (!continueOnError) {
+                    current++;
+                    return false;
+                }
+            }
+
+            current++;
+            return current < batchCommands.length;
+        }
+
+        /**
+         * Transaction is broken, error is assigned to current command.
+         */
+        private void failed(Exception e) {
+
+            if (!stopped && current < batchCommands.length) {
+                errors[current] = e;
+                current++;
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private List<CommandResult<?>> results() {
+
+            List<CommandResult<?>> results = new ArrayList<>(batchCommands.length);
+            for (int i = 0; i < batchCommands.length; i++) {
+                results.add(new CommandResult(batchCommands[i], i < current, values[i], errors[i]));
+            }
+            return Collections.unmodifiableList(results);
+        }
+    }
+}
@@ -16,12 +16,21 @@
 
 package org.simplify4u.jfatek;
 
-import java.net.SocketTimeoutException;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 import org.simplify4u.jfatek.io.FatekConnection;
 import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekTransaction;
 import org.simplify4u.jfatek.io.FatekWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,12 +42,30 @@ public abstract class FatekCommand<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(FatekCommand.class);
 
+    /**
+     * Timer for timeouts of asynchronous commands, created on first use.
+     */
+    private static final class TimeoutScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jfatek-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private final FatekPLC fatekPLC;
 
     private boolean alreadySent;
 
+    // messages sent by current execution and time of writing its first request
+    private int messages;
+    private long writeNanos;
+
     private final int plcId;
 
+    private final FatekTransaction transaction = new CommandTransaction();
+
     protected FatekCommand(FatekPLC fatekPLC, int plcId) {
 
         this.fatekPLC = fatekPLC;
@@ -115,31 +142,132 @@ public abstract class FatekCommand<T> {
 
         long startTime = System.currentTimeMillis();
         setAlreadySent(false);
+        messages = 0;
 
         FatekConnection conn = null;
         try {
-            conn = fatekPLC.getConnection();
+            conn = fatekPLC.leaseConnection();
             execute(conn);
             setAlreadySent(true);
+            fatekPLC.getLatency().record(System.nanoTime() - writeNanos, messages);
         } catch (FatekIOException e) {
             if (conn != null) {
-                try {
-                    conn.close();
-                } catch (FatekIOException ioe) {
-                    LOG.debug("Error during closing connection in case of failure", ioe);
-                }
+                closeConnection(conn);
             }
             throw e;
         } finally {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Process command ID: 0x{} work time: {} ms",
-                        Integer.toHexString(getID()).toUpperCase(Locale.ENGLISH), System.currentTimeMillis() - startTime);
+            if (conn != null) {
+                fatekPLC.releaseConnection(conn);
             }
+            logWorkTime(startTime);
         }
 
         return getResult();
     }
 
+    /**
+     * Send command to Fatek PLC without waiting for response.
+     * <p>
+     * Returned future is completed by thread which finished transaction.
+     *
+     * @return future of command execution result
+     * @see #sendAsync(Executor, long, TimeUnit)
+     */
+    public CompletableFuture<T> sendAsync() {
+
+        return sendAsync(null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send command to Fatek PLC without waiting for response.
+     *
+     * @param executor executor used to complete returned future
+     * @return future of command execution result
+     * @see #sendAsync(Executor, long, TimeUnit)
+     */
+    public CompletableFuture<T> sendAsync(Executor executor) {
+
+        return sendAsync(executor, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send command to Fatek PLC without waiting for response.
+     * <p>
+     * Future is completed exceptionally by {@link FatekIOException} if problem with connection
+     * or by {@link FatekException} if another problem. When command is not finished in given time
+     * future is completed by {@link FatekException} caused by {@link TimeoutException}.
+     * <p>
+     * Cancellation or timeout of returned future stops command after current message,
+     * so remaining messages of multi-message command are not sent.
+     *
+     * @param executor executor used to complete returned future, null means thread which finished transaction
+     * @param timeout  maximum time of whole command execution, 0 means that only message timeout of connection is used
+     * @param unit     unit of timeout
+     * @return future of command execution result
+     */
+    public CompletableFuture<T> sendAsync(Executor executor, long timeout, TimeUnit unit) {
+
+        long startTime = System.currentTimeMillis();
+        setAlreadySent(false);
+        messages = 0;
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FatekConnection conn;
+        try {
+            conn = fatekPLC.leaseConnection();
+        } catch (FatekIOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        CompletableFuture<Void> txFuture;
+        try {
+            beforeExecute();
+            // connection is released when transaction is finished, not when result is cancelled
+            txFuture = conn.executeAsync(transaction, () -> fatekPLC.releaseConnection(conn));
+        } catch (RuntimeException e) {
+            fatekPLC.releaseConnection(conn);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        if (timeout > 0) {
+            ScheduledFuture<?> timer = TimeoutScheduler.INSTANCE.schedule(
+                    () -> result.completeExceptionally(new FatekException(new TimeoutException("Command timed out"))),
+                    timeout, unit);
+            result.whenComplete((r, e) -> timer.cancel(false));
+        }
+
+        // stop transaction when result is cancelled or timed out
+        result.whenComplete((r, e) -> txFuture.cancel(false));
+
+        BiConsumer<Void, Throwable> completion = (v, e) -> {
+            logWorkTime(startTime);
+            if (e == null) {
+                try {
+                    setAlreadySent(true);
+                    fatekPLC.getLatency().record(System.nanoTime() - writeNanos, messages);
+                    result.complete(getResult());
+                } catch (FatekException | RuntimeException re) {
+                    result.completeExceptionally(re);
+                }
+            } else {
+                Exception cause = toException(e);
+                if (cause instanceof FatekIOException) {
+                    closeConnection(conn);
+                }
+                result.completeExceptionally(cause);
+            }
+        };
+
+        if (executor == null) {
+            txFuture.whenComplete(completion);
+        } else {
+            txFuture.whenCompleteAsync(completion, executor);
+        }
+        return result;
+    }
+
     /**
      * Read data from fatek PLC.
      *
@@ -155,34 +283,141 @@ public abstract class FatekCommand<T> {
     protected void execute(FatekConnection conn) throws FatekIOException, FatekException {
 
         beforeExecute();
-        do {
-            FatekWriter writer = conn.getWriter();
-            writer.writeByte(plcId);
-            writer.writeByte(getID());
-            writeData(writer);
-            // write whole message from internal buffer to stream
-            writer.flush();
-
-            FatekReader reader = conn.getReader();
-            // before start we must read next message to internal buffer
-            reader.readNextMessage();
-
-            // check plc id in response
-            if (reader.readByte() != plcId) {
-                throw new FatekException("Incorrect return PLC ID");
-            }
+        conn.execute(transaction);
+    }
 
-            // check command id in response
-            if (reader.readByte() != getID()) {
-                throw new FatekException("Incorrect return CMD ID");
-            }
+    /**
+     * Transaction of command, used when command is executed as part of bigger transaction.
+     *
+     * @return command transaction
+     */
+    FatekTransaction getTransaction() {
+        return transaction;
+    }
 
-            // check status code in response
-            int errorCode = reader.readNibble();
-            if (errorCode != 0) {
-                throw new FatekCmdErrorException(errorCode);
+    /**
+     * Encode first request message of command.
+     *
+     * @return frame from STX to ETX
+     */
+    byte[] prepareFrame() throws FatekIOException, FatekException {
+
+        beforeExecute();
+        return FatekWriter.prepareFrame(transaction);
+    }
+
+    /**
+     * Check header of response message.
+     *
+     * @param reader    reader of response message
+     * @param plcId     expected plc station address
+     * @param commandId expected command ID
+     * @throws FatekException if header does not match request or PLC returns error
+     */
+    static void readResponseHeader(FatekReader reader, int plcId, int commandId) throws FatekException {
+
+        // check plc id in response
+        if (reader.readByte() != plcId) {
+            throw new FatekException("Incorrect return PLC ID");
+        }
+
+        // check command id in response
+        if (reader.readByte() != commandId) {
+            throw new FatekException("Incorrect return CMD ID");
+        }
+
+        // check status code in response
+        int errorCode = reader.readNibble();
+        if (errorCode != 0) {
+            throw new FatekCmdErrorException(errorCode);
+        }
+    }
+
+    /**
+     * Close connection after failure, error of closing is only logged.
+     *
+     * @param conn connection to close
+     */
+    static void closeConnection(FatekConnection conn) {
+
+        try {
+            conn.close();
+        } catch (FatekIOException ioe) {
+            LOG.debug("Error during closing connection in case of failure", ioe);
+        }
+    }
+
+    /**
+     * Unwrap failure of asynchronous processing to its original exception.
+     *
+     * @param e failure passed to completion stage
+     * @return cause of {@link CompletionException} or failure itself, {@link Error} is wrapped
+     */
+    static Exception toException(Throwable e) {
+
+        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        return cause instanceof Exception ? (Exception) cause : new CompletionException(cause);
+    }
+
+    // private methods
+
+    private void logWorkTime(long startTime) {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Process command ID: 0x{} work time: {} ms",
+                    Integer.toHexString(getID()).toUpperCase(Locale.ENGLISH), System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * Write whole request message.
+     */
+    private void writeRequest(FatekWriter writer) throws FatekException, FatekIOException {
+
+        writer.writeByte(plcId);
+        writer.writeByte(getID());
+        writeData(writer);
+    }
+
+    /**
+     * Check response header and read data.
+     *
+     * @return true if next message should be sent
+     */
+    private boolean readResponse(FatekReader reader) throws FatekException {
+
+        readResponseHeader(reader, plcId, getID());
+        readData(reader);
+
+        return isMoreDataToExecute();
+    }
+
+    /**
+     * Transaction which execute command, keep transaction methods out of command public api.
+     */
+    private final class CommandTransaction implements FatekTransaction {
+
+        @Override
+        public void writeRequest(FatekWriter writer) throws FatekException, FatekIOException {
+            if (messages++ == 0) {
+                writeNanos = System.nanoTime();
             }
-            readData(reader);
-        } while (isMoreDataToExecute());
+            FatekCommand.this.writeRequest(writer);
+        }
+
+        @Override
+        public boolean readResponse(FatekReader reader) throws FatekException {
+            return FatekCommand.this.readResponse(reader);
+        }
+
+        @Override
+        public int getPlcId() {
+            return plcId;
+        }
+
+        @Override
+        public int getCommandId() {
+            return getID();
+        }
     }
 }
@@ -49,6 +49,6 @@ public class FatekDiscreteControlCmd extends FatekCommand<Void> {
     protected void writeData(FatekWriter writer) throws FatekIOException {
 
         writer.writeNibble(runningCode.getCode());
-        writer.write(discrete.toString());
+        discrete.writeTo(writer);
     }
 }
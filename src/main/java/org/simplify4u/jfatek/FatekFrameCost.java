@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.registers.Reg;
+
+/**
+ * Cost model of frames used by read planner and write compiler.
+ * <p>
+ * Cost is measured in characters transmitted over the link. Each frame costs its header and trailer
+ * plus link round trip time, each value costs its characters in request or response.
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class FatekFrameCost {
+
+    /**
+     * Characters of request and response frame without data: STX, station, command, error, CRC, ETX.
+     */
+    static final int DEFAULT_FRAME_OVERHEAD = 17;
+
+    /**
+     * Default link round trip time as number of characters which can be transmitted in this time.
+     */
+    static final int DEFAULT_ROUND_TRIP = 20;
+
+    private final int frameCost;
+
+    FatekFrameCost(int frameOverhead, int roundTrip) {
+
+        if (frameOverhead < 0 || roundTrip < 0) {
+            throw new IllegalArgumentException("Frame cost can not be negative");
+        }
+        this.frameCost = frameOverhead + roundTrip;
+    }
+
+    /**
+     * Characters of one register value.
+     */
+    static int valueChars(Reg reg) {
+
+        if (reg.isDiscrete()) {
+            return 1;
+        }
+        return reg.is32Bits() ? 8 : 4;
+    }
+
+    /**
+     * Units of random access frame taken by register, 32 bits register takes two units.
+     */
+    static int units(Reg reg) {
+
+        return reg.is32Bits() ? 2 : 1;
+    }
+
+    /**
+     * Register in random access frame costs its name, its value and its part of frame.
+     *
+     * @param frameUnits number of units in one random access frame
+     */
+    double mixCost(Reg reg, int frameUnits) {
+
+        return reg.toString().length() + valueChars(reg) + (double) (frameCost + 2) * units(reg) / frameUnits;
+    }
+
+    /**
+     * Block costs whole frame with count, start register name and all values including gaps.
+     */
+    double blockCost(Reg start, int count) {
+
+        return frameCost + 2 + start.toString().length() + (double) count * valueChars(start);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.Arrays;
+
+/**
+ * <p>Response time of one PLC measured by executed commands.</p>
+ *
+ * <p>Time of command is measured from writing of its first request, so waiting for connection
+ * or for other commands is not counted. Time is divided by number of messages, so commands with different size
+ * can be compared. Average is exponentially weighted, baseline is the lowest time of last samples,
+ * so it is not raised by short overload, but adapts to permanent change of link.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class FatekLatency {
+
+    // weight of new sample in average
+    private static final double AVERAGE_WEIGHT = 0.2;
+
+    // baseline is minimum of last windows of samples
+    private static final int WINDOW_SIZE = 32;
+    private static final int WINDOWS = 8;
+
+    private long count;
+    private double average;
+    private double baseline;
+
+    // minimum of each window, current window is overwritten by its first sample
+    private final double[] windowMin = new double[WINDOWS];
+    private int window;
+    private int windowSamples;
+
+    FatekLatency() {
+        // created by FatekPLC
+    }
+
+    /**
+     * Number of measured commands.
+     *
+     * @return commands number
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Average time of one message.
+     *
+     * @return time in milliseconds
+     */
+    public synchronized double getAverageMillis() {
+        return average;
+    }
+
+    /**
+     * Time of one message when PLC is not loaded.
+     *
+     * @return time in milliseconds
+     */
+    public synchronized double getBaselineMillis() {
+        return baseline;
+    }
+
+    /**
+     * Forget all measurements.
+     */
+    public synchronized void reset() {
+
+        count = 0;
+        average = 0;
+        baseline = 0;
+        Arrays.fill(windowMin, 0);
+        window = 0;
+        windowSamples = 0;
+    }
+
+    /**
+     * Record successful execution.
+     *
+     * @param nanos    time of execution from writing of first request
+     * @param messages number of sent messages
+     */
+    synchronized void record(long nanos, int messages) {
+
+        if (messages < 1) {
+            return;
+        }
+
+        double sample = nanos / 1_000_000.0 / messages;
+        if (count == 0) {
+            average = sample;
+        } else {
+            average += (sample - average) * AVERAGE_WEIGHT;
+        }
+
+        if (windowSamples == 0 || sample < windowMin[window]) {
+            windowMin[window] = sample;
+        }
+        count++;
+        windowSamples++;
+
+        // windows are filled from first one
+        int usedWindows = (int) Math.min(WINDOWS, (count - 1) / WINDOW_SIZE + 1);
+        baseline = windowMin[0];
+        for (int i = 1; i < usedWindows; i++) {
+            baseline = Math.min(baseline, windowMin[i]);
+        }
+
+        if (windowSamples == WINDOW_SIZE) {
+            window = (window + 1) % WINDOWS;
+            windowSamples = 0;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.simplify4u.jfatek.io.FatekIOException;
 
 public final class FatekPLC extends FatekConnectionManager {
 
+    private final FatekLatency latency = new FatekLatency();
 
     /**
      * Create new FatekPLC client instance.
@@ -65,4 +66,38 @@ public final class FatekPLC extends FatekConnectionManager {
 
         return super.getConnection0();
     }
+
+    /**
+     * Response time of PLC measured by executed commands.
+     *
+     * @return latency statistics
+     */
+    public FatekLatency getLatency() {
+        return latency;
+    }
+
+    /**
+     * Create new batch of commands executed on one connection.
+     *
+     * @return empty batch
+     */
+    public FatekBatch batch() {
+
+        return new FatekBatch(this);
+    }
+
+    FatekConnection leaseConnection() throws FatekIOException {
+
+        return super.leaseConnection0();
+    }
+
+    FatekConnection tryLeaseConnection() {
+
+        return super.tryLeaseConnection0();
+    }
+
+    void releaseConnection(FatekConnection connection) {
+
+        super.releaseConnection0(connection);
+    }
 }
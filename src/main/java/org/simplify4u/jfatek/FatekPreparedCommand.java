@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.simplify4u.jfatek.io.FatekConnection;
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekTransaction;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegBlock;
+import org.simplify4u.jfatek.registers.RegKey;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueMap;
+
+/**
+ * <p>Read command with request messages encoded once.</p>
+ *
+ * <p>Prepared command is immutable, it can be sent many times and by many threads at once.
+ * Each send writes cached frames directly to connection and returns new result.</p>
+ *
+ * @param <T> type of command result
+ * @author Slawomir Jaranowski.
+ */
+public final class FatekPreparedCommand<T> {
+
+    /**
+     * Decoder of responses for one send.
+     */
+    private interface ResponseDecoder<T> {
+
+        void readFrame(int frame, FatekReader reader) throws FatekException;
+
+        T getResult();
+    }
+
+    private final FatekPLC fatekPLC;
+    private final int plcId;
+    private final int commandId;
+    private final byte[][] frames;
+    private final Supplier<ResponseDecoder<T>> decoderFactory;
+
+    private FatekPreparedCommand(FatekPLC fatekPLC, int plcId, int commandId, List<byte[]> frames,
+            Supplier<ResponseDecoder<T>> decoderFactory) {
+
+        this.fatekPLC = fatekPLC;
+        this.plcId = plcId;
+        this.commandId = commandId;
+        this.frames = frames.toArray(new byte[frames.size()][]);
+        this.decoderFactory = decoderFactory;
+    }
+
+    /**
+     * Prepare read of continuous data registers, like {@link FatekReadDataCmd}.
+     * Result list creates new value object on each access.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param startReg start register
+     * @param number   registers number to read
+     * @return prepared command
+     * @throws FatekIOException if problem with encoding
+     * @throws FatekException   if another problem
+     */
+    public static FatekPreparedCommand<List<RegValue>> readData(FatekPLC fatekPLC, int plcId,
+            DataReg startReg, int number) throws FatekIOException, FatekException {
+
+        checkNumber(number);
+        boolean is32Bits = startReg.is32Bits();
+        int maxRegs = is32Bits ? FatekReadDataCmd.MAX_REGS_32 : FatekReadDataCmd.MAX_REGS_16;
+
+        List<byte[]> frames = new ArrayList<>();
+        for (int off = 0; off < number; off += maxRegs) {
+            DataReg start = off == 0 ? startReg : startReg.incAddress(is32Bits ? off * 2 : off);
+            frames.add(new FatekReadDataCmd(fatekPLC, plcId, start, Math.min(number - off, maxRegs)).prepareFrame());
+        }
+
+        return new FatekPreparedCommand<>(fatekPLC, plcId, FatekReadDataCmd.CMD_ID, frames,
+                () -> new ResponseDecoder<List<RegValue>>() {
+                    private final RegBlock block = new RegBlock(startReg, number);
+
+                    @Override
+                    public void readFrame(int frame, FatekReader reader) throws FatekException {
+                        int off = frame * maxRegs;
+                        if (is32Bits) {
+                            reader.readInt32(block.getValues(), off, Math.min(number - off, maxRegs));
+                        } else {
+                            reader.readInt16(block.getValues(), off, Math.min(number - off, maxRegs));
+                        }
+                    }
+
+                    @Override
+                    public List<RegValue> getResult() {
+                        return block.asList();
+                    }
+                });
+    }
+
+    /**
+     * Prepare read of continuous discrete status, like {@link FatekReadDiscreteCmd}.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param discrete start discrete
+     * @param number   discrete number to read
+     * @return prepared command
+     * @throws FatekIOException if problem with encoding
+     * @throws FatekException   if another problem
+     */
+    public static FatekPreparedCommand<List<Boolean>> readDiscrete(FatekPLC fatekPLC, int plcId,
+            DisReg discrete, int number) throws FatekIOException, FatekException {
+
+        checkNumber(number);
+        int maxDiscrete = FatekReadDiscreteStatusCmd.MAX_DISCRETE;
+
+        List<byte[]> frames = new ArrayList<>();
+        for (int off = 0; off < number; off += maxDiscrete) {
+            DisReg start = off == 0 ? discrete : discrete.incAddress(off);
+            frames.add(new FatekReadDiscreteCmd(fatekPLC, plcId, start, Math.min(number - off, maxDiscrete))
+                    .prepareFrame());
+        }
+
+        return new FatekPreparedCommand<>(fatekPLC, plcId, FatekReadDiscreteCmd.CMD_ID, frames,
+                () -> new ResponseDecoder<List<Boolean>>() {
+                    private final Boolean[] values = new Boolean[number];
+
+                    @Override
+                    public void readFrame(int frame, FatekReader reader) throws FatekException {
+                        int off = frame * maxDiscrete;
+                        for (int i = off; i < Math.min(number, off + maxDiscrete); i++) {
+                            values[i] = reader.readBool();
+                        }
+                    }
+
+                    @Override
+                    public List<Boolean> getResult() {
+                        return Collections.unmodifiableList(Arrays.asList(values));
+                    }
+                });
+    }
+
+    /**
+     * Prepare mixed read of random registers, like {@link FatekReadMixDataCmd}.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param regs     registers to read
+     * @return prepared command
+     * @throws FatekIOException if problem with encoding
+     * @throws FatekException   if another problem
+     */
+    public static FatekPreparedCommand<RegValueMap> readMix(FatekPLC fatekPLC, int plcId,
+            Collection<? extends Reg> regs) throws FatekIOException, FatekException {
+
+        checkNumber(regs.size());
+        Reg[] regArray = regs.toArray(new Reg[regs.size()]);
+        int[] keys = new int[regArray.length];
+        for (int i = 0; i < regArray.length; i++) {
+            keys[i] = RegKey.of(regArray[i]);
+        }
+
+        // registers of frame i are from frameStart[i] to frameStart[i + 1] - 1
+        List<byte[]> frames = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        int from = 0;
+        while (from < regArray.length) {
+            int to = FatekReadMixBaseCmd.messageEnd(regArray, from);
+            starts.add(from);
+            frames.add(new FatekReadMixDataCmd(fatekPLC, plcId, Arrays.copyOfRange(regArray, from, to))
+                    .prepareFrame());
+            from = to;
+        }
+        starts.add(regArray.length);
+        int[] frameStart = starts.stream().mapToInt(Integer::intValue).toArray();
+
+        return new FatekPreparedCommand<>(fatekPLC, plcId, FatekReadMixDataCmd.CMD_ID, frames,
+                () -> new ResponseDecoder<RegValueMap>() {
+                    private final RegValueMap values = new RegValueMap(regArray.length);
+
+                    @Override
+                    public void readFrame(int frame, FatekReader reader) throws FatekException {
+                        FatekReadMixBaseCmd.readValues(reader, regArray, keys, values,
+                                frameStart[frame], frameStart[frame + 1]);
+                    }
+
+                    @Override
+                    public RegValueMap getResult() {
+                        return values;
+                    }
+                });
+    }
+
+    public int getPlcId() {
+        return plcId;
+    }
+
+    /**
+     * Number of request messages sent by one execution.
+     *
+     * @return number of frames
+     */
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * Send command to Fatek PLC.
+     *
+     * @return result of command execution
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    public T send() throws FatekIOException, FatekException {
+
+        PreparedTransaction transaction = new PreparedTransaction();
+        FatekConnection conn = fatekPLC.leaseConnection();
+        try {
+            conn.execute(transaction);
+            fatekPLC.getLatency().record(System.nanoTime() - transaction.writeNanos, frames.length);
+        } catch (FatekIOException e) {
+            FatekCommand.closeConnection(conn);
+            throw e;
+        } finally {
+            fatekPLC.releaseConnection(conn);
+        }
+        return transaction.decoder.getResult();
+    }
+
+    /**
+     * Send command to Fatek PLC without waiting for response.
+     *
+     * @return future of command execution result
+     */
+    public CompletableFuture<T> sendAsync() {
+
+        PreparedTransaction transaction = new PreparedTransaction();
+        FatekConnection conn;
+        try {
+            conn = fatekPLC.leaseConnection();
+        } catch (FatekIOException e) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        return conn.executeAsync(transaction).handle((v, e) -> {
+            fatekPLC.releaseConnection(conn);
+            if (e != null) {
+                if (FatekCommand.toException(e) instanceof FatekIOException) {
+                    FatekCommand.closeConnection(conn);
+                }
+                throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+            }
+            fatekPLC.getLatency().record(System.nanoTime() - transaction.writeNanos, frames.length);
+            return transaction.decoder.getResult();
+        });
+    }
+
+    // private methods
+
+    private static void checkNumber(int number) {
+
+        if (number < 1) {
+            throw new IllegalArgumentException("Registers number must be positive: " + number);
+        }
+    }
+
+    /**
+     * State of one send, sends cached frames one by one.
+     */
+    private final class PreparedTransaction implements FatekTransaction {
+
+        private final ResponseDecoder<T> decoder = decoderFactory.get();
+        private int frame;
+        private long writeNanos;
+
+        @Override
+        public void writeRequest(FatekWriter writer) {
+
+            if (frame == 0) {
+                writeNanos = System.nanoTime();
+            }
+            writer.writeFrame(frames[frame]);
+        }
+
+        @Override
+        public boolean readResponse(FatekReader reader) throws FatekException {
+
+            FatekCommand.readResponseHeader(reader, plcId, commandId);
+            decoder.readFrame(frame, reader);
+            frame++;
+            return frame < frames.length;
+        }
+
+        @Override
+        public int getPlcId() {
+            return plcId;
+        }
+
+        @Override
+        public int getCommandId() {
+            return commandId;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Controller of scan period driven by measured response time of PLC.</p>
+ *
+ * <p>When PLC is loaded by too many requests its response time grows. Controller compares average
+ * time of message with baseline time of not loaded PLC. Above knee ratio, or when previous cycle
+ * was not finished in time, period is increased multiplicatively. Below relax ratio period is decreased
+ * by small step, so each PLC is scanned with the shortest period it can serve.
+ * Period is kept in given bounds.</p>
+ *
+ * <p>Controller does not keep state, one instance can be used for many PLCs.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class FatekRateController {
+
+    /**
+     * Default ratio of average to baseline time above which PLC is overloaded.
+     */
+    public static final double DEFAULT_KNEE_RATIO = 2.0;
+
+    /**
+     * Default ratio of average to baseline time below which period can be shortened.
+     */
+    public static final double DEFAULT_RELAX_RATIO = 1.25;
+
+    // measurements needed before first change
+    private static final int MIN_SAMPLES = 5;
+
+    private static final double SLOW_DOWN = 1.5;
+    private static final double SPEED_UP = 0.9;
+
+    private final long minPeriod;
+    private final long maxPeriod;
+    private final double kneeRatio;
+    private final double relaxRatio;
+
+    /**
+     * Controller with default ratios.
+     *
+     * @param minPeriod shortest period
+     * @param maxPeriod longest period
+     * @param unit      unit of periods
+     */
+    public FatekRateController(long minPeriod, long maxPeriod, TimeUnit unit) {
+
+        this(minPeriod, maxPeriod, unit, DEFAULT_KNEE_RATIO, DEFAULT_RELAX_RATIO);
+    }
+
+    /**
+     * Controller with own ratios.
+     *
+     * @param minPeriod  shortest period
+     * @param maxPeriod  longest period
+     * @param unit       unit of periods
+     * @param kneeRatio  ratio of average to baseline time above which period is increased
+     * @param relaxRatio ratio of average to baseline time below which period is decreased
+     */
+    public FatekRateController(long minPeriod, long maxPeriod, TimeUnit unit, double kneeRatio, double relaxRatio) {
+
+        this.minPeriod = unit.toMillis(minPeriod);
+        this.maxPeriod = unit.toMillis(maxPeriod);
+        if (this.minPeriod < 1 || this.maxPeriod < this.minPeriod) {
+            throw new IllegalArgumentException("Invalid period bounds: " + minPeriod + " - " + maxPeriod + " " + unit);
+        }
+        if (!(relaxRatio >= 1.0 && kneeRatio > relaxRatio)) {
+            throw new IllegalArgumentException("Knee ratio must be greater than relax ratio and relax ratio at least 1");
+        }
+        this.kneeRatio = kneeRatio;
+        this.relaxRatio = relaxRatio;
+    }
+
+    public long getMinPeriod() {
+        return minPeriod;
+    }
+
+    public long getMaxPeriod() {
+        return maxPeriod;
+    }
+
+    /**
+     * Calculate next period.
+     *
+     * @param period  current period in milliseconds
+     * @param latency response time of PLC
+     * @param overrun true if cycle was not finished before next should start
+     * @return next period in milliseconds
+     */
+    public long nextPeriod(long period, FatekLatency latency, boolean overrun) {
+
+        long next = period;
+        if (overrun) {
+            next = (long) Math.ceil(period * SLOW_DOWN);
+        } else if (latency.getCount() >= MIN_SAMPLES && latency.getBaselineMillis() > 0) {
+            double ratio = latency.getAverageMillis() / latency.getBaselineMillis();
+            if (ratio > kneeRatio) {
+                next = (long) Math.ceil(period * SLOW_DOWN);
+            } else if (ratio < relaxRatio) {
+                next = (long) (period * SPEED_UP);
+            }
+        }
+        return Math.max(minPeriod, Math.min(maxPeriod, next));
+    }
+}
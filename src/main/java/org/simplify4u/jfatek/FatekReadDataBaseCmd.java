@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.simplify4u.jfatek.registers.DataReg;
+
+/**
+ * <p>Read the data from continuous registers, values of each message are passed to subclass.</p>
+ *
+ * <p>When number of registers is bigger than can be read by one message,
+ * registers are read by next messages in one command execution.</p>
+ *
+ * @param <T> type of command result
+ * @author Slawomir Jaranowski.
+ */
+abstract class FatekReadDataBaseCmd<T> extends FatekCommand<T> {
+
+    private final DataReg startReg;
+    private final int number;
+
+    private int nextIndex;
+    private int frameCount;
+
+    FatekReadDataBaseCmd(FatekPLC fatekPLC, int plcId, DataReg startReg, int number) {
+
+        super(fatekPLC, plcId);
+        if (number < 1) {
+            throw new IllegalArgumentException("Registers number must be positive: " + number);
+        }
+        this.startReg = startReg;
+        this.number = number;
+    }
+
+    @Override
+    public int getID() {
+
+        return FatekReadDataCmd.CMD_ID;
+    }
+
+    protected DataReg getStartReg() {
+        return startReg;
+    }
+
+    /**
+     * Prepare place for values of all registers, called before each execution.
+     */
+    protected abstract void prepareValues();
+
+    /**
+     * Read values of registers from one message.
+     *
+     * @param reader reader of response message
+     * @param index  position of first register in command
+     * @param count  number of registers in message
+     * @throws FatekException if problem with response
+     */
+    protected abstract void readValues(FatekReader reader, int index, int count) throws FatekException;
+
+    /**
+     * Called when values of all registers are read.
+     */
+    protected abstract void valuesRead();
+
+    /**
+     * Decode values of registers from one message into array of unsigned values.
+     *
+     * @param reader reader of response message
+     * @param values destination array
+     * @param index  position of first register in array
+     * @param count  number of registers in message
+     * @throws FatekException if problem with response
+     */
+    protected final void readValues(FatekReader reader, long[] values, int index, int count) throws FatekException {
+
+        if (startReg.is32Bits()) {
+            reader.readInt32(values, index, count);
+        } else {
+            reader.readInt16(values, index, count);
+        }
+    }
+
+    // protected methods
+
+    @Override
+    protected void beforeExecute() {
+
+        prepareValues();
+        nextIndex = 0;
+    }
+
+    @Override
+    protected boolean isMoreDataToExecute() {
+
+        return nextIndex < number;
+    }
+
+    @Override
+    protected void writeData(FatekWriter writer) throws FatekIOException {
+
+        boolean is32Bits = startReg.is32Bits();
+        frameCount = Math.min(number - nextIndex, is32Bits ? FatekReadDataCmd.MAX_REGS_32 : FatekReadDataCmd.MAX_REGS_16);
+
+        writer.writeByte(frameCount);
+        if (nextIndex == 0) {
+            startReg.writeTo(writer);
+        } else {
+            // 32 bits register takes two addresses
+            startReg.incAddress(is32Bits ? nextIndex * 2 : nextIndex).writeTo(writer);
+        }
+    }
+
+    @Override
+    protected void readData(FatekReader reader) throws FatekException {
+
+        readValues(reader, nextIndex, frameCount);
+        nextIndex += frameCount;
+
+        if (nextIndex == number) {
+            valuesRead();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.registers.RegBlock;
+
+/**
+ * <p>Read the data from continuous registers into {@link RegBlock}.</p>
+ *
+ * <p>Values are written directly to array of block, so command and block can be reused
+ * in each poll cycle without allocation of objects for each register.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDataBlockCmd extends FatekReadDataBaseCmd<RegBlock> {
+
+    private final RegBlock block;
+
+    /**
+     * Read the data from continuous registers described by block.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param block    block for read values, its start register and size are used in request
+     */
+    public FatekReadDataBlockCmd(FatekPLC fatekPLC, int plcId, RegBlock block) {
+
+        super(fatekPLC, plcId, block.getStartReg(), block.size());
+        this.block = block;
+    }
+
+    @Override
+    public RegBlock getResult() throws FatekNotSentException {
+
+        checkSent();
+        return block;
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+        // values are read directly to block
+    }
+
+    @Override
+    protected void readValues(FatekReader reader, int index, int count) throws FatekException {
+
+        readValues(reader, block.getValues(), index, count);
+    }
+
+    @Override
+    protected void valuesRead() {
+        // values are already in block
+    }
+}
@@ -16,33 +16,44 @@
 
 package org.simplify4u.jfatek;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekReader;
-import org.simplify4u.jfatek.io.FatekWriter;
 import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.RegBlock;
 import org.simplify4u.jfatek.registers.RegValue;
 
 /**
  * <p>Read the data from continuous registers.</p>
  *
+ * <p>Values are decoded into primitive array, result list creates value object on access.</p>
+ *
  * @author Slawomir Jaranowski.
  */
 
-public class FatekReadDataCmd extends FatekCommand<List<RegValue>> {
+public class FatekReadDataCmd extends FatekReadDataBaseCmd<List<RegValue>> {
 
     public static final int CMD_ID = 0x46;
 
-    private final DataReg startReg;
+    /**
+     * Max number of 16 bits registers in one message.
+     */
+    public static final int MAX_REGS_16 = 64;
+
+    /**
+     * Max number of 32 bits registers in one message.
+     */
+    public static final int MAX_REGS_32 = 32;
+
     private final int number;
 
-    private List<RegValue> result;
+    private RegBlock block;
 
     /**
      * Read the data from continuous registers.
+     * <p>
+     * When number of registers is bigger than can be read by one message,
+     * registers are read by next messages in one command execution.
      *
      * @param fatekPLC  PLC connection
      * @param plcId plc station address
@@ -51,40 +62,43 @@ public class FatekReadDataCmd extends FatekCommand<List<RegValue>> {
      */
     public FatekReadDataCmd(FatekPLC fatekPLC, int plcId, DataReg startReg, int number) {
 
-        super(fatekPLC, plcId);
-        this.startReg = startReg;
+        super(fatekPLC, plcId, startReg, number);
         this.number = number;
     }
 
-    @Override
-    public int getID() {
-
-        return CMD_ID;
-    }
-
+    /**
+     * Values of last execution as unmodifiable list backed by primitive array.
+     * <p>
+     * New {@link RegValue} is created on each {@link List#get(int)}, so the same element is equal
+     * but not the same object in next calls. List is not changed by next execution of command.
+     *
+     * @return register values
+     * @throws FatekNotSentException if command was not sent
+     */
     @Override
     public List<RegValue> getResult() throws FatekNotSentException {
 
         checkSent();
-        return Collections.unmodifiableList(result);
+        return block.asList();
     }
 
     // protected methods
 
     @Override
-    protected void writeData(FatekWriter writer) throws FatekIOException {
+    protected void prepareValues() {
 
-        writer.writeByte(number);
-        writer.write(startReg.toString());
+        // new block for each execution, so previous result is not changed
+        block = new RegBlock(getStartReg(), number);
     }
 
     @Override
-    protected void readData(FatekReader reader) throws FatekException {
+    protected void readValues(FatekReader reader, int index, int count) throws FatekException {
 
-        result = new ArrayList<>(number);
+        readValues(reader, block.getValues(), index, count);
+    }
 
-        for (int i = 0; i < number; i++) {
-            result.add(RegValue.getForReg(startReg, reader));
-        }
+    @Override
+    protected void valuesRead() {
+        // values are decoded directly into block
     }
 }
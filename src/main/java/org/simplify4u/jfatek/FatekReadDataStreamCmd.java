@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.function.Consumer;
+
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.RegBlock;
+
+/**
+ * <p>Read the data from continuous registers and pass values of each message to consumer.</p>
+ *
+ * <p>Consumer is called as soon as message is received, with block of registers read by this message,
+ * so first values are available before whole command is finished and values of all registers
+ * are not collected in memory. The same block is reused for each message, so block is valid only
+ * during consumer call. Consumer is called by thread which reads response.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDataStreamCmd extends FatekReadDataBaseCmd<Void> {
+
+    private final Consumer<? super RegBlock> consumer;
+    private final int number;
+    // block of size of the longest message, moved to registers of each message
+    private RegBlock frameBlock;
+
+    /**
+     * Read the data from continuous registers.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param startReg start register
+     * @param number   registers number to read
+     * @param consumer consumer of values from each message
+     */
+    public FatekReadDataStreamCmd(FatekPLC fatekPLC, int plcId, DataReg startReg, int number,
+            Consumer<? super RegBlock> consumer) {
+
+        super(fatekPLC, plcId, startReg, number);
+        this.consumer = consumer;
+        this.number = number;
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+
+        if (frameBlock == null) {
+            DataReg startReg = getStartReg();
+            int maxRegs = startReg.is32Bits() ? FatekReadDataCmd.MAX_REGS_32 : FatekReadDataCmd.MAX_REGS_16;
+            frameBlock = new RegBlock(startReg, Math.min(number, maxRegs));
+        }
+    }
+
+    @Override
+    protected void readValues(FatekReader reader, int index, int count) throws FatekException {
+
+        readValues(reader, frameBlock.getValues(), 0, count);
+
+        DataReg startReg = getStartReg();
+        DataReg frameReg = index == 0 ? startReg : startReg.incAddress(startReg.is32Bits() ? index * 2 : index);
+        frameBlock.setRange(frameReg, count);
+        consumer.accept(frameBlock);
+    }
+
+    @Override
+    protected void valuesRead() {
+        // values are already passed to consumer
+    }
+}
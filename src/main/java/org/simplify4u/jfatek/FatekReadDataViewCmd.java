@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.RegDataView;
+
+/**
+ * <p>Read the data from continuous registers into {@link RegDataView}.</p>
+ *
+ * <p>Received digits are only checked and copied, values are decoded when they are accessed.
+ * The same view is returned by each execution, its content is valid until next execution.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDataViewCmd extends FatekReadDataBaseCmd<RegDataView> {
+
+    private final RegDataView view;
+    private final int width;
+
+    /**
+     * Read the data from continuous registers.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param startReg start register
+     * @param number   registers number to read
+     */
+    public FatekReadDataViewCmd(FatekPLC fatekPLC, int plcId, DataReg startReg, int number) {
+
+        super(fatekPLC, plcId, startReg, number);
+        this.view = new RegDataView(startReg, number);
+        this.width = startReg.is32Bits() ? 8 : 4;
+    }
+
+    @Override
+    public RegDataView getResult() throws FatekNotSentException {
+
+        checkSent();
+        return view;
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+        // digits are copied directly to view
+    }
+
+    @Override
+    protected void readValues(FatekReader reader, int index, int count) throws FatekException {
+
+        reader.readRaw(view.getDigits(), index * width, count * width);
+    }
+
+    @Override
+    protected void valuesRead() {
+        // values are decoded on access
+    }
+}
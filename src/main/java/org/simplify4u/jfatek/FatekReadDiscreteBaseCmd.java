@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.simplify4u.jfatek.registers.DisReg;
+
+/**
+ * <p>Read status of continuous discrete.</p>
+ *
+ * <p>When number of discrete is bigger than can be read by one message,
+ * discrete are read by next messages in one command execution.</p>
+ *
+ * @param <T> type of command result
+ * @author Slawomir Jaranowski.
+ */
+abstract class FatekReadDiscreteBaseCmd<T> extends FatekCommand<T> {
+
+    private final DisReg discrete;
+    private final int number;
+
+    private int nextIndex;
+    private int frameCount;
+
+    FatekReadDiscreteBaseCmd(FatekPLC fatekPLC, int plcId, DisReg discrete, int number) {
+
+        super(fatekPLC, plcId);
+        if (number < 1) {
+            throw new IllegalArgumentException("Discrete number must be positive: " + number);
+        }
+        this.discrete = discrete;
+        this.number = number;
+    }
+
+    /**
+     * Prepare place for status of all discrete, called before each execution.
+     */
+    protected abstract void prepareValues();
+
+    /**
+     * Store status of discrete.
+     *
+     * @param index position of discrete
+     * @param value status
+     */
+    protected abstract void setValue(int index, boolean value);
+
+    /**
+     * Called when status of all discrete is read.
+     */
+    protected abstract void valuesRead();
+
+    // protected methods
+
+    @Override
+    protected void beforeExecute() {
+
+        prepareValues();
+        nextIndex = 0;
+    }
+
+    @Override
+    protected boolean isMoreDataToExecute() {
+
+        return nextIndex < number;
+    }
+
+    @Override
+    protected void writeData(FatekWriter writer) throws FatekIOException {
+
+        frameCount = Math.min(number - nextIndex, FatekReadDiscreteStatusCmd.MAX_DISCRETE);
+
+        // 256 is sent as 0
+        writer.writeByte(frameCount & 0xff);
+        if (nextIndex == 0) {
+            discrete.writeTo(writer);
+        } else {
+            discrete.incAddress(nextIndex).writeTo(writer);
+        }
+    }
+
+    @Override
+    protected void readData(FatekReader reader) throws FatekException {
+
+        for (int i = nextIndex; i < nextIndex + frameCount; i++) {
+            setValue(i, reader.readBool());
+        }
+        nextIndex += frameCount;
+
+        if (nextIndex == number) {
+            valuesRead();
+        }
+    }
+}
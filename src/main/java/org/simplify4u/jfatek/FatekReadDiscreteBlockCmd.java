@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.registers.DisBlock;
+
+/**
+ * <p>The status reading of continuous discrete into packed {@link DisBlock}.</p>
+ *
+ * <p>Status is written directly to words of block, so command and block can be reused
+ * in each poll cycle without allocation.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDiscreteBlockCmd extends FatekReadDiscreteBaseCmd<DisBlock> {
+
+    private final DisBlock block;
+
+    /**
+     * Read status of continuous discrete described by block.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param block    block for read status, its start discrete and size are used in request
+     */
+    public FatekReadDiscreteBlockCmd(FatekPLC fatekPLC, int plcId, DisBlock block) {
+
+        super(fatekPLC, plcId, block.getStartReg(), block.size());
+        this.block = block;
+    }
+
+    @Override
+    public int getID() {
+
+        return FatekReadDiscreteCmd.CMD_ID;
+    }
+
+    @Override
+    public DisBlock getResult() throws FatekNotSentException {
+
+        checkSent();
+        return block;
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+        // status is written to block
+    }
+
+    @Override
+    protected void setValue(int index, boolean value) {
+
+        block.set(index, value);
+    }
+
+    @Override
+    protected void valuesRead() {
+        // status is already in block
+    }
+}
@@ -20,9 +20,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.simplify4u.jfatek.io.FatekIOException;
-import org.simplify4u.jfatek.io.FatekReader;
-import org.simplify4u.jfatek.io.FatekWriter;
 import org.simplify4u.jfatek.registers.DisReg;
 
 /**
@@ -32,21 +29,37 @@ import org.simplify4u.jfatek.registers.DisReg;
  *
  * @author Slawomir Jaranowski.
  */
-public class FatekReadDiscreteStatusCmd extends FatekCommand<List<Boolean>> {
+public class FatekReadDiscreteStatusCmd extends FatekReadDiscreteBaseCmd<List<Boolean>> {
 
     public static final int CMD_ID = 0x43;
 
-    private final DisReg discrete;
+    /**
+     * Max number of discrete in one message.
+     */
+    public static final int MAX_DISCRETE = 256;
+
     private final int number;
 
+    // status of all discrete, filled by next messages
+    private boolean[] values;
+
     private List<Boolean> returnData;
 
+    /**
+     * Read status of continuous discrete.
+     * <p>
+     * When number of discrete is bigger than can be read by one message,
+     * discrete are read by next messages in one command execution.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param discrete start discrete
+     * @param number   discrete number to read
+     */
     public FatekReadDiscreteStatusCmd(FatekPLC fatekPLC, int plcId, DisReg discrete, int number) {
 
-        super(fatekPLC, plcId);
-        this.discrete = discrete;
+        super(fatekPLC, plcId, discrete, number);
         this.number = number;
-        // TODO range check
     }
 
     @Override
@@ -63,19 +76,23 @@ public class FatekReadDiscreteStatusCmd extends FatekCommand<List<Boolean>> {
     }
 
     @Override
-    protected void writeData(FatekWriter writer) throws FatekIOException {
+    protected void prepareValues() {
 
-        writer.writeByte(number == 256 ? 0 : number);
-        writer.write(discrete.toString());
+        values = new boolean[number];
     }
 
     @Override
-    protected void readData(FatekReader reader) throws FatekException {
+    protected void setValue(int index, boolean value) {
 
-        returnData = new ArrayList<>(number);
+        values[index] = value;
+    }
 
-        for (int i = 0; i < number; i++) {
-            returnData.add(reader.readBool());
+    @Override
+    protected void valuesRead() {
+
+        returnData = new ArrayList<>(number);
+        for (boolean value : values) {
+            returnData.add(value);
         }
     }
 }
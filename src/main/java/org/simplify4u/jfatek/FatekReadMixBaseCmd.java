@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegKey;
+import org.simplify4u.jfatek.registers.RegValueMap;
+
+/**
+ * <p>Mixed read the random discrete status or register data, values of each message are passed to subclass.</p>
+ *
+ * <p>When registers do not fit in one message, they are read by next messages in one command execution.</p>
+ *
+ * @param <T> type of command result
+ * @author Slawomir Jaranowski.
+ */
+abstract class FatekReadMixBaseCmd<T> extends FatekCommand<T> {
+
+    /**
+     * Size of registers in one message in 16 bits units, 32 bits register takes two units.
+     */
+    static final int MAX_UNITS = 64;
+
+    private final Reg[] regs;
+    // packed registers, used as keys of result
+    private final int[] keys;
+    private int nextRegIndex;
+    private int lastRegIndex;
+
+    FatekReadMixBaseCmd(FatekPLC fatekPLC, int plcId, Reg[] regs) {
+
+        super(fatekPLC, plcId);
+        this.regs = regs;
+        this.keys = new int[regs.length];
+        for (int i = 0; i < regs.length; i++) {
+            keys[i] = RegKey.of(regs[i]);
+        }
+    }
+
+    @Override
+    public int getID() {
+
+        return FatekReadMixDataCmd.CMD_ID;
+    }
+
+    /**
+     * Registers read by command.
+     *
+     * @return registers, array must not be modified
+     */
+    protected Reg[] getRegs() {
+        return regs;
+    }
+
+    /**
+     * Prepare place for values of all registers, called before each execution.
+     */
+    protected abstract void prepareValues();
+
+    /**
+     * Read values of registers from one message.
+     *
+     * @param reader reader of response message
+     * @param from   position of first register in message
+     * @param to     position after last register in message
+     * @throws FatekException if problem with response
+     */
+    protected abstract void readValues(FatekReader reader, int from, int to) throws FatekException;
+
+    /**
+     * Decode values of registers from one message into map.
+     *
+     * @param reader reader of response message
+     * @param values destination map
+     * @param from   position of first register in message
+     * @param to     position after last register in message
+     * @throws FatekException if problem with response
+     */
+    protected final void readValues(FatekReader reader, RegValueMap values, int from, int to) throws FatekException {
+
+        readValues(reader, regs, keys, values, from, to);
+    }
+
+    /**
+     * Find end of message which starts with given register.
+     *
+     * @param regs registers to read
+     * @param from position of first register in message
+     * @return position after last register which fits in message
+     */
+    static int messageEnd(Reg[] regs, int from) {
+
+        int units = 0;
+        int to = from;
+        while (to < regs.length && units + (regs[to].is32Bits() ? 2 : 1) <= MAX_UNITS) {
+            units += regs[to].is32Bits() ? 2 : 1;
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * Decode values of registers from one message into map.
+     *
+     * @param reader reader of response message
+     * @param regs   registers to read
+     * @param keys   packed registers
+     * @param values destination map
+     * @param from   position of first register in message
+     * @param to     position after last register in message
+     * @throws FatekException if problem with response
+     */
+    static void readValues(FatekReader reader, Reg[] regs, int[] keys, RegValueMap values, int from, int to)
+            throws FatekException {
+
+        for (int i = from; i < to; i++) {
+            long value;
+            if (regs[i].isDiscrete()) {
+                value = reader.readBool() ? 1 : 0;
+            } else if (regs[i].is32Bits()) {
+                value = reader.readInt32();
+            } else {
+                value = reader.readInt16();
+            }
+            values.putRaw(keys[i], value);
+        }
+    }
+
+    // protected methods
+
+    @Override
+    protected boolean isMoreDataToExecute() {
+        return nextRegIndex < regs.length;
+    }
+
+    @Override
+    protected void beforeExecute() {
+        prepareValues();
+        nextRegIndex = 0;
+    }
+
+    @Override
+    protected void writeData(FatekWriter writer) throws FatekIOException {
+
+        lastRegIndex = messageEnd(regs, nextRegIndex) - 1;
+
+        if (lastRegIndex >= 0) {
+            writer.writeByte(lastRegIndex - nextRegIndex + 1);
+            for (int i = nextRegIndex; i <= lastRegIndex; i++) {
+                regs[i].writeTo(writer);
+            }
+        }
+    }
+
+    @Override
+    protected void readData(FatekReader reader) throws FatekException {
+
+        readValues(reader, nextRegIndex, lastRegIndex + 1);
+        nextRegIndex = lastRegIndex + 1;
+    }
+}
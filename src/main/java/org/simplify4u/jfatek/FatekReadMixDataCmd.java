@@ -18,27 +18,25 @@ package org.simplify4u.jfatek;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekReader;
-import org.simplify4u.jfatek.io.FatekWriter;
 import org.simplify4u.jfatek.registers.Reg;
 import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueMap;
 
 /**
  * <p>Mixed read the random discrete status or register data.</p>
  *
+ * <p>Values are kept in {@link RegValueMap}, which is available by {@link #getValueMap()},
+ * so they can be read by register key without creating objects.</p>
+ *
  * @author Slawomir Jaranowski.
  */
-public class FatekReadMixDataCmd extends FatekCommand<Map<Reg, RegValue>> {
+public class FatekReadMixDataCmd extends FatekReadMixBaseCmd<Map<Reg, RegValue>> {
 
     public static final int CMD_ID = 0x48;
-    private final Reg[] regs;
-    private Map<Reg, RegValue> result;
-    private int nextRegIndex;
-    private int lastRegIndex;
+    private RegValueMap result;
 
     /**
      * Create new command for mixed read the random discrete status or register data.
@@ -49,8 +47,7 @@ public class FatekReadMixDataCmd extends FatekCommand<Map<Reg, RegValue>> {
      */
     public FatekReadMixDataCmd(FatekPLC fatekPLC, int plcId, Reg... regs) {
 
-        super(fatekPLC, plcId);
-        this.regs = regs.clone();
+        super(fatekPLC, plcId, regs.clone());
     }
 
     /**
@@ -62,68 +59,38 @@ public class FatekReadMixDataCmd extends FatekCommand<Map<Reg, RegValue>> {
      */
     public FatekReadMixDataCmd(FatekPLC fatekPLC, int plcId, Collection<Reg> regs) {
 
-        super(fatekPLC, plcId);
-        this.regs = regs.toArray(new Reg[regs.size()]);
+        super(fatekPLC, plcId, regs.toArray(new Reg[regs.size()]));
     }
 
     @Override
-    public int getID() {
+    public Map<Reg, RegValue> getResult() throws FatekNotSentException {
 
-        return CMD_ID;
+        checkSent();
+        return Collections.unmodifiableMap(result);
     }
 
-    @Override
-    protected boolean isMoreDataToExecute() {
-        return nextRegIndex < regs.length;
-    }
+    /**
+     * Values of last execution in primitive map, new map is created for each execution.
+     *
+     * @return register values
+     * @throws FatekNotSentException if command was not sent
+     */
+    public RegValueMap getValueMap() throws FatekNotSentException {
 
-    @Override
-    protected void beforeExecute() {
-        result = new LinkedHashMap<>();
+        checkSent();
+        return result;
     }
 
-    @Override
-    protected void writeData(FatekWriter writer) throws FatekIOException {
-
-        // calculate max regs to one message
-        StringBuilder message = new StringBuilder();
-        int w = 64;
-
-        lastRegIndex = -1;
-        for (int i = nextRegIndex; i < regs.length && w > 0; i++) {
-
-            if (regs[i].is32Bits()) {
-                w -= 2;
-            } else {
-                w--;
-            }
-
-            if (w >= 0) {
-                lastRegIndex = i;
-                message.append(regs[i].toString());
-            }
-        }
-
-        if (lastRegIndex >= 0) {
-            writer.writeByte(lastRegIndex - nextRegIndex + 1);
-            writer.write(message.toString());
-        }
-    }
+    // protected methods
 
     @Override
-    protected void readData(FatekReader reader) throws FatekException {
-
-        for (int i = nextRegIndex; i <= lastRegIndex; i++) {
-            result.put(regs[i], RegValue.getForReg(regs[i], reader));
-        }
-
-        nextRegIndex = lastRegIndex + 1;
+    protected void prepareValues() {
+        result = new RegValueMap(getRegs().length);
     }
 
     @Override
-    public Map<Reg, RegValue> getResult() throws FatekNotSentException {
+    protected void readValues(FatekReader reader, int from, int to) throws FatekException {
 
-        checkSent();
-        return Collections.unmodifiableMap(result);
+        readValues(reader, result, from, to);
     }
 }
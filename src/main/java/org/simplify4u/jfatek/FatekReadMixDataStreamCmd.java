@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValueMap;
+
+/**
+ * <p>Mixed read the random discrete status or register data and pass values of each message to consumer.</p>
+ *
+ * <p>Consumer is called as soon as message is received, with values of registers read by this message.
+ * The same map is reused for each message, so memory does not depend on number of registers,
+ * map is valid only during consumer call. Consumer is called by thread which reads response.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadMixDataStreamCmd extends FatekReadMixBaseCmd<Void> {
+
+    private final Consumer<? super RegValueMap> consumer;
+    private final RegValueMap frameValues;
+
+    /**
+     * Create new command for mixed read the random discrete status or register data.
+     *
+     * @param fatekPLC connection manager to use
+     * @param plcId    plc station address
+     * @param consumer consumer of values from each message
+     * @param regs     regs name to read
+     */
+    public FatekReadMixDataStreamCmd(FatekPLC fatekPLC, int plcId, Consumer<? super RegValueMap> consumer,
+            Reg... regs) {
+
+        super(fatekPLC, plcId, regs.clone());
+        this.consumer = consumer;
+        this.frameValues = new RegValueMap(Math.min(regs.length, MAX_UNITS));
+    }
+
+    /**
+     * Create new command for mixed read the random discrete status or register data.
+     *
+     * @param fatekPLC connection manager to use
+     * @param plcId    plc station address
+     * @param consumer consumer of values from each message
+     * @param regs     list of regs name to read
+     */
+    public FatekReadMixDataStreamCmd(FatekPLC fatekPLC, int plcId, Consumer<? super RegValueMap> consumer,
+            Collection<? extends Reg> regs) {
+
+        super(fatekPLC, plcId, regs.toArray(new Reg[regs.size()]));
+        this.consumer = consumer;
+        this.frameValues = new RegValueMap(Math.min(regs.size(), MAX_UNITS));
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+        // values are passed to consumer
+    }
+
+    @Override
+    protected void readValues(FatekReader reader, int from, int to) throws FatekException {
+
+        frameValues.clear();
+        readValues(reader, frameValues, from, to);
+        consumer.accept(frameValues);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegMixView;
+
+/**
+ * <p>Mixed read the random discrete status or register data into {@link RegMixView}.</p>
+ *
+ * <p>Received digits are only checked and copied, values are decoded when they are accessed.
+ * The same view is returned by each execution, its content is valid until next execution.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadMixDataViewCmd extends FatekReadMixBaseCmd<RegMixView> {
+
+    private final RegMixView view;
+
+    /**
+     * Create new command for mixed read the random discrete status or register data.
+     *
+     * @param fatekPLC connection manager to use
+     * @param plcId    plc station address
+     * @param regs     regs name to read
+     */
+    public FatekReadMixDataViewCmd(FatekPLC fatekPLC, int plcId, Reg... regs) {
+
+        this(fatekPLC, plcId, Arrays.asList(regs));
+    }
+
+    /**
+     * Create new command for mixed read the random discrete status or register data.
+     *
+     * @param fatekPLC connection manager to use
+     * @param plcId    plc station address
+     * @param regs     list of regs name to read
+     */
+    public FatekReadMixDataViewCmd(FatekPLC fatekPLC, int plcId, Collection<? extends Reg> regs) {
+
+        super(fatekPLC, plcId, regs.toArray(new Reg[regs.size()]));
+        this.view = new RegMixView(regs);
+    }
+
+    @Override
+    public RegMixView getResult() throws FatekNotSentException {
+
+        checkSent();
+        return view;
+    }
+
+    /**
+     * View filled by command, also before first execution.
+     *
+     * @return view of command
+     */
+    RegMixView getView() {
+        return view;
+    }
+
+    // protected methods
+
+    @Override
+    protected void prepareValues() {
+        // digits are copied directly to view
+    }
+
+    @Override
+    protected void readValues(FatekReader reader, int from, int to) throws FatekException {
+
+        int off = view.getDigitsOffset(from);
+        reader.readRaw(view.getDigits(), off, view.getDigitsOffset(to) - off);
+    }
+}
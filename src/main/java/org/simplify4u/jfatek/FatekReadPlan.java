@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+
+/**
+ * <p>Plan of reading set of registers prepared by {@link FatekReadPlanner}.</p>
+ *
+ * <p>Plan is list of commands, it can be executed many times, eg. in each poll cycle.</p>
+ *
+ * <p>The same command instances are sent by each execution, so plan can not be executed concurrently.
+ * Execution started while previous one is not finished is rejected with {@link IllegalStateException}.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadPlan {
+
+    /**
+     * Command with its way of putting command result to plan result.
+     */
+    private interface Step {
+
+        FatekCommand<?> getCommand();
+
+        void collect(Map<Reg, RegValue> result) throws FatekNotSentException;
+    }
+
+    private final FatekPLC fatekPLC;
+    private final int plcId;
+
+    private final List<Step> steps = new ArrayList<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    FatekReadPlan(FatekPLC fatekPLC, int plcId) {
+
+        this.fatekPLC = fatekPLC;
+        this.plcId = plcId;
+    }
+
+    /**
+     * Commands which are sent by plan.
+     *
+     * @return list of commands
+     */
+    public List<FatekCommand<?>> getCommands() {
+
+        List<FatekCommand<?>> commands = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            commands.add(step.getCommand());
+        }
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Send all commands one by one.
+     *
+     * @return values of registers
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     * @throws IllegalStateException if previous execution of plan is not finished
+     */
+    public Map<Reg, RegValue> execute() throws FatekIOException, FatekException {
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Plan is already executed");
+        }
+
+        try {
+            Map<Reg, RegValue> result = new LinkedHashMap<>();
+            for (Step step : steps) {
+                step.getCommand().send();
+                step.collect(result);
+            }
+            return Collections.unmodifiableMap(result);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Send all commands without waiting for responses,
+     * commands can be executed in parallel by connection pool or pipeline.
+     *
+     * @return future of register values,
+     * completed with {@link IllegalStateException} if previous execution of plan is not finished
+     */
+    public CompletableFuture<Map<Reg, RegValue>> executeAsync() {
+
+        if (!running.compareAndSet(false, true)) {
+            CompletableFuture<Map<Reg, RegValue>> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new IllegalStateException("Plan is already executed"));
+            return rejected;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[steps.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = steps.get(i).getCommand().sendAsync();
+        }
+
+        // allOf is completed after all commands are completed, also in case of error
+        return CompletableFuture.allOf(futures).handle((v, e) -> {
+            try {
+                if (e != null) {
+                    throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                }
+                Map<Reg, RegValue> result = new LinkedHashMap<>();
+                for (Step step : steps) {
+                    step.collect(result);
+                }
+                return Collections.unmodifiableMap(result);
+            } catch (FatekNotSentException ex) {
+                throw new IllegalStateException(ex);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    void addDataBlock(DataReg start, int count, List<Reg> regs) {
+
+        FatekReadDataCmd cmd = new FatekReadDataCmd(fatekPLC, plcId, start, count);
+        Reg[] blockRegs = regs.toArray(new Reg[regs.size()]);
+        int step = start.is32Bits() ? 2 : 1;
+
+        steps.add(new Step() {
+            @Override
+            public FatekCommand<?> getCommand() {
+                return cmd;
+            }
+
+            @Override
+            public void collect(Map<Reg, RegValue> result) throws FatekNotSentException {
+                List<RegValue> values = cmd.getResult();
+                for (Reg reg : blockRegs) {
+                    result.put(reg, values.get((reg.getAddress() - start.getAddress()) / step));
+                }
+            }
+        });
+    }
+
+    void addDiscreteBlock(DisReg start, int count, List<Reg> regs) {
+
+        FatekReadDiscreteCmd cmd = new FatekReadDiscreteCmd(fatekPLC, plcId, start, count);
+        Reg[] blockRegs = regs.toArray(new Reg[regs.size()]);
+
+        steps.add(new Step() {
+            @Override
+            public FatekCommand<?> getCommand() {
+                return cmd;
+            }
+
+            @Override
+            public void collect(Map<Reg, RegValue> result) throws FatekNotSentException {
+                List<Boolean> values = cmd.getResult();
+                for (Reg reg : blockRegs) {
+                    result.put(reg, RegValue.getForReg(reg, values.get(reg.getAddress() - start.getAddress())));
+                }
+            }
+        });
+    }
+
+    void addMix(List<Reg> regs) {
+
+        FatekReadMixDataCmd cmd = new FatekReadMixDataCmd(fatekPLC, plcId, regs);
+
+        steps.add(new Step() {
+            @Override
+            public FatekCommand<?> getCommand() {
+                return cmd;
+            }
+
+            @Override
+            public void collect(Map<Reg, RegValue> result) throws FatekNotSentException {
+                result.putAll(cmd.getValueMap());
+            }
+        });
+    }
+}
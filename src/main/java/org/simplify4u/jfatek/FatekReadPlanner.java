@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegName;
+import org.simplify4u.jfatek.registers.RegSet;
+
+/**
+ * <p>Planner of reading arbitrary set of registers with minimal cost.</p>
+ *
+ * <p>Registers are grouped by name and for each group planner decides which registers are read
+ * by continuous block commands ({@link FatekReadDataCmd}, {@link FatekReadDiscreteCmd})
+ * and which are packed into {@link FatekReadMixDataCmd}.</p>
+ *
+ * <p>Cost is measured in characters transmitted over the link. Each frame costs its header and trailer
+ * plus link round trip time, each value costs its characters in request and response.
+ * Continuous block can read through gap registers, when it is cheaper than next frame.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadPlanner {
+
+    /**
+     * Characters of request and response frame without data: STX, station, command, error, CRC, ETX.
+     */
+    public static final int DEFAULT_FRAME_OVERHEAD = FatekFrameCost.DEFAULT_FRAME_OVERHEAD;
+
+    /**
+     * Default link round trip time as number of characters which can be transmitted in this time.
+     */
+    public static final int DEFAULT_ROUND_TRIP = FatekFrameCost.DEFAULT_ROUND_TRIP;
+
+    /**
+     * Receiver of planned reads.
+     */
+    interface Layout {
+
+        void addDataBlock(DataReg start, int count, List<Reg> regs);
+
+        void addDiscreteBlock(DisReg start, int count, List<Reg> regs);
+
+        void addMix(List<Reg> regs);
+    }
+
+    private final FatekFrameCost frameCost;
+
+    /**
+     * Planner with default cost model.
+     */
+    public FatekReadPlanner() {
+
+        this(DEFAULT_FRAME_OVERHEAD, DEFAULT_ROUND_TRIP);
+    }
+
+    /**
+     * Planner with own cost model.
+     *
+     * @param frameOverhead characters of request and response frame without data
+     * @param roundTrip     link round trip time expressed as number of characters which can be transmitted in this time
+     */
+    public FatekReadPlanner(int frameOverhead, int roundTrip) {
+
+        this.frameCost = new FatekFrameCost(frameOverhead, roundTrip);
+    }
+
+    /**
+     * Prepare plan of reading given registers.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param regs     registers to read, duplicates are read once
+     * @return plan which can be executed many times
+     */
+    public FatekReadPlan plan(FatekPLC fatekPLC, int plcId, Collection<? extends Reg> regs) {
+
+        FatekReadPlan readPlan = new FatekReadPlan(fatekPLC, plcId);
+        plan(RegSet.of(regs), new Layout() {
+            @Override
+            public void addDataBlock(DataReg start, int count, List<Reg> blockRegs) {
+                readPlan.addDataBlock(start, count, blockRegs);
+            }
+
+            @Override
+            public void addDiscreteBlock(DisReg start, int count, List<Reg> blockRegs) {
+                readPlan.addDiscreteBlock(start, count, blockRegs);
+            }
+
+            @Override
+            public void addMix(List<Reg> mixRegs) {
+                readPlan.addMix(mixRegs);
+            }
+        });
+        return readPlan;
+    }
+
+    /**
+     * Plan reading given registers, blocks are passed to layout in address order, mixed read at the end.
+     *
+     * @param regSet registers to read
+     * @param layout receiver of planned reads
+     */
+    void plan(RegSet regSet, Layout layout) {
+
+        List<Reg> mixRegs = new ArrayList<>();
+        for (RegName name : regSet.names()) {
+            planGroup(layout, regSet.toList(name), mixRegs);
+        }
+
+        if (!mixRegs.isEmpty()) {
+            layout.addMix(mixRegs);
+        }
+    }
+
+    // private methods
+
+    /**
+     * Find cheapest cover of sorted registers with one name by dynamic programming,
+     * each register is read by mixed read or by block which starts on some earlier register.
+     */
+    private void planGroup(Layout layout, List<Reg> regs, List<Reg> mixRegs) {
+
+        int n = regs.size();
+        Reg first = regs.get(0);
+        int step = first.is32Bits() ? 2 : 1;
+        int maxBlock = maxBlock(first);
+
+        double[] best = new double[n + 1];
+        int[] blockStart = new int[n + 1];
+
+        for (int i = 1; i <= n; i++) {
+            Reg last = regs.get(i - 1);
+            best[i] = best[i - 1] + frameCost.mixCost(last, FatekReadMixBaseCmd.MAX_UNITS);
+            blockStart[i] = -1;
+
+            for (int j = i - 1; j >= 0; j--) {
+                int span = last.getAddress() - regs.get(j).getAddress();
+                int count = span / step + 1;
+                // 32 bits registers in block must be on the same address grid
+                if (span % step != 0 || count > maxBlock) {
+                    break;
+                }
+                double cost = best[j] + frameCost.blockCost(regs.get(j), count);
+                if (cost < best[i] || cost == best[i] && blockStart[i] < 0) {
+                    best[i] = cost;
+                    blockStart[i] = j;
+                }
+            }
+        }
+
+        // walk back through chosen blocks, then add them in address order
+        List<List<Reg>> blocks = new ArrayList<>();
+        List<Reg> groupMix = new ArrayList<>();
+        int i = n;
+        while (i > 0) {
+            int j = blockStart[i];
+            if (j < 0) {
+                groupMix.add(0, regs.get(i - 1));
+                i--;
+            } else {
+                blocks.add(0, regs.subList(j, i));
+                i = j;
+            }
+        }
+
+        for (List<Reg> block : blocks) {
+            addBlock(layout, block, step);
+        }
+        mixRegs.addAll(groupMix);
+    }
+
+    private static void addBlock(Layout layout, List<Reg> regs, int step) {
+
+        Reg start = regs.get(0);
+        int count = (regs.get(regs.size() - 1).getAddress() - start.getAddress()) / step + 1;
+
+        if (start.isDiscrete()) {
+            layout.addDiscreteBlock((DisReg) start, count, regs);
+        } else {
+            layout.addDataBlock((DataReg) start, count, regs);
+        }
+    }
+
+    private static int maxBlock(Reg reg) {
+
+        if (reg.isDiscrete()) {
+            return FatekReadDiscreteStatusCmd.MAX_DISCRETE;
+        }
+        return reg.is32Bits() ? FatekReadDataCmd.MAX_REGS_32 : FatekReadDataCmd.MAX_REGS_16;
+    }
+}
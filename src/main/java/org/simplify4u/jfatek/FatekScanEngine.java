@@ -0,0 +1,528 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.simplify4u.jfatek.io.FatekConnection;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisBlock;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegBlock;
+import org.simplify4u.jfatek.registers.RegKey;
+import org.simplify4u.jfatek.registers.RegMixView;
+import org.simplify4u.jfatek.registers.RegSet;
+import org.simplify4u.jfatek.registers.RegValueMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Engine which periodically reads registers of many PLCs and notifies listeners.</p>
+ *
+ * <p>Tags are grouped by PLC, station and scan period. Each group is planned by {@link FatekReadPlanner}
+ * into block and mixed reads, which are executed as one {@link FatekBatch} in each cycle.
+ * Commands and their blocks are reused by next cycles, so cycle does not allocate objects for each register.</p>
+ *
+ * <p>Cycles are started by few shared scheduler threads and executed asynchronously on open connection.
+ * When PLC has no open connection, connect is done by separate connect thread, which is created only when needed,
+ * so unreachable PLC does not delay cycles of other PLCs. When previous cycle of group is not finished,
+ * next cycle is skipped.</p>
+ *
+ * <p>Number of scheduler threads does not depend on number of PLCs, but transport of PLC could use own threads:
+ * <b>tcp+nio</b> and <b>udp</b> are served by few shared threads, blocking <b>tcp</b> uses one worker thread
+ * for each connection during its cycle.</p>
+ *
+ * <p>Period of groups can be adapted to response time of PLC by {@link FatekRateController}.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekScanEngine implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FatekScanEngine.class);
+
+    /**
+     * Default number of scheduler threads - number of processors but no more than 4.
+     */
+    public static final int DEFAULT_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private static final AtomicInteger ENGINE_NUMBER = new AtomicInteger();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ThreadPoolExecutor connector;
+    private final FatekReadPlanner planner;
+    private final List<FatekScanListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<FatekPLC, FatekRateController> rateControllers = new ConcurrentHashMap<>();
+
+    // guarded by itself
+    private final Map<GroupKey, ScanGroup> groups = new HashMap<>();
+
+    /**
+     * Engine with default number of threads and default planner.
+     */
+    public FatekScanEngine() {
+
+        this(DEFAULT_THREADS, new FatekReadPlanner());
+    }
+
+    /**
+     * Engine with own number of threads and planner.
+     *
+     * @param threads number of scheduler threads
+     * @param planner planner of group reads
+     */
+    public FatekScanEngine(int threads, FatekReadPlanner planner) {
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads number must be positive: " + threads);
+        }
+
+        int engineNumber = ENGINE_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread thread = new Thread(r, "jfatek-scan-" + engineNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        AtomicInteger connectThreadNumber = new AtomicInteger();
+        this.connector = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r,
+                            "jfatek-scan-connect-" + engineNumber + "-" + connectThreadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.planner = planner;
+    }
+
+    public void addListener(FatekScanListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(FatekScanListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Set controller which adapts period of all groups of PLC, period of tags is used as initial period.
+     *
+     * @param fatekPLC   PLC connection
+     * @param controller controller or null if groups should be scanned with period of tags
+     */
+    public void setRateController(FatekPLC fatekPLC, FatekRateController controller) {
+
+        if (controller == null) {
+            rateControllers.remove(fatekPLC);
+            synchronized (groups) {
+                for (ScanGroup group : groups.values()) {
+                    if (group.key.fatekPLC == fatekPLC) {
+                        group.currentPeriod = group.key.period;
+                    }
+                }
+            }
+        } else {
+            rateControllers.put(fatekPLC, controller);
+        }
+    }
+
+    /**
+     * Add tags to scan, group is created when it is first tag with given PLC, station and period.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param period   scan period
+     * @param unit     unit of period
+     * @param regs     registers to scan
+     */
+    public void addTags(FatekPLC fatekPLC, int plcId, long period, TimeUnit unit, Collection<? extends Reg> regs) {
+
+        long periodMillis = unit.toMillis(period);
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("Scan period must be at least 1 ms: " + period + " " + unit);
+        }
+
+        GroupKey key = new GroupKey(fatekPLC, plcId, periodMillis);
+        synchronized (groups) {
+            ScanGroup group = groups.get(key);
+            if (group == null) {
+                if (scheduler.isShutdown()) {
+                    throw new IllegalStateException("Scan engine is closed");
+                }
+                group = new ScanGroup(key);
+                groups.put(key, group);
+                group.addTags(regs);
+                group.start();
+            } else {
+                group.addTags(regs);
+            }
+        }
+    }
+
+    /**
+     * Remove tags from scan, group without tags is stopped.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param period   scan period
+     * @param unit     unit of period
+     * @param regs     registers to remove
+     */
+    public void removeTags(FatekPLC fatekPLC, int plcId, long period, TimeUnit unit, Collection<? extends Reg> regs) {
+
+        GroupKey key = new GroupKey(fatekPLC, plcId, unit.toMillis(period));
+        synchronized (groups) {
+            ScanGroup group = groups.get(key);
+            if (group != null && group.removeTags(regs)) {
+                group.cancel();
+                groups.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Number of scanned groups.
+     *
+     * @return groups number
+     */
+    public int getGroupCount() {
+
+        synchronized (groups) {
+            return groups.size();
+        }
+    }
+
+    /**
+     * Stop all groups, cycles which are in progress are finished.
+     */
+    @Override
+    public void close() {
+
+        synchronized (groups) {
+            groups.clear();
+            scheduler.shutdownNow();
+            connector.shutdown();
+        }
+    }
+
+    // private methods
+
+    private void notifyListeners(FatekScanResult result) {
+
+        for (FatekScanListener listener : listeners) {
+            try {
+                listener.scanCompleted(result);
+            } catch (RuntimeException e) {
+                LOG.warn("Scan listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Group is identified by PLC connection instance, station and period.
+     */
+    private static final class GroupKey {
+
+        private final FatekPLC fatekPLC;
+        private final int plcId;
+        private final long period;
+
+        private GroupKey(FatekPLC fatekPLC, int plcId, long period) {
+
+            this.fatekPLC = fatekPLC;
+            this.plcId = plcId;
+            this.period = period;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) o;
+            return fatekPLC == other.fatekPLC && plcId == other.plcId && period == other.period;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return (System.identityHashCode(fatekPLC) * 31 + plcId) * 31 + Long.hashCode(period);
+        }
+    }
+
+    /**
+     * Tags with the same PLC, station and period, started by scheduler.
+     */
+    private final class ScanGroup implements Runnable {
+
+        private final GroupKey key;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile long currentPeriod;
+        private volatile boolean overrun;
+
+        // guarded by this
+        private final RegSet tags = new RegSet();
+        private ScanCycle cycle;
+        private ScheduledFuture<?> future;
+        private long nextRunNanos;
+        private boolean cancelled;
+
+        private ScanGroup(GroupKey key) {
+
+            this.key = key;
+            this.currentPeriod = key.period;
+        }
+
+        private synchronized void start() {
+
+            nextRunNanos = System.nanoTime();
+            future = scheduler.schedule(this, 0, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void cancel() {
+
+            cancelled = true;
+            future.cancel(false);
+        }
+
+        /**
+         * Schedule next cycle with current period, cycles missed by delay are not repeated.
+         */
+        private synchronized void scheduleNext() {
+
+            if (cancelled) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            nextRunNanos += TimeUnit.MILLISECONDS.toNanos(currentPeriod);
+            if (nextRunNanos - now < 0) {
+                nextRunNanos = now;
+            }
+
+            try {
+                future = scheduler.schedule(this, nextRunNanos - now, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // engine is closed
+                cancelled = true;
+            }
+        }
+
+        /**
+         * Adapt period after finished cycle.
+         */
+        private void adjustPeriod() {
+
+            FatekRateController controller = rateControllers.get(key.fatekPLC);
+            if (controller != null) {
+                long period = controller.nextPeriod(currentPeriod, key.fatekPLC.getLatency(), overrun);
+                if (period != currentPeriod) {
+                    LOG.debug("Scan period of group with period {} ms changed to {} ms", key.period, period);
+                    currentPeriod = period;
+                }
+            }
+            overrun = false;
+        }
+
+        private synchronized void addTags(Collection<? extends Reg> regs) {
+
+            for (Reg reg : regs) {
+                if (tags.add(reg)) {
+                    cycle = null;
+                }
+            }
+        }
+
+        /**
+         * Remove tags.
+         *
+         * @return true if group is empty
+         */
+        private synchronized boolean removeTags(Collection<? extends Reg> regs) {
+
+            for (Reg reg : regs) {
+                if (tags.remove(reg)) {
+                    cycle = null;
+                }
+            }
+            return tags.isEmpty();
+        }
+
+        /**
+         * Commands of group, planned again after change of tags.
+         */
+        private synchronized ScanCycle getCycle() {
+
+            if (cycle == null && !tags.isEmpty()) {
+                RegSet regs = new RegSet();
+                regs.addAll(tags);
+                cycle = new ScanCycle(key, regs);
+                planner.plan(regs, cycle);
+                cycle.finish();
+            }
+            return cycle;
+        }
+
+        @Override
+        public void run() {
+
+            scheduleNext();
+
+            if (!running.compareAndSet(false, true)) {
+                overrun = true;
+                LOG.debug("Previous cycle of group with period {} ms is not finished, cycle skipped", key.period);
+                return;
+            }
+
+            try {
+                ScanCycle scanCycle = getCycle();
+                if (scanCycle == null) {
+                    running.set(false);
+                    return;
+                }
+
+                long startTime = System.currentTimeMillis();
+                FatekConnection conn = key.fatekPLC.tryLeaseConnection();
+                if (conn != null) {
+                    execute(scanCycle, startTime, conn);
+                } else {
+                    // connect can block for timeout, scheduler threads are not used for it
+                    connector.execute(() -> execute(scanCycle, startTime, null));
+                }
+            } catch (RuntimeException e) {
+                running.set(false);
+                LOG.warn("Scan cycle failed", e);
+            }
+        }
+
+        /**
+         * Execute commands of cycle on leased connection or on new leased connection when it is null.
+         */
+        private void execute(ScanCycle scanCycle, long startTime, FatekConnection conn) {
+
+            try {
+                CompletableFuture<List<FatekBatch.CommandResult<?>>> future = conn != null
+                        ? scanCycle.batch.executeAsync(conn) : scanCycle.batch.executeAsync();
+
+                future.whenComplete((results, e) -> {
+                    try {
+                        scanCycle.result.completed(startTime, System.currentTimeMillis(), currentPeriod,
+                                results, e == null ? null : FatekCommand.toException(e));
+                        adjustPeriod();
+                        notifyListeners(scanCycle.result);
+                    } finally {
+                        running.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                running.set(false);
+                LOG.warn("Scan cycle failed", e);
+            }
+        }
+    }
+
+    /**
+     * Commands of group with sources of values for each register.
+     */
+    private static final class ScanCycle implements FatekReadPlanner.Layout {
+
+        private final GroupKey key;
+        private final RegSet regs;
+        private final FatekBatch batch;
+        private final List<FatekScanResult.Source> sources = new ArrayList<>();
+        private final RegValueMap locations;
+        private FatekScanResult result;
+
+        private ScanCycle(GroupKey key, RegSet regs) {
+
+            this.key = key;
+            this.regs = regs;
+            this.batch = key.fatekPLC.batch().continueOnError(true);
+            this.locations = new RegValueMap(regs.size());
+        }
+
+        @Override
+        public void addDataBlock(DataReg start, int count, List<Reg> blockRegs) {
+
+            RegBlock block = new RegBlock(start, count);
+            batch.add(new FatekReadDataBlockCmd(key.fatekPLC, key.plcId, block));
+
+            int step = start.is32Bits() ? 2 : 1;
+            long source = addSource(block::longValueUnsigned);
+            for (Reg reg : blockRegs) {
+                locations.putRaw(RegKey.of(reg), source | (reg.getAddress() - start.getAddress()) / step);
+            }
+        }
+
+        @Override
+        public void addDiscreteBlock(DisReg start, int count, List<Reg> blockRegs) {
+
+            DisBlock block = new DisBlock(start, count);
+            batch.add(new FatekReadDiscreteBlockCmd(key.fatekPLC, key.plcId, block));
+
+            long source = addSource(position -> block.get(position) ? 1 : 0);
+            for (Reg reg : blockRegs) {
+                locations.putRaw(RegKey.of(reg), source | (reg.getAddress() - start.getAddress()));
+            }
+        }
+
+        @Override
+        public void addMix(List<Reg> mixRegs) {
+
+            FatekReadMixDataViewCmd cmd = new FatekReadMixDataViewCmd(key.fatekPLC, key.plcId, mixRegs);
+            batch.add(cmd);
+
+            RegMixView view = cmd.getView();
+            long source = addSource(view::longValueUnsigned);
+            for (int i = 0; i < mixRegs.size(); i++) {
+                locations.putRaw(RegKey.of(mixRegs.get(i)), source | i);
+            }
+        }
+
+        private void finish() {
+
+            result = new FatekScanResult(key.fatekPLC, key.plcId, key.period, regs, locations,
+                    sources.toArray(new FatekScanResult.Source[sources.size()]));
+        }
+
+        private long addSource(FatekScanResult.Source source) {
+
+            sources.add(source);
+            return (long) (sources.size() - 1) << 32;
+        }
+    }
+}
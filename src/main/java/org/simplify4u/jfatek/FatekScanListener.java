@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+/**
+ * Listener of scan cycles executed by {@link FatekScanEngine}.
+ *
+ * @author Slawomir Jaranowski.
+ */
+@FunctionalInterface
+public interface FatekScanListener {
+
+    /**
+     * Called after each scan cycle of group by thread which finished cycle.
+     * <p>
+     * Result is reused by next cycles of group, it is valid only during this call.
+     *
+     * @param result result of cycle
+     */
+    void scanCompleted(FatekScanResult result);
+}
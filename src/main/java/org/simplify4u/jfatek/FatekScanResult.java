@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegKey;
+import org.simplify4u.jfatek.registers.RegSet;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueMap;
+
+/**
+ * <p>Result of scan cycle of one group of tags.</p>
+ *
+ * <p>Values are read directly from blocks and views filled by read commands of group, without copying.
+ * The same result is passed to listeners in each cycle, so it is valid only during listener call,
+ * {@link #toMap()} should be used when values are kept longer.</p>
+ *
+ * <p>Each read command of group fails separately, registers of failed command keep values of previous cycle,
+ * so {@link #isValid(Reg)} should be checked when cycle is not fully successful.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class FatekScanResult {
+
+    /**
+     * Place where values of some registers are read.
+     */
+    interface Source {
+
+        long rawValue(int position);
+    }
+
+    private final FatekPLC fatekPLC;
+    private final int plcId;
+    private final long period;
+    private final RegSet regs;
+
+    // register key to source index in high and position in low 32 bits
+    private final RegValueMap locations;
+    private final Source[] sources;
+    private final Exception[] sourceErrors;
+
+    private long startTime;
+    private long timestamp;
+    private long currentPeriod;
+    private Exception error;
+
+    FatekScanResult(FatekPLC fatekPLC, int plcId, long period, RegSet regs, RegValueMap locations, Source[] sources) {
+
+        this.fatekPLC = fatekPLC;
+        this.plcId = plcId;
+        this.period = period;
+        this.regs = regs;
+        this.locations = locations;
+        this.sources = sources;
+        this.sourceErrors = new Exception[sources.length];
+    }
+
+    public FatekPLC getFatekPLC() {
+        return fatekPLC;
+    }
+
+    public int getPlcId() {
+        return plcId;
+    }
+
+    /**
+     * Scan period of group.
+     *
+     * @return period in milliseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Period used for this cycle, differs from period of group when it is adapted by {@link FatekRateController}.
+     *
+     * @return period in milliseconds
+     */
+    public long getCurrentPeriod() {
+        return currentPeriod;
+    }
+
+    /**
+     * Registers scanned by group, must not be modified.
+     *
+     * @return registers
+     */
+    public RegSet getRegs() {
+        return regs;
+    }
+
+    /**
+     * Time when cycle was started.
+     *
+     * @return time in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Time when values were received.
+     *
+     * @return time in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Error of cycle, {@link org.simplify4u.jfatek.io.FatekIOException} if problem with connection
+     * or {@link FatekException}. When cycle fails, only some values could be not read.
+     *
+     * @return first error of cycle if cycle fails
+     */
+    public Optional<Exception> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    public boolean contains(Reg reg) {
+
+        return locations.getRaw(RegKey.of(reg), -1) >= 0;
+    }
+
+    /**
+     * Test if value of register was read in this cycle.
+     *
+     * @param reg register
+     * @return true if value was read, false if read command of register fails
+     * @throws IllegalArgumentException if register is not scanned by group
+     */
+    public boolean isValid(Reg reg) {
+
+        return sourceErrors[sourceIndex(locate(reg))] == null;
+    }
+
+    /**
+     * Error of command which reads register in this cycle.
+     *
+     * @param reg register
+     * @return error if value of register was not read
+     * @throws IllegalArgumentException if register is not scanned by group
+     */
+    public Optional<Exception> getError(Reg reg) {
+
+        return Optional.ofNullable(sourceErrors[sourceIndex(locate(reg))]);
+    }
+
+    /**
+     * Unsigned value of register, value of previous cycle is returned when register was not read in this cycle.
+     *
+     * @param reg register
+     * @return unsigned value
+     * @throws IllegalArgumentException if register is not scanned by group
+     */
+    public long getRaw(Reg reg) {
+
+        long location = locate(reg);
+        return sources[sourceIndex(location)].rawValue((int) location);
+    }
+
+    /**
+     * Value of register as new object.
+     *
+     * @param reg register
+     * @return register value
+     * @throws IllegalArgumentException if register is not scanned by group
+     */
+    public RegValue get(Reg reg) {
+
+        return RegValue.getForReg(reg, getRaw(reg));
+    }
+
+    /**
+     * Copy values of registers read in this cycle.
+     *
+     * @return new map
+     */
+    public RegValueMap toMap() {
+
+        RegValueMap map = new RegValueMap(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            long location = locations.rawValueAt(i);
+            int source = sourceIndex(location);
+            if (sourceErrors[source] == null) {
+                map.putRaw(locations.keyAt(i), sources[source].rawValue((int) location));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Store state of finished cycle.
+     *
+     * @param results results of read commands in order of sources, ignored when whole cycle fails
+     * @param error   error of whole cycle
+     */
+    void completed(long startTime, long timestamp, long currentPeriod,
+            List<FatekBatch.CommandResult<?>> results, Exception error) {
+
+        this.startTime = startTime;
+        this.timestamp = timestamp;
+        this.currentPeriod = currentPeriod;
+        this.error = error;
+
+        for (int i = 0; i < sourceErrors.length; i++) {
+            sourceErrors[i] = error != null ? error : results.get(i).getError().orElse(null);
+            if (this.error == null) {
+                this.error = sourceErrors[i];
+            }
+        }
+    }
+
+    // private methods
+
+    private long locate(Reg reg) {
+
+        long location = locations.getRaw(RegKey.of(reg), -1);
+        if (location < 0) {
+            throw new IllegalArgumentException("Register is not scanned: " + reg);
+        }
+        return location;
+    }
+
+    private static int sourceIndex(long location) {
+        return (int) (location >>> 32);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegName;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueData;
+
+/**
+ * <p>Compiler of writing arbitrary set of register values into the fewest frames.</p>
+ *
+ * <p>Values are sorted by register name and address, continuous runs are written by
+ * {@link FatekWriteDataCmd} or {@link FatekWriteDiscreteCmd} when it is cheaper than random access,
+ * remaining values are packed into size limited {@link FatekWriteMixDataCmd} frames.</p>
+ *
+ * <p>Gaps are never written through, so only registers from given map are changed.
+ * Values are not written in order of given map.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekWriteCompiler {
+
+    /**
+     * Max number of units in one mixed write message, 32 bits register takes two units.
+     */
+    public static final int MAX_MIX_UNITS = 32;
+
+    private final FatekFrameCost frameCost;
+
+    /**
+     * Compiler with default cost model.
+     */
+    public FatekWriteCompiler() {
+
+        this(FatekFrameCost.DEFAULT_FRAME_OVERHEAD, FatekFrameCost.DEFAULT_ROUND_TRIP);
+    }
+
+    /**
+     * Compiler with own cost model.
+     *
+     * @param frameOverhead characters of request and response frame without data
+     * @param roundTrip     link round trip time expressed as number of characters which can be transmitted in this time
+     */
+    public FatekWriteCompiler(int frameOverhead, int roundTrip) {
+
+        this.frameCost = new FatekFrameCost(frameOverhead, roundTrip);
+    }
+
+    /**
+     * Compile values to write into plan.
+     *
+     * @param fatekPLC PLC connection
+     * @param plcId    plc station address
+     * @param values   values to write
+     * @return plan which can be executed many times
+     */
+    public FatekWritePlan compile(FatekPLC fatekPLC, int plcId, Map<? extends Reg, ? extends RegValue> values) {
+
+        Map<RegName, TreeMap<Reg, RegValue>> groups = new EnumMap<>(RegName.class);
+        for (Map.Entry<? extends Reg, ? extends RegValue> entry : values.entrySet()) {
+            groups.computeIfAbsent(entry.getKey().getName(), n -> new TreeMap<>()).put(entry.getKey(), entry.getValue());
+        }
+
+        FatekWritePlan writePlan = new FatekWritePlan(fatekPLC, plcId);
+        List<Map.Entry<Reg, RegValue>> mixValues = new ArrayList<>();
+        for (TreeMap<Reg, RegValue> group : groups.values()) {
+            compileGroup(writePlan, new ArrayList<>(group.entrySet()), mixValues);
+        }
+
+        // pack remaining values into limited frames
+        int from = 0;
+        int units = 0;
+        for (int i = 0; i < mixValues.size(); i++) {
+            int regUnits = FatekFrameCost.units(mixValues.get(i).getKey());
+            if (units + regUnits > MAX_MIX_UNITS) {
+                writePlan.addMix(mixValues.subList(from, i));
+                from = i;
+                units = 0;
+            }
+            units += regUnits;
+        }
+        if (from < mixValues.size()) {
+            writePlan.addMix(mixValues.subList(from, mixValues.size()));
+        }
+
+        return writePlan;
+    }
+
+    // private methods
+
+    /**
+     * Split sorted values of one register name into continuous runs,
+     * each run is written by one frame when it is cheaper than random access.
+     */
+    private void compileGroup(FatekWritePlan writePlan, List<Map.Entry<Reg, RegValue>> entries,
+            List<Map.Entry<Reg, RegValue>> mixValues) {
+
+        Reg first = entries.get(0).getKey();
+        int step = first.is32Bits() ? 2 : 1;
+        int maxRun = maxRun(first);
+
+        int i = 0;
+        while (i < entries.size()) {
+            int end = i + 1;
+            if (isRunValue(entries.get(i))) {
+                while (end < entries.size() && end - i < maxRun
+                        && entries.get(end).getKey().getAddress() == entries.get(end - 1).getKey().getAddress() + step
+                        && isRunValue(entries.get(end))) {
+                    end++;
+                }
+            }
+
+            List<Map.Entry<Reg, RegValue>> run = entries.subList(i, end);
+            if (isRunValue(run.get(0)) && runCost(run) < mixCost(run)) {
+                addRun(writePlan, run);
+            } else {
+                mixValues.addAll(run);
+            }
+            i = end;
+        }
+    }
+
+    private double runCost(List<Map.Entry<Reg, RegValue>> run) {
+
+        return frameCost.blockCost(run.get(0).getKey(), run.size());
+    }
+
+    private double mixCost(List<Map.Entry<Reg, RegValue>> run) {
+
+        double cost = 0;
+        for (Map.Entry<Reg, RegValue> entry : run) {
+            cost += frameCost.mixCost(entry.getKey(), MAX_MIX_UNITS);
+        }
+        return cost;
+    }
+
+    private static void addRun(FatekWritePlan writePlan, List<Map.Entry<Reg, RegValue>> run) {
+
+        Reg start = run.get(0).getKey();
+        if (start.isDiscrete()) {
+            Boolean[] statuses = new Boolean[run.size()];
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = run.get(i).getValue().boolValue();
+            }
+            writePlan.addDiscreteRun((DisReg) start, statuses, run);
+        } else {
+            RegValueData[] data = new RegValueData[run.size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (RegValueData) run.get(i).getValue();
+            }
+            writePlan.addDataRun((DataReg) start, data, run);
+        }
+    }
+
+    /**
+     * Only values with type matching register can be written by continuous command.
+     */
+    private static boolean isRunValue(Map.Entry<Reg, RegValue> entry) {
+
+        Reg reg = entry.getKey();
+        RegValue value = entry.getValue();
+        if (reg.isDiscrete()) {
+            return value.isDiscrete();
+        }
+        return value instanceof RegValueData && value.is32Bit() == reg.is32Bits();
+    }
+
+    /**
+     * Continuous write message has the same limits as continuous read message.
+     */
+    private static int maxRun(Reg reg) {
+
+        if (reg.isDiscrete()) {
+            return FatekReadDiscreteStatusCmd.MAX_DISCRETE;
+        }
+        return reg.is32Bits() ? FatekReadDataCmd.MAX_REGS_32 : FatekReadDataCmd.MAX_REGS_16;
+    }
+}
@@ -16,9 +16,7 @@
 
 package org.simplify4u.jfatek;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekWriter;
@@ -35,7 +33,11 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
 
     public static final int CMD_ID = 0x47;
     private final DataReg startReg;
-    private final List<RegValueData> values = new ArrayList<>();
+
+    // unsigned values to write
+    private long[] values = new long[16];
+    private int valuesCount;
+    private boolean invalidValueType;
 
     /**
      * Write command. After this constructor we need call addValue.
@@ -62,7 +64,9 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
 
         super(fatekPLC, plcId);
         this.startReg = startReg;
-        this.values.addAll(Arrays.asList(values));
+        for (RegValueData value : values) {
+            addValue(value);
+        }
     }
 
     /**
@@ -78,7 +82,7 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
         super(fatekPLC, plcId);
         this.startReg = startReg;
         for (long value : values) {
-            this.values.add((RegValueData) RegValue.getForReg(startReg, value));
+            addValue(value);
         }
     }
 
@@ -89,7 +93,11 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
      * @return this object
      */
     public FatekWriteDataCmd addValue(RegValueData value) {
-        values.add(value);
+        if (value.is32Bit() != startReg.is32Bits()) {
+            // reported during send
+            invalidValueType = true;
+        }
+        addRawValue(value.longValueUnsigned());
         return this;
     }
 
@@ -100,7 +108,7 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
      * @return this object
      */
     public FatekWriteDataCmd addValue(long value) {
-        values.add((RegValueData) RegValue.getForReg(startReg, value));
+        addRawValue(RegValue.getForReg(startReg, value).longValueUnsigned());
         return this;
     }
 
@@ -113,14 +121,25 @@ public class FatekWriteDataCmd extends FatekCommand<Void> {
     @Override
     protected void writeData(FatekWriter writer) throws FatekIOException, FatekException {
 
-        writer.writeByte(values.size());
-        writer.write(startReg.toString());
+        if (invalidValueType) {
+            throw new FatekException("Invalid value type");
+        }
 
-        for (RegValueData value : values) {
-            if (value.is32Bit() != startReg.is32Bits()) {
-                throw new FatekException("Invalid value type");
-            }
-            writer.write(value.toFatekString());
+        writer.writeByte(valuesCount);
+        startReg.writeTo(writer);
+
+        if (startReg.is32Bits()) {
+            writer.writeInt32(values, 0, valuesCount);
+        } else {
+            writer.writeInt16(values, 0, valuesCount);
+        }
+    }
+
+    private void addRawValue(long value) {
+
+        if (valuesCount == values.length) {
+            values = Arrays.copyOf(values, valuesCount * 2);
         }
+        values[valuesCount++] = value;
     }
 }
@@ -51,7 +51,7 @@ public class FatekWriteDiscreteCmd extends FatekCommand<Void> {
 
         int number = statuses.length;
         writer.writeByte(number == 256 ? 0 : number);
-        writer.write(startDiscrete.toString());
+        startDiscrete.writeTo(writer);
 
         for (Boolean status : statuses) {
             writer.write(status);
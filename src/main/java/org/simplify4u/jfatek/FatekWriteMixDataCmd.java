@@ -16,23 +16,28 @@
 
 package org.simplify4u.jfatek;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekWriter;
 import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegKey;
 import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueMap;
 
 /**
  * <p>Mixed write the random discrete status or register data.</p>
  *
+ * <p>Value must match its register, discrete value for discrete register, 16 or 32 bits value
+ * for register with the same width, otherwise {@link IllegalArgumentException} is thrown.</p>
+ *
  * @author Slawomir Jaranowski.
  */
 public class FatekWriteMixDataCmd extends FatekCommand<Void> {
 
     public static final int CMD_ID = 0x49;
-    private final Map<Reg, RegValue> values = new LinkedHashMap<>();
+    // values in order of adding, register added again keeps its position
+    private final RegValueMap values = new RegValueMap();
 
     public FatekWriteMixDataCmd(FatekPLC fatekPLC, int plcId) {
 
@@ -42,17 +47,19 @@ public class FatekWriteMixDataCmd extends FatekCommand<Void> {
     public FatekWriteMixDataCmd(FatekPLC fatekPLC, int plcId, Map<? extends Reg, ? extends RegValue> values) {
 
         super(fatekPLC, plcId);
-        this.values.putAll(values);
+        for (Map.Entry<? extends Reg, ? extends RegValue> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
     }
 
     public FatekWriteMixDataCmd(FatekPLC fatekPLC, int plcId, Reg reg, RegValue value) {
 
         super(fatekPLC, plcId);
-        values.put(reg, value);
+        put(reg, value);
     }
 
     public FatekWriteMixDataCmd addReg(Reg reg, RegValue value) {
-        values.put(reg, value);
+        put(reg, value);
         return this;
     }
 
@@ -82,9 +89,27 @@ public class FatekWriteMixDataCmd extends FatekCommand<Void> {
 
         writer.writeByte(values.size());
 
-        for (Map.Entry<? extends Reg, ? extends RegValue> ve : values.entrySet()) {
-            writer.write(ve.getKey().toString());
-            writer.write(ve.getValue().toFatekString());
+        for (int i = 0; i < values.size(); i++) {
+            int key = values.keyAt(i);
+            long value = values.rawValueAt(i);
+            RegKey.toReg(key).writeTo(writer);
+            if (RegKey.isDiscrete(key)) {
+                writer.writeNibble((int) value);
+            } else if (RegKey.is32Bits(key)) {
+                writer.writeInt32(value);
+            } else {
+                writer.writeInt16(value);
+            }
+        }
+    }
+
+    // private methods
+
+    private void put(Reg reg, RegValue value) {
+
+        if (value.isDiscrete() != reg.isDiscrete() || value.is32Bit() != reg.is32Bits()) {
+            throw new IllegalArgumentException("Value " + value + " does not match register " + reg);
         }
+        values.put(reg, value);
     }
 }
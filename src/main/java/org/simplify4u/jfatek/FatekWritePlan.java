@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.DisReg;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueData;
+
+/**
+ * <p>Plan of writing set of register values prepared by {@link FatekWriteCompiler}.</p>
+ *
+ * <p>All frames are sent even if some of them fail, result of each frame is reported separately.</p>
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekWritePlan {
+
+    /**
+     * Result of one frame of plan.
+     */
+    public static final class FrameResult {
+
+        private final FatekCommand<?> command;
+        private final List<Reg> regs;
+        private final Exception error;
+
+        FrameResult(FatekCommand<?> command, List<Reg> regs, Exception error) {
+
+            this.command = command;
+            this.regs = regs;
+            this.error = error;
+        }
+
+        public FatekCommand<?> getCommand() {
+            return command;
+        }
+
+        /**
+         * Registers written by frame.
+         *
+         * @return list of registers
+         */
+        public List<Reg> getRegs() {
+            return regs;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * Error of frame, {@link FatekIOException} if problem with connection or {@link FatekException}.
+         *
+         * @return error if frame fails
+         */
+        public Optional<Exception> getError() {
+            return Optional.ofNullable(error);
+        }
+    }
+
+    /**
+     * Command with registers which are written by it.
+     */
+    private static final class Frame {
+
+        private final FatekCommand<?> command;
+        private final List<Reg> regs;
+
+        Frame(FatekCommand<?> command, List<Map.Entry<Reg, RegValue>> values) {
+
+            this.command = command;
+            List<Reg> list = new ArrayList<>(values.size());
+            for (Map.Entry<Reg, RegValue> entry : values) {
+                list.add(entry.getKey());
+            }
+            this.regs = Collections.unmodifiableList(list);
+        }
+    }
+
+    private final FatekPLC fatekPLC;
+    private final int plcId;
+
+    private final List<Frame> frames = new ArrayList<>();
+
+    FatekWritePlan(FatekPLC fatekPLC, int plcId) {
+
+        this.fatekPLC = fatekPLC;
+        this.plcId = plcId;
+    }
+
+    /**
+     * Commands which are sent by plan, one command is one frame.
+     *
+     * @return list of commands
+     */
+    public List<FatekCommand<?>> getCommands() {
+
+        List<FatekCommand<?>> commands = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            commands.add(frame.command);
+        }
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Send all frames one by one.
+     *
+     * @return results of frames in order of sending
+     */
+    public List<FrameResult> execute() {
+
+        List<FrameResult> results = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            Exception error = null;
+            try {
+                frame.command.send();
+            } catch (FatekIOException | FatekException e) {
+                error = e;
+            }
+            results.add(new FrameResult(frame.command, frame.regs, error));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Send all frames without waiting for responses,
+     * frames can be executed in parallel by connection pool or pipeline.
+     *
+     * @return future of frame results, it is never completed exceptionally by frame error
+     */
+    public CompletableFuture<List<FrameResult>> executeAsync() {
+
+        List<CompletableFuture<FrameResult>> futures = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            futures.add(frame.command.sendAsync().handle((v, e) -> new FrameResult(frame.command, frame.regs,
+                    e == null ? null : FatekCommand.toException(e))));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).thenApply(v -> {
+            List<FrameResult> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<FrameResult> future : futures) {
+                results.add(future.join());
+            }
+            return Collections.unmodifiableList(results);
+        });
+    }
+
+    void addDataRun(DataReg start, RegValueData[] data, List<Map.Entry<Reg, RegValue>> values) {
+
+        frames.add(new Frame(new FatekWriteDataCmd(fatekPLC, plcId, start, data), values));
+    }
+
+    void addDiscreteRun(DisReg start, Boolean[] statuses, List<Map.Entry<Reg, RegValue>> values) {
+
+        frames.add(new Frame(new FatekWriteDiscreteCmd(fatekPLC, plcId, start, statuses), values));
+    }
+
+    void addMix(List<Map.Entry<Reg, RegValue>> values) {
+
+        Map<Reg, RegValue> map = new LinkedHashMap<>();
+        for (Map.Entry<Reg, RegValue> entry : values) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        frames.add(new Frame(new FatekWriteMixDataCmd(fatekPLC, plcId, map), values));
+    }
+}
@@ -21,8 +21,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.SocketAddress;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
+import org.simplify4u.jfatek.FatekException;
+
 /**
  * @author Slawomir Jaranowski.
  */
@@ -31,10 +36,23 @@ public abstract class FatekConnection {
     private final FatekConfig fatekConfig;
     private final Consumer<Boolean> connectionStateListener;
 
+    private static final String THREADS_PARAM = "threads";
+    private static final String VIRTUAL_THREADS = "virtual";
+
+    // all messages are written and read by one worker at once
+    private final SerialExecutor worker;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private FatekWriter writer;
+    private FatekReader reader;
+
     protected FatekConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) {
 
         this.fatekConfig = fatekConfig;
         this.connectionStateListener = connectionStateListener;
+        this.worker = new SerialExecutor(fatekConfig.getParam(THREADS_PARAM)
+                .map(VIRTUAL_THREADS::equalsIgnoreCase)
+                .orElse(false));
     }
 
     protected abstract InputStream getInputStream() throws IOException;
@@ -48,7 +66,14 @@ public abstract class FatekConnection {
     public final FatekWriter getWriter() throws FatekIOException {
 
         try {
-            return new FatekWriter(getOutputStream());
+            OutputStream outputStream = getOutputStream();
+            // writer with its buffer is reused for all messages send by connection
+            if (writer == null) {
+                writer = new FatekWriter(outputStream);
+            } else {
+                writer.start(outputStream);
+            }
+            return writer;
         } catch (IOException e) {
             throw new FatekIOException(e);
         }
@@ -57,12 +82,204 @@ public abstract class FatekConnection {
     public final FatekReader getReader() throws FatekIOException {
 
         try {
-            return new FatekReader(getInputStream());
+            InputStream inputStream = getInputStream();
+            // reader with its buffer is reused for all messages received by connection
+            if (reader == null) {
+                reader = new FatekReader(inputStream);
+            } else {
+                reader.start(inputStream);
+            }
+            return reader;
         } catch (IOException e) {
             throw new FatekIOException(e);
         }
     }
 
+    /**
+     * Execute transaction on connection, current thread is blocked until whole transaction is done.
+     * <p>
+     * Transaction is added to connection queue, so messages of transactions from many threads are not mixed.
+     *
+     * @param transaction transaction to execute
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    public final void execute(FatekTransaction transaction) throws FatekIOException, FatekException {
+
+        queueDepth.incrementAndGet();
+        try {
+            executeBlocking(transaction);
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+    }
+
+    /**
+     * Execute transaction on connection without waiting for result.
+     *
+     * @param transaction transaction to execute
+     * @return future completed when whole transaction is done
+     * @see #executeAsync(FatekTransaction, Runnable)
+     */
+    public final CompletableFuture<Void> executeAsync(FatekTransaction transaction) {
+
+        return executeAsync(transaction, null);
+    }
+
+    /**
+     * Execute transaction on connection without waiting for result.
+     * <p>
+     * Transactions are queued and executed one by one in order of submission.
+     * When returned future is completed before end of transaction, eg. cancelled,
+     * transaction is stopped after current message. Listener of end of transaction is called
+     * when connection does not use transaction any more, also when future was cancelled.
+     *
+     * @param transaction transaction to execute
+     * @param finished    called when connection stops executing transaction, before future is completed, can be null
+     * @return future completed when whole transaction is done
+     */
+    public final CompletableFuture<Void> executeAsync(FatekTransaction transaction, Runnable finished) {
+
+        queueDepth.incrementAndGet();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        enqueue(transaction, future, () -> {
+            queueDepth.decrementAndGet();
+            if (finished != null) {
+                finished.run();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Number of transactions which wait in queue or are executed.
+     *
+     * @return connection queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Execute transaction and wait until it is done.
+     * <p>
+     * When connection queue is idle, transaction is executed by current thread without hand off to worker.
+     * When called by connection worker, eg. by callback of future completed by worker, previous transaction
+     * is already finished, so transaction is executed at once by current thread instead of waiting
+     * for itself in queue.
+     *
+     * @param transaction transaction to execute
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    protected void executeBlocking(FatekTransaction transaction) throws FatekIOException, FatekException {
+
+        if (worker.inWorker()) {
+            runTransaction(transaction, null);
+            return;
+        }
+
+        if (worker.tryAcquire()) {
+            try {
+                runTransaction(transaction, null);
+            } finally {
+                worker.release();
+            }
+            return;
+        }
+
+        executeQueued(transaction);
+    }
+
+    /**
+     * Add transaction to connection queue and wait until it is done.
+     *
+     * @param transaction transaction to execute
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    protected final void executeQueued(FatekTransaction transaction) throws FatekIOException, FatekException {
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        enqueue(transaction, future, () -> {
+        });
+        await(future);
+    }
+
+    /**
+     * Add transaction to connection queue.
+     * <p>
+     * Connections based on blocking streams execute transactions by single worker, which uses thread
+     * from shared pool only when queue is not empty.
+     * <p>
+     * Implementation must call <code>finished</code> exactly once, when transaction is done, failed or skipped,
+     * before future is completed.
+     *
+     * @param transaction transaction to execute
+     * @param future      completed when whole transaction is done
+     * @param finished    called when connection stops executing transaction
+     */
+    protected void enqueue(FatekTransaction transaction, CompletableFuture<Void> future, Runnable finished) {
+
+        worker.execute(() -> {
+            Exception error = null;
+            try {
+                if (!future.isDone()) {
+                    runTransaction(transaction, future);
+                }
+            } catch (FatekIOException | FatekException | RuntimeException e) {
+                error = e;
+            }
+            finished.run();
+            complete(future, error);
+        });
+    }
+
+    /**
+     * Complete future of transaction.
+     *
+     * @param future future to complete
+     * @param error  error of transaction, null on success
+     */
+    protected static void complete(CompletableFuture<Void> future, Exception error) {
+
+        if (error == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Wait for end of transaction, when waiting is interrupted transaction is stopped after current message.
+     *
+     * @param future future of transaction
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    protected static void await(CompletableFuture<Void> future) throws FatekIOException, FatekException {
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new FatekIOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof FatekIOException) {
+                throw (FatekIOException) cause;
+            }
+            if (cause instanceof FatekException) {
+                throw (FatekException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new FatekException(e);
+        }
+    }
+
     public final void close() throws FatekIOException {
 
         try {
@@ -94,4 +311,27 @@ public abstract class FatekConnection {
     public int getTimeout() {
         return fatekConfig.getTimeout();
     }
+
+    // private methods
+
+    /**
+     * Write requests and read responses of transaction on streams.
+     *
+     * @param future future of transaction, when it is done transaction is stopped after current message
+     */
+    private void runTransaction(FatekTransaction transaction, CompletableFuture<Void> future)
+            throws FatekIOException, FatekException {
+
+        FatekReader messageReader;
+        do {
+            FatekWriter messageWriter = getWriter();
+            transaction.writeRequest(messageWriter);
+            // write whole message from internal buffer to stream
+            messageWriter.flush();
+
+            messageReader = getReader();
+            // before start we must read next message to internal buffer
+            messageReader.readNextMessage();
+        } while (transaction.readResponse(messageReader) && (future == null || !future.isDone()));
+    }
 }
@@ -20,10 +20,14 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -44,11 +48,25 @@ public abstract class FatekConnectionManager implements Closeable {
         // register connection factory for supported protocols
         registerConnectionFactory(new TCPConnectionFactory());
         registerConnectionFactory(new UDPConnectionFactory());
+        registerConnectionFactory(new NIOTCPConnectionFactory());
     }
 
+    // lock instead of synchronized - waiting in synchronized block pins virtual thread
+    private final Lock connectionLock = new ReentrantLock();
+    // signalled when connecting of some slot is finished
+    private final Condition connectFinished = connectionLock.newCondition();
+
+    static final String POOL_PARAM = "pool";
+
     private FatekConfig fatekConfig;
     private FatekConnectionFactory connectionFactory;
-    private FatekConnection connection;
+
+    // pool of connections and number of leases for each of them
+    private FatekConnection[] connections;
+    private int[] leases;
+    // slots for which new connection is open, connect is done without lock
+    private boolean[] connecting;
+    private int nextSlot;
 
     private Consumer<Boolean> connectionStateListener;
 
@@ -79,41 +97,103 @@ public abstract class FatekConnectionManager implements Closeable {
     @Override
     public void close() throws FatekIOException {
 
+        connectionLock.lock();
         try {
-            if (connection != null) {
-                connection.close();
+            FatekIOException closeException = null;
+            for (FatekConnection connection : connections) {
+                if (connection != null) {
+                    try {
+                        connection.close();
+                    } catch (FatekIOException e) {
+                        closeException = e;
+                    }
+                }
+            }
+            if (closeException != null) {
+                throw closeException;
             }
         } finally {
             fatekConfig = null;
             connectionFactory = null;
-            connection = null;
+            Arrays.fill(connections, null);
             connectionStateListener = null;
+            connectionLock.unlock();
         }
     }
 
+    /**
+     * Connection to PLC, when pool is used it is least loaded connection from pool.
+     *
+     * @return connection
+     * @throws FatekIOException if connection can not be open
+     */
     protected FatekConnection getConnection0() throws FatekIOException {
 
-        if (connection != null && connection.isConnected()) {
-            return connection;
-        }
+        return acquireConnection(false);
+    }
 
-        try {
-            synchronized (this) {
+    /**
+     * Lease connection from pool. Connection with the lowest number of leases is chosen,
+     * connections with the same number of leases are used in turn.
+     * Leased connection must be returned by {@link #releaseConnection0(FatekConnection)}.
+     *
+     * @return connection
+     * @throws FatekIOException if connection can not be open
+     */
+    protected FatekConnection leaseConnection0() throws FatekIOException {
 
-                // try again in synchronized block
-                if (connection != null && connection.isConnected()) {
-                    return connection;
-                }
+        return acquireConnection(true);
+    }
 
-                connection = connectionFactory.getConnection(fatekConfig, connectionStateListener);
+    /**
+     * Lease open connection from pool without connecting. Open connection with the lowest number of leases is chosen.
+     * Leased connection must be returned by {@link #releaseConnection0(FatekConnection)}.
+     *
+     * @return connection or null if there is no open connection
+     */
+    protected FatekConnection tryLeaseConnection0() {
+
+        connectionLock.lock();
+        try {
+            int ret = -1;
+            for (int i = 0; i < connections.length; i++) {
+                int slot = (nextSlot + i) % connections.length;
+                if (!connecting[slot] && connections[slot] != null && connections[slot].isConnected()
+                        && (ret < 0 || leases[slot] < leases[ret])) {
+                    ret = slot;
+                }
             }
-            LOG.trace("Create new connection: {}", connection);
-            return connection;
-        } catch (IOException e) {
-            throw new FatekIOException(e);
+            if (ret < 0) {
+                return null;
+            }
+            nextSlot = (ret + 1) % connections.length;
+            leases[ret]++;
+            return connections[ret];
+        } finally {
+            connectionLock.unlock();
         }
     }
 
+    /**
+     * Return leased connection to pool.
+     *
+     * @param connection leased connection
+     */
+    protected void releaseConnection0(FatekConnection connection) {
+
+        connectionLock.lock();
+        try {
+            for (int i = 0; i < connections.length; i++) {
+                // connection could be already replaced by new one
+                if (connections[i] == connection && leases[i] > 0) {
+                    leases[i]--;
+                    return;
+                }
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
 
     // private methods
 
@@ -130,5 +210,136 @@ public abstract class FatekConnectionManager implements Closeable {
         fatekConfig = new FatekConfig(uri);
         connectionFactory = findConnectionFactory();
         this.connectionStateListener = connectionStateListener;
+
+        int poolSize = fatekConfig.getParamAsInt(POOL_PARAM).orElse(1);
+        if (poolSize < 1) {
+            throw new FatekIOException("Invalid pool size: %d", poolSize);
+        }
+        connections = new FatekConnection[poolSize];
+        leases = new int[poolSize];
+        connecting = new boolean[poolSize];
+    }
+
+    /**
+     * Return healthy connection from chosen slot, new connection is created when there is no healthy connection.
+     * <p>
+     * Connect is done without lock, so slow connect does not block other slots of pool.
+     * Other threads which choose the same slot wait for end of connect.
+     */
+    private FatekConnection acquireConnection(boolean lease) throws FatekIOException {
+
+        FatekConnection dead;
+        FatekConfig config;
+        FatekConnectionFactory factory;
+        Consumer<Boolean> listener;
+        int slot;
+
+        connectionLock.lock();
+        try {
+            while (true) {
+                if (connectionFactory == null) {
+                    throw new FatekIOException("Connection manager is closed");
+                }
+
+                slot = nextSlot();
+                if (!connecting[slot]) {
+                    break;
+                }
+                // all slots are being connected
+                connectFinished.awaitUninterruptibly();
+            }
+
+            FatekConnection connection = connections[slot];
+            if (connection != null && connection.isConnected()) {
+                if (lease) {
+                    leases[slot]++;
+                }
+                return connection;
+            }
+
+            connecting[slot] = true;
+            dead = connection;
+            connections[slot] = null;
+            // leases of previous connection are not counted any more
+            leases[slot] = 0;
+            config = fatekConfig;
+            factory = connectionFactory;
+            listener = connectionStateListener;
+        } finally {
+            connectionLock.unlock();
+        }
+
+        if (dead != null) {
+            closeDead(dead);
+        }
+
+        FatekConnection connection = null;
+        boolean stored = false;
+        try {
+            connection = factory.getConnection(config, listener);
+            LOG.trace("Create new connection: {}", connection);
+        } catch (IOException e) {
+            throw new FatekIOException(e);
+        } finally {
+            connectionLock.lock();
+            try {
+                connecting[slot] = false;
+                if (connection != null && connectionFactory != null) {
+                    stored = true;
+                    connections[slot] = connection;
+                    if (lease) {
+                        leases[slot]++;
+                    }
+                }
+                connectFinished.signalAll();
+            } finally {
+                connectionLock.unlock();
+            }
+        }
+
+        if (!stored) {
+            // manager was closed during connect
+            closeDead(connection);
+            throw new FatekIOException("Connection manager is closed");
+        }
+        return connection;
+    }
+
+    /**
+     * Find slot with the lowest number of leases, slots which are not being connected
+     * and open connections are preferred.
+     */
+    private int nextSlot() {
+
+        int ret = -1;
+        for (int i = 0; i < connections.length; i++) {
+            int slot = (nextSlot + i) % connections.length;
+            if (ret < 0 || isBetterSlot(slot, ret)) {
+                ret = slot;
+            }
+        }
+        nextSlot = (ret + 1) % connections.length;
+        return ret;
+    }
+
+    private boolean isBetterSlot(int slot, int than) {
+
+        if (connecting[slot] != connecting[than]) {
+            return !connecting[slot];
+        }
+        return leases[slot] < leases[than]
+                || leases[slot] == leases[than] && connections[than] == null && connections[slot] != null;
+    }
+
+    /**
+     * Release resources of connection which is not used any more, state listener is not notified again.
+     */
+    private static void closeDead(FatekConnection connection) {
+
+        try {
+            connection.closeConnection();
+        } catch (IOException e) {
+            LOG.debug("Error during closing connection {}", connection, e);
+        }
     }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.simplify4u.jfatek.FatekException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental decoder of Fatek message frames.
+ * <p>
+ * Data can be pushed in chunks of any size, decoder finds frames between STX and ETX chars,
+ * counts CRC during scanning and skips bytes outside of frames. When STX occurs inside of frame,
+ * decoding is started again from new STX.
+ * <p>
+ * Completed frame is available as slice of internal buffer, until next data are pushed to decoder.
+ *
+ * @author Slawomir Jaranowski.
+ */
+class FatekFrameDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FatekFrameDecoder.class);
+
+    static final byte STX = 0x02;
+    static final byte ETX = 0x03;
+
+    static final int MIN_FRAME_LENGTH = 8;
+    static final int MAX_FRAME_LENGTH = 8192;
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MIN_WRITABLE = 64;
+
+    private byte[] buf;
+
+    // not consumed data are from start to limit, scanPos is next byte to decode
+    private int start;
+    private int scanPos;
+    private int limit;
+
+    // begin of frame which is decoded, -1 when we are looking for STX
+    private int frameStart = -1;
+    private int crc;
+
+    private int frameOffset;
+    private int frameLength;
+
+    FatekFrameDecoder() {
+
+        buf = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Push chunk of data to decoder.
+     *
+     * @param src source buffer
+     * @param off start offset in source buffer
+     * @param len number of bytes
+     */
+    void feed(byte[] src, int off, int len) {
+
+        ensureWritable(len);
+        System.arraycopy(src, off, buf, limit, len);
+        limit += len;
+    }
+
+    /**
+     * Push all remaining data from buffer to decoder.
+     *
+     * @param src source buffer
+     */
+    void feed(ByteBuffer src) {
+
+        int len = src.remaining();
+        ensureWritable(len);
+        src.get(buf, limit, len);
+        limit += len;
+    }
+
+    /**
+     * Prepare place for data which will be written directly to decoder buffer,
+     * eg. by <code>InputStream.read(decoder.array(), decoder.writeOffset(), len)</code>.
+     * After writing data {@link #commit(int)} must be called.
+     *
+     * @return number of bytes which can be written
+     */
+    int prepareWrite() {
+
+        ensureWritable(MIN_WRITABLE);
+        return buf.length - limit;
+    }
+
+    int writeOffset() {
+        return limit;
+    }
+
+    /**
+     * Confirm number of bytes written directly to decoder buffer.
+     *
+     * @param len number of written bytes
+     */
+    void commit(int len) {
+
+        limit += len;
+    }
+
+    /**
+     * Internal buffer of decoder. Buffer can be changed by next feed or prepareWrite.
+     *
+     * @return decoder buffer
+     */
+    byte[] array() {
+        return buf;
+    }
+
+    /**
+     * Offset in buffer of last decoded frame - position of STX.
+     *
+     * @return frame offset
+     */
+    int frameOffset() {
+        return frameOffset;
+    }
+
+    /**
+     * Length of last decoded frame, with STX and ETX.
+     *
+     * @return frame length
+     */
+    int frameLength() {
+        return frameLength;
+    }
+
+    /**
+     * Drop all buffered data.
+     */
+    void reset() {
+
+        start = 0;
+        scanPos = 0;
+        limit = 0;
+        frameStart = -1;
+        frameOffset = 0;
+        frameLength = 0;
+    }
+
+    /**
+     * Decode next frame from buffered data.
+     * <p>
+     * Frame with wrong CRC or length is consumed and reported by exception,
+     * so next call continue decoding after it.
+     *
+     * @return true if next frame is available, false when more data are needed
+     * @throws FatekException when frame was found but it is not valid
+     */
+    boolean nextFrame() throws FatekException {
+
+        frameOffset = 0;
+        frameLength = 0;
+
+        while (scanPos < limit) {
+
+            byte b = buf[scanPos];
+
+            if (frameStart < 0) {
+                if (b == STX) {
+                    skipped(scanPos - start);
+                    startFrame();
+                } else {
+                    scanPos++;
+                }
+                continue;
+            }
+
+            if (b == STX) {
+                // new frame start inside current one - resync to new STX
+                skipped(scanPos - start);
+                startFrame();
+                continue;
+            }
+
+            scanPos++;
+
+            if (b == ETX) {
+                return endFrame();
+            }
+
+            crc += b & 0xff;
+
+            if (scanPos - frameStart >= MAX_FRAME_LENGTH) {
+                frameStart = -1;
+                start = scanPos;
+                throw new FatekException("Message too long");
+            }
+        }
+
+        if (frameStart < 0) {
+            // nothing interesting in buffer
+            skipped(scanPos - start);
+            start = scanPos;
+        }
+        return false;
+    }
+
+    // private methods
+
+    private void startFrame() {
+
+        frameStart = scanPos;
+        start = scanPos;
+        crc = STX;
+        scanPos++;
+    }
+
+    private boolean endFrame() throws FatekException {
+
+        int len = scanPos - frameStart;
+        int off = frameStart;
+
+        frameStart = -1;
+        start = scanPos;
+
+        if (len < MIN_FRAME_LENGTH) {
+            throw new FatekException("Message too short");
+        }
+
+        int crcPos = off + len - 3;
+        // CRC chars was added to counted sum
+        int crc0 = (crc - (buf[crcPos] & 0xff) - (buf[crcPos + 1] & 0xff)) & 0xff;
+        int crcRecv = HexCodec.digitValue(buf[crcPos]) << 4 | HexCodec.digitValue(buf[crcPos + 1]);
+
+        if (crcRecv != crc0) {
+            throw new FatekCRCException(crcRecv, crc0);
+        }
+
+        frameOffset = off;
+        frameLength = len;
+        return true;
+    }
+
+    private void skipped(int len) {
+
+        if (len > 0 && LOG.isDebugEnabled()) {
+            LOG.debug("Skip {} bytes outside of frame: {}", len,
+                    FatekUtils.byteArrayToString(Arrays.copyOfRange(buf, start, start + len)));
+        }
+    }
+
+    private void ensureWritable(int len) {
+
+        if (buf.length - limit >= len) {
+            return;
+        }
+
+        // move not consumed data to begin of buffer
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, limit - start);
+            limit -= start;
+            scanPos -= start;
+            if (frameStart >= 0) {
+                frameStart -= start;
+            }
+            start = 0;
+        }
+
+        if (buf.length - limit < len) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, limit + len));
+        }
+    }
+}
@@ -20,62 +20,86 @@ import org.simplify4u.jfatek.FatekException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.SocketTimeoutException;
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
+ * Decoder of Fatek message.
+ * <p>
+ * Data from stream are read in batches to internal buffer, which is reused for next messages.
+ * Values are decoded directly from received bytes.
+ *
  * @author Slawomir Jaranowski
  */
 public class FatekReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(FatekReader.class);
 
-    private final InputStream input;
+    private final FatekFrameDecoder decoder;
+    private InputStream input;
 
-    private char[] msgBuf;
-    private int msgBufOutPos;
+    // current message, buffer, next char to decode and position of CRC
+    private byte[] buf;
+    private int msgPos;
+    private int msgEnd;
 
     FatekReader(InputStream input) {
 
+        this(new FatekFrameDecoder());
+        start(input);
+    }
+
+    FatekReader(FatekFrameDecoder decoder) {
+
+        this.decoder = decoder;
+        this.buf = decoder.array();
+    }
+
+    /**
+     * Prepare reader for next message.
+     *
+     * @param input stream from which message will be read
+     */
+    void start(InputStream input) {
+
+        if (this.input != input) {
+            // data buffered from previous stream are not valid any more
+            decoder.reset();
+        }
         this.input = input;
-        this.msgBuf = new char[0];
+        msgPos = 0;
+        msgEnd = 0;
     }
 
     public int read(char... buf) {
 
-        int lenToCopy = Math.min(buf.length, msgBuf.length - msgBufOutPos - 3);
+        int lenToCopy = Math.min(buf.length, msgEnd - msgPos);
         if (lenToCopy <= 0) {
             return -1;
         }
 
-        System.arraycopy(msgBuf, msgBufOutPos, buf, 0, lenToCopy);
-        msgBufOutPos += lenToCopy;
+        for (int i = 0; i < lenToCopy; i++) {
+            buf[i] = (char) (this.buf[msgPos + i] & 0xff);
+        }
+        msgPos += lenToCopy;
 
         return lenToCopy;
     }
 
     public int readByte() throws FatekException {
 
-        char[] buf = new char[2];
-        if (read(buf) != 2) {
-            throw new FatekException("Message too short");
-        }
-
-        return (Character.digit(buf[0], 16) << 4 | Character.digit(buf[1], 16)) & 0xff;
+        checkAvailable(2);
+        int ret = hexValue(msgPos) << 4 | hexValue(msgPos + 1);
+        msgPos += 2;
+        return ret;
     }
 
     public int readNibble() throws FatekException {
 
-        char[] buf = new char[1];
-
-        int n = read(buf);
-        if (n != 1) {
-            throw new FatekException("Message too short");
-        }
-        return Character.digit(buf[0], 16) & 0xff;
+        checkAvailable(1);
+        return hexValue(msgPos++);
     }
 
     public Boolean readBool() throws FatekException {
@@ -93,75 +117,137 @@ public class FatekReader {
 
     public long readInt16() throws FatekException {
 
-        char[] buf = new char[4];
-
-        int n = read(buf);
-        if (n != 4) {
-            throw new FatekException("Message too short");
-        }
-        return Long.parseLong(new String(buf), 16);
+        checkAvailable(4);
+        long ret = readHex(msgPos, 4);
+        msgPos += 4;
+        return ret;
     }
 
     public long readInt32() throws FatekException {
 
-        char[] buf = new char[8];
+        checkAvailable(8);
+        long ret = readHex(msgPos, 8);
+        msgPos += 8;
+        return ret;
+    }
 
-        int n = read(buf);
-        if (n != 8) {
-            throw new FatekException("Message too short");
-        }
-        return Long.parseLong(new String(buf), 16);
+    /**
+     * Read run of 16 bits values.
+     *
+     * @param dst   destination for unsigned values
+     * @param off   destination offset
+     * @param count number of values to read
+     * @throws FatekException if message is too short or contains invalid chars
+     */
+    public void readInt16(long[] dst, int off, int count) throws FatekException {
+
+        checkAvailable(count * 4);
+        HexCodec.decodeInt16(buf, msgPos, dst, off, count);
+        msgPos += count * 4;
+    }
+
+    /**
+     * Read run of 32 bits values.
+     *
+     * @param dst   destination for unsigned values
+     * @param off   destination offset
+     * @param count number of values to read
+     * @throws FatekException if message is too short or contains invalid chars
+     */
+    public void readInt32(long[] dst, int off, int count) throws FatekException {
+
+        checkAvailable(count * 8);
+        HexCodec.decodeInt32(buf, msgPos, dst, off, count);
+        msgPos += count * 8;
+    }
+
+    /**
+     * Copy hex digits of message without decoding, all chars are checked.
+     * Digits can be decoded later by {@link FatekUtils#decodeHex(byte[], int, int)}.
+     *
+     * @param dst destination for chars
+     * @param off destination offset
+     * @param len number of chars to copy
+     * @throws FatekException if message is too short or contains invalid chars
+     */
+    public void readRaw(byte[] dst, int off, int len) throws FatekException {
+
+        checkAvailable(len);
+        HexCodec.checkDigits(buf, msgPos, len);
+        System.arraycopy(buf, msgPos, dst, off, len);
+        msgPos += len;
     }
 
     /**
      * Read whole fatek message from STX char to ETX char to internal buffer.
+     * <p>
+     * Bytes received outside of message are skipped.
      *
      * @throws FatekIOException if problem with connection
      */
     public void readNextMessage() throws FatekIOException, FatekException {
 
-        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        msgPos = 0;
+        msgEnd = 0;
+
         try {
-            int t = input.read();
-            if (t != 0x02) {
-                if (t < 0) {
+            while (!decoder.nextFrame()) {
+                int len = decoder.prepareWrite();
+                int n = input.read(decoder.array(), decoder.writeOffset(), len);
+                if (n < 0) {
                     throw new FatekUnexpectedEOSException();
                 }
-                throw new FatekException("No STX");
+                decoder.commit(n);
             }
-            buf.write(t);
-
-            while (t != 0x03) {
-                t = input.read();
-                if (t < 0) {
-                    throw new FatekUnexpectedEOSException();
-                }
-                buf.write(t);
+        } catch (FatekIOException e) {
+            throw e;
+        } catch (IOException e) {
+            if (e instanceof SocketTimeoutException) {
+                throw new FatekException(e); //prevent reconnect on socket timeout
             }
+            throw new FatekIOException(e);
+        }
 
-            byte[] bufArray = buf.toByteArray();
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("read:\n\t<- {}", FatekUtils.byteArrayToString(bufArray));
-            }
+        setMessage();
+    }
 
-            if (bufArray.length < 8) {
-                throw new FatekException("Message too short");
-            }
+    /**
+     * Set last frame decoded by decoder as current message.
+     */
+    void setMessage() {
 
-            int crc0 = FatekUtils.countCRC(bufArray, bufArray.length - 3);
-            int crc = Integer.parseInt(new String(bufArray, bufArray.length - 3, 2, StandardCharsets.US_ASCII), 16);
+        buf = decoder.array();
+        int off = decoder.frameOffset();
+        int len = decoder.frameLength();
 
-            if (crc != crc0) {
-                throw new FatekCRCException(crc, crc0);
-            }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("read:\n\t<- {}", FatekUtils.byteArrayToString(Arrays.copyOfRange(buf, off, off + len)));
+        }
 
-            msgBuf = new String(bufArray, StandardCharsets.US_ASCII).toCharArray();
-            msgBufOutPos = 1;
-        } catch (IOException e) {
-            if (e instanceof SocketTimeoutException) {
-                throw new FatekException(e); //prevent reconnect on socket timeout
-            }
-            throw new FatekIOException(e);
+        msgPos = off + 1;
+        msgEnd = off + len - 3;
+    }
+
+    // private methods
+
+    private void checkAvailable(int len) throws FatekException {
+
+        if (msgEnd - msgPos < len) {
+            throw new FatekException("Message too short");
         }
     }
+
+    private int hexValue(int pos) throws FatekException {
+
+        int ret = HexCodec.digitValue(buf[pos]);
+        if (ret < 0) {
+            throw new FatekException("Invalid hex digit: 0x%02X", buf[pos] & 0xff);
+        }
+        return ret;
+    }
+
+    private long readHex(int pos, int len) throws FatekException {
+
+        return HexCodec.decodeScalar(buf, pos, len);
+    }
 }
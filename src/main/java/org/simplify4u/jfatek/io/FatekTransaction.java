@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import org.simplify4u.jfatek.FatekException;
+
+/**
+ * Exchange of request and response messages executed by connection.
+ * <p>
+ * Connection calls methods of transaction in turn, until transaction has no more request to send.
+ * Methods can be called by transport thread, so they should not block.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public interface FatekTransaction {
+
+    /**
+     * Write next request message.
+     *
+     * @param writer output writer
+     * @throws FatekIOException if problem with connection
+     * @throws FatekException   if another problem
+     */
+    void writeRequest(FatekWriter writer) throws FatekException, FatekIOException;
+
+    /**
+     * Process response for last request.
+     *
+     * @param reader reader with received message
+     * @return true if transaction has next request to send
+     * @throws FatekException if response is not valid
+     */
+    boolean readResponse(FatekReader reader) throws FatekException;
+
+    /**
+     * PLC station ID expected in responses, used for matching responses when requests are pipelined.
+     *
+     * @return PLC station ID or -1 if not known
+     */
+    default int getPlcId() {
+        return -1;
+    }
+
+    /**
+     * Command ID expected in responses, used for matching responses when requests are pipelined.
+     *
+     * @return command ID or -1 if not known
+     */
+    default int getCommandId() {
+        return -1;
+    }
+}
@@ -27,12 +27,16 @@ public final class FatekUtils {
 
     public static int countCRC(byte[] buf, int len) {
 
+        return countCRC(buf, 0, len);
+    }
+
+    public static int countCRC(byte[] buf, int off, int len) {
+
         int crc = 0;
-        for (int i = 0; i < len; i++) {
+        for (int i = off; i < off + len; i++) {
             crc += buf[i] & 0xff;
-            crc &= 0xff;
         }
-        return crc;
+        return crc & 0xff;
     }
 
     public static int countCRC(byte... buf) {
@@ -40,6 +44,19 @@ public final class FatekUtils {
         return countCRC(buf, buf.length);
     }
 
+    /**
+     * Decode hex digits copied by {@link FatekReader#readRaw(byte[], int, int)}.
+     *
+     * @param digits buffer with checked hex digits
+     * @param off    offset of first digit
+     * @param len    number of digits, max 15
+     * @return unsigned value
+     */
+    public static long decodeHex(byte[] digits, int off, int len) {
+
+        return HexCodec.decodeChecked(digits, off, len);
+    }
+
     /**
      * Convert input array to string, replace STX(0x02) and ETX(0x03) chars
      * to special string ^B and ^C.
@@ -16,83 +16,264 @@
 
 package org.simplify4u.jfatek.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
+import org.simplify4u.jfatek.FatekException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Encoder of Fatek message.
+ * <p>
+ * Message is built directly as ASCII bytes in internal buffer, which is reused for next messages,
+ * CRC is updated during writing.
+ *
  * @author Slawomir Jaranowski.
  */
 public class FatekWriter {
 
     private static final Logger LOG = LoggerFactory.getLogger(FatekWriter.class);
 
-    private final OutputStream output;
-    private final ByteArrayOutputStream outputBuf;
+    private static final byte STX = 0x02;
+    private static final byte ETX = 0x03;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private OutputStream output;
+    private ByteBuffer buffer;
+    private int crc;
+
+    // message contains whole prepared frame with CRC and ETX
+    private boolean prepared;
 
     FatekWriter(OutputStream output) {
 
+        this.buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        start(output);
+    }
+
+    /**
+     * Prepare writer for next message.
+     *
+     * @param output stream where message will be written by flush
+     */
+    void start(OutputStream output) {
+
         this.output = output;
-        this.outputBuf = new ByteArrayOutputStream();
-        this.outputBuf.write(0x02);
+        buffer.clear();
+        crc = 0;
+        prepared = false;
+        put(STX);
     }
 
-    public void write(String string) throws FatekIOException {
+    /**
+     * Encode whole request message of transaction.
+     *
+     * @param transaction transaction which writes request
+     * @return frame from STX to ETX, which can be sent many times by {@link #writeFrame(byte[])}
+     * @throws FatekIOException if problem with writing
+     * @throws FatekException   if another problem
+     */
+    public static byte[] prepareFrame(FatekTransaction transaction) throws FatekException, FatekIOException {
 
-        try {
-            outputBuf.write(string.getBytes(StandardCharsets.US_ASCII));
-        } catch (IOException e) {
-            throw new FatekIOException(e);
+        FatekWriter writer = new FatekWriter(null);
+        transaction.writeRequest(writer);
+        ByteBuffer frame = writer.finish();
+        return Arrays.copyOf(frame.array(), frame.limit());
+    }
+
+    /**
+     * Use prepared frame as whole message, nothing else can be written to message.
+     *
+     * @param frame frame from STX to ETX returned by {@link #prepareFrame(FatekTransaction)}
+     */
+    public void writeFrame(byte[] frame) {
+
+        if (prepared || buffer.position() != 1) {
+            throw new IllegalStateException("Message already started");
         }
+        buffer.clear();
+        ensureCapacity(frame.length);
+        buffer.put(frame);
+        prepared = true;
     }
 
-    public void write(Boolean bool) throws FatekIOException {
+    /**
+     * Discard data written to current message, so message can be written again from start.
+     */
+    public void discard() {
+
+        start(output);
+    }
+
+    public void write(String string) throws FatekIOException {
+
+        int len = string.length();
+        ensureCapacity(len);
+        for (int i = 0; i < len; i++) {
+            put((byte) string.charAt(i));
+        }
+    }
 
-        if (bool == null) {
-            write("0");
-        } else {
+    /**
+     * Write ASCII bytes.
+     *
+     * @param bytes buffer with ASCII chars
+     * @param off   start offset in buffer
+     * @param len   number of bytes to write
+     */
+    public void write(byte[] bytes, int off, int len) {
 
-            if (bool) {
-                write("1");
-            } else {
-                write("0");
-            }
+        ensureCapacity(len);
+        buffer.put(bytes, off, len);
+        for (int i = off; i < off + len; i++) {
+            crc += bytes[i] & 0xff;
         }
     }
 
+    public void write(Boolean bool) throws FatekIOException {
+
+        ensureCapacity(1);
+        put(bool != null && bool ? (byte) '1' : (byte) '0');
+    }
 
     public void writeByte(int val) throws FatekIOException {
 
-        write(String.format("%02X", val & 0xff));
+        ensureCapacity(2);
+        putHex(val, 2);
     }
 
     public void writeNibble(int val) throws FatekIOException {
 
-        write(String.format("%X", val & 0x0f));
+        ensureCapacity(1);
+        putHex(val, 1);
     }
 
-    public void flush() throws FatekIOException {
+    /**
+     * Write 16 bits value as 4 hex digits.
+     *
+     * @param val value to write
+     */
+    public void writeInt16(long val) {
 
-        try {
-            byte[] bytes = outputBuf.toByteArray();
-            write(String.format("%02X", FatekUtils.countCRC(bytes)));
-            outputBuf.write(0x03);
+        ensureCapacity(4);
+        putHex((int) val, 4);
+    }
 
-            outputBuf.writeTo(output);
-            output.flush();
+    /**
+     * Write 32 bits value as 8 hex digits.
+     *
+     * @param val value to write
+     */
+    public void writeInt32(long val) {
+
+        ensureCapacity(8);
+        putHex((int) val, 8);
+    }
+
+    /**
+     * Write run of 16 bits values.
+     *
+     * @param values values to write
+     * @param off    offset of first value
+     * @param count  number of values
+     */
+    public void writeInt16(long[] values, int off, int count) {
 
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("write:\n\t-> {}", FatekUtils.byteArrayToString(outputBuf.toByteArray()));
-            }
+        ensureCapacity(count * 4);
+        int i = off;
+        // two values in one step
+        for (; i + 1 < off + count; i += 2) {
+            putLong(HexCodec.encode8((values[i] & 0xFFFFL) << 16 | values[i + 1] & 0xFFFFL));
+        }
+        if (i < off + count) {
+            putHex((int) values[i], 4);
+        }
+    }
+
+    /**
+     * Write run of 32 bits values.
+     *
+     * @param values values to write
+     * @param off    offset of first value
+     * @param count  number of values
+     */
+    public void writeInt32(long[] values, int off, int count) {
+
+        ensureCapacity(count * 8);
+        for (int i = off; i < off + count; i++) {
+            putLong(HexCodec.encode8(values[i]));
+        }
+    }
+
+    public void flush() throws FatekIOException {
 
-            outputBuf.reset();
+        ByteBuffer frame = finish();
 
+        try {
+            output.write(frame.array(), frame.arrayOffset(), frame.limit());
+            output.flush();
         } catch (IOException e) {
             throw new FatekIOException(e);
+        } finally {
+            start(output);
+        }
+    }
+
+    /**
+     * Complete message by CRC and ETX.
+     * Returned buffer is valid until writer is started for next message.
+     *
+     * @return buffer with whole message ready to send
+     */
+    ByteBuffer finish() {
+
+        if (!prepared) {
+            // place for CRC and ETX is always reserved by ensureCapacity
+            putHex(crc, 2);
+            buffer.put(ETX);
+        }
+        buffer.flip();
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("write:\n\t-> {}",
+                    FatekUtils.byteArrayToString(Arrays.copyOf(buffer.array(), buffer.limit())));
+        }
+        return buffer;
+    }
+
+    // private methods
+
+    private void put(byte b) {
+
+        buffer.put(b);
+        crc += b & 0xff;
+    }
+
+    private void putLong(long chars) {
+
+        buffer.putLong(chars);
+        crc += HexCodec.byteSum(chars);
+    }
+
+    private void putHex(int val, int digits) {
+
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            put(HexCodec.HEX_DIGITS[(val >>> shift) & 0x0f]);
+        }
+    }
+
+    private void ensureCapacity(int len) {
+
+        // place for CRC and ETX must be always available
+        if (buffer.remaining() < len + 3) {
+            ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + len + 3));
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
         }
     }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.simplify4u.jfatek.FatekException;
+
+/**
+ * Conversion between ASCII hex digits and values.
+ * <p>
+ * Single digits are converted by lookup tables, runs of values are converted
+ * eight digits at once as bytes packed in long (SWAR).
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class HexCodec {
+
+    static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+
+    private static final byte[] HEX_VALUES = new byte[256];
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexCodec() {
+        // only static methods
+    }
+
+    /**
+     * Value of one hex digit.
+     *
+     * @param b ASCII char
+     * @return digit value or -1 if char is not hex digit
+     */
+    static int digitValue(byte b) {
+
+        return HEX_VALUES[b & 0xff];
+    }
+
+    /**
+     * Decode eight hex digits packed in long, first digit in most significant byte.
+     *
+     * @param chars ASCII chars
+     * @return 32 bits unsigned value or -1 if some char is not hex digit
+     */
+    static long decode8(long chars) {
+
+        if (!isHexDigits(chars)) {
+            return -1;
+        }
+
+        // letters have 0x40 bit set, value of letter is low nibble + 9
+        long letters = (chars & 0x4040404040404040L) >>> 6;
+        long x = (chars & LOW_NIBBLES) + letters * 9;
+
+        // join nibbles from neighbouring bytes
+        x = (x | (x >>> 4)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (x | (x >>> 16)) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Encode 32 bits value as eight upper case hex digits packed in long,
+     * first digit in most significant byte.
+     *
+     * @param value value to encode
+     * @return ASCII chars
+     */
+    static long encode8(long value) {
+
+        // spread each nibble to own byte
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & LOW_NIBBLES;
+
+        // nibble + 6 has 0x10 bit set for values from 10 - they are letters
+        long letters = ((x + ONES * 6) & (ONES * 0x10)) >>> 4;
+        return x + ONES * '0' + letters * ('A' - '0' - 10);
+    }
+
+    /**
+     * Sum of all bytes packed in long - used for CRC counting.
+     *
+     * @param chars ASCII chars
+     * @return sum of bytes
+     */
+    static int byteSum(long chars) {
+
+        long x = (chars & 0x00FF00FF00FF00FFL) + ((chars >>> 8) & 0x00FF00FF00FF00FFL);
+        return (int) ((x * 0x0001000100010001L) >>> 48);
+    }
+
+    /**
+     * Decode run of four digits fields.
+     *
+     * @param src    buffer with hex digits
+     * @param off    offset of first digit
+     * @param dst    destination for values
+     * @param dstOff destination offset
+     * @param count  number of values
+     * @throws FatekException if some char is not hex digit
+     */
+    static void decodeInt16(byte[] src, int off, long[] dst, int dstOff, int count) throws FatekException {
+
+        ByteBuffer srcBuf = ByteBuffer.wrap(src);
+        int pos = off;
+        int i = 0;
+
+        // two values in one step
+        for (; i + 1 < count; i += 2) {
+            long v = decode8(srcBuf.getLong(pos));
+            if (v < 0) {
+                throw invalidDigit(src, pos, 8);
+            }
+            dst[dstOff + i] = v >>> 16;
+            dst[dstOff + i + 1] = v & 0xFFFFL;
+            pos += 8;
+        }
+
+        if (i < count) {
+            dst[dstOff + i] = decodeScalar(src, pos, 4);
+        }
+    }
+
+    /**
+     * Decode run of eight digits fields.
+     *
+     * @param src    buffer with hex digits
+     * @param off    offset of first digit
+     * @param dst    destination for values
+     * @param dstOff destination offset
+     * @param count  number of values
+     * @throws FatekException if some char is not hex digit
+     */
+    static void decodeInt32(byte[] src, int off, long[] dst, int dstOff, int count) throws FatekException {
+
+        ByteBuffer srcBuf = ByteBuffer.wrap(src);
+        int pos = off;
+
+        for (int i = 0; i < count; i++) {
+            long v = decode8(srcBuf.getLong(pos));
+            if (v < 0) {
+                throw invalidDigit(src, pos, 8);
+            }
+            dst[dstOff + i] = v;
+            pos += 8;
+        }
+    }
+
+    /**
+     * Decode hex digits one by one.
+     *
+     * @param src buffer with hex digits
+     * @param off offset of first digit
+     * @param len number of digits, max 15
+     * @return decoded value
+     * @throws FatekException if some char is not hex digit
+     */
+    static long decodeScalar(byte[] src, int off, int len) throws FatekException {
+
+        long ret = 0;
+        for (int i = off; i < off + len; i++) {
+            int v = HEX_VALUES[src[i] & 0xff];
+            if (v < 0) {
+                throw invalidDigit(src, i, 1);
+            }
+            ret = ret << 4 | v;
+        }
+        return ret;
+    }
+
+    /**
+     * Check that all chars are hex digits.
+     *
+     * @param src buffer with hex digits
+     * @param off offset of first digit
+     * @param len number of digits
+     * @throws FatekException if some char is not hex digit
+     */
+    static void checkDigits(byte[] src, int off, int len) throws FatekException {
+
+        ByteBuffer srcBuf = ByteBuffer.wrap(src);
+        int pos = off;
+        int end = off + len;
+
+        // eight digits in one step
+        for (; pos + 8 <= end; pos += 8) {
+            if (!isHexDigits(srcBuf.getLong(pos))) {
+                throw invalidDigit(src, pos, 8);
+            }
+        }
+
+        for (; pos < end; pos++) {
+            if (HEX_VALUES[src[pos] & 0xff] < 0) {
+                throw invalidDigit(src, pos, 1);
+            }
+        }
+    }
+
+    /**
+     * Decode hex digits which are already checked.
+     *
+     * @param src buffer with hex digits
+     * @param off offset of first digit
+     * @param len number of digits, max 15
+     * @return decoded value, not defined if some char is not hex digit
+     */
+    static long decodeChecked(byte[] src, int off, int len) {
+
+        long ret = 0;
+        for (int i = off; i < off + len; i++) {
+            ret = ret << 4 | HEX_VALUES[src[i] & 0xff];
+        }
+        return ret;
+    }
+
+    private static boolean isHexDigits(long x) {
+
+        // all chars must be ASCII, so we can check ranges without carry between bytes
+        if ((x & HIGH_BITS) != 0) {
+            return false;
+        }
+
+        return (inRange(x, '0', '9') | inRange(x, 'A', 'F') | inRange(x, 'a', 'f')) == HIGH_BITS;
+    }
+
+    /**
+     * Check range of each byte, high bit of byte is set when byte is in range.
+     */
+    private static long inRange(long x, int lo, int hi) {
+
+        return (x + ONES * (0x80 - lo)) & ~(x + ONES * (0x7F - hi)) & HIGH_BITS;
+    }
+
+    private static FatekException invalidDigit(byte[] src, int off, int len) {
+
+        for (int i = off; i < off + len; i++) {
+            if (HEX_VALUES[src[i] & 0xff] < 0) {
+                return new FatekException("Invalid hex digit: 0x%02X", src[i] & 0xff);
+            }
+        }
+        return new FatekException("Invalid hex digit");
+    }
+}
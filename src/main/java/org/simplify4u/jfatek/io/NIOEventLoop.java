@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread which serves many non blocking channels by one selector.
+ * <p>
+ * Loops are shared by all NIO connections, number of loops can be set by
+ * system property <code>jfatek.nio.threads</code>, default is number of processors but no more than 4.
+ * <p>
+ * When selector fails, all registered channels are failed and loop continues with new selector,
+ * so closed connections can be open again.
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class NIOEventLoop implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NIOEventLoop.class);
+
+    private static final int LOOPS_COUNT = Integer.getInteger("jfatek.nio.threads",
+            Math.min(Runtime.getRuntime().availableProcessors(), 4));
+
+    private static final NIOEventLoop[] LOOPS = new NIOEventLoop[Math.max(1, LOOPS_COUNT)];
+    private static final AtomicInteger NEXT_LOOP = new AtomicInteger();
+
+    // pause before next try when new selector can not be open
+    private static final long REOPEN_DELAY_MILLIS = 1000;
+
+    /**
+     * Handler of events for registered channel.
+     */
+    interface Handler {
+
+        /**
+         * Called by loop thread when channel is ready for selected operations.
+         *
+         * @param key selection key of channel
+         */
+        void handle(SelectionKey key);
+
+        /**
+         * Called by loop thread when selector failed, channel is not registered any more.
+         *
+         * @param e cause of failure
+         */
+        void failed(IOException e);
+    }
+
+    /**
+     * Task scheduled in loop thread.
+     */
+    static final class Timer implements Comparable<Timer> {
+
+        private final long deadline;
+        private final long seq;
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        private Timer(long deadline, long seq, Runnable task) {
+            this.deadline = deadline;
+            this.seq = seq;
+            this.task = task;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public int compareTo(Timer o) {
+            int ret = Long.compare(deadline, o.deadline);
+            return ret != 0 ? ret : Long.compare(seq, o.seq);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(seq);
+        }
+    }
+
+    // replaced only by loop thread when selector fails
+    private volatile Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    // used only by loop thread
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private long timerSeq;
+
+    private NIOEventLoop(int index) throws IOException {
+
+        selector = Selector.open();
+        thread = new Thread(this, "jfatek-nio-" + index);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Choose next shared loop.
+     *
+     * @return event loop
+     * @throws IOException if loop can not be started
+     */
+    static NIOEventLoop next() throws IOException {
+
+        int index = Math.floorMod(NEXT_LOOP.getAndIncrement(), LOOPS.length);
+        synchronized (LOOPS) {
+            if (LOOPS[index] == null) {
+                LOOPS[index] = new NIOEventLoop(index);
+            }
+            return LOOPS[index];
+        }
+    }
+
+    boolean inEventLoop() {
+
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Run task in loop thread.
+     *
+     * @param task task to run
+     */
+    void execute(Runnable task) {
+
+        tasks.add(task);
+        if (!inEventLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Schedule task in loop thread. Must be called by loop thread.
+     *
+     * @param task        task to run
+     * @param delayMillis delay in milliseconds
+     * @return timer which can be cancelled
+     */
+    Timer schedule(Runnable task, long delayMillis) {
+
+        Timer timer = new Timer(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis), timerSeq++, task);
+        timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * Register channel in selector. Must be called by loop thread.
+     *
+     * @param channel non blocking channel
+     * @param ops     interested operations
+     * @param handler handler of channel events
+     * @return selection key
+     * @throws ClosedChannelException if channel is closed
+     */
+    SelectionKey register(SelectableChannel channel, int ops, Handler handler) throws ClosedChannelException {
+
+        return channel.register(selector, ops, handler);
+    }
+
+    /**
+     * Fail all channels registered in broken selector and open new one. Must be called by loop thread.
+     *
+     * @param cause cause of selector failure
+     */
+    void resetSelector(IOException cause) {
+
+        Selector broken = selector;
+        if (broken.isOpen()) {
+            for (SelectionKey key : broken.keys()) {
+                try {
+                    ((Handler) key.attachment()).failed(cause);
+                } catch (RuntimeException e) {
+                    LOG.error("Unexpected error in channel handler", e);
+                }
+            }
+            try {
+                broken.close();
+            } catch (IOException e) {
+                LOG.debug("Error during closing selector", e);
+            }
+        }
+
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            LOG.error("Can not open new selector for event loop", e);
+            try {
+                Thread.sleep(REOPEN_DELAY_MILLIS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long timeout = runTimers();
+                if (tasks.isEmpty()) {
+                    selector.select(timeout);
+                } else {
+                    selector.selectNow();
+                }
+                processSelectedKeys();
+                runTasks();
+            } catch (IOException e) {
+                LOG.error("Selector of event loop failed, registered channels are closed", e);
+                resetSelector(e);
+            } catch (ClosedSelectorException e) {
+                resetSelector(new IOException("Selector closed", e));
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error in event loop", e);
+            }
+        }
+    }
+
+    // private methods
+
+    private void processSelectedKeys() {
+
+        for (SelectionKey key : selector.selectedKeys()) {
+            if (key.isValid()) {
+                try {
+                    ((Handler) key.attachment()).handle(key);
+                } catch (RuntimeException e) {
+                    LOG.error("Unexpected error in channel handler", e);
+                }
+            }
+        }
+        selector.selectedKeys().clear();
+    }
+
+    private void runTasks() {
+
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error in event loop task", e);
+            }
+        }
+    }
+
+    /**
+     * Run expired timers.
+     *
+     * @return time in milliseconds to next timer, 0 if there are no timers
+     */
+    private long runTimers() {
+
+        Timer timer;
+        while ((timer = timers.peek()) != null) {
+
+            long delay = timer.deadline - System.nanoTime();
+            if (!timer.cancelled && delay > 0) {
+                // round up, select(0) wait forever
+                return TimeUnit.NANOSECONDS.toMillis(delay + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+            }
+
+            timers.poll();
+            if (!timer.cancelled) {
+                try {
+                    timer.task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Unexpected error in timer task", e);
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.simplify4u.jfatek.FatekException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TCP connection served by shared NIO event loop.
+ * <p>
+ * Transactions are queued, requests are written and responses are decoded by event loop thread,
+ * so no thread waits for response.
+ * <p>
+ * By default one request is sent at once. With URI parameter <code>pipeline=N</code> up to N requests
+ * of different transactions can wait for response, responses are matched to requests in order of sending
+ * and checked by PLC station ID and command ID. When response does not match, connection falls back
+ * to one request at once.
+ *
+ * @author Slawomir Jaranowski.
+ */
+class NIOTCPConnection extends FatekConnection implements NIOEventLoop.Handler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NIOTCPConnection.class);
+
+    private static final int DEFAULT_PORT = 500;
+    private static final String PIPELINE_PARAM = "pipeline";
+    private static final int OUT_BUFFER_SIZE = 1024;
+
+    /**
+     * Transaction waiting for execution.
+     */
+    private static final class Request {
+
+        private final FatekTransaction transaction;
+        private final CompletableFuture<Void> future;
+        private final Runnable finished;
+
+        private Request(FatekTransaction transaction, CompletableFuture<Void> future, Runnable finished) {
+            this.transaction = transaction;
+            this.future = future;
+            this.finished = finished;
+        }
+
+        /**
+         * Transaction is not executed any more.
+         *
+         * @param e error of transaction, null on success
+         */
+        private void done(Exception e) {
+            finished.run();
+            complete(future, e);
+        }
+
+        private boolean canBePipelined() {
+            return transaction.getPlcId() >= 0 && transaction.getCommandId() >= 0;
+        }
+    }
+
+    private final NIOEventLoop eventLoop;
+    private final SocketChannel channel;
+    private final Consumer<Boolean> connectionStateListener;
+
+    // fields used only by event loop thread
+    private final Queue<Request> requests = new ArrayDeque<>();
+    // requests which wait for response in order of sending
+    private final Queue<Request> outstanding = new ArrayDeque<>();
+    private final FatekWriter writer = new FatekWriter(null);
+    private final FatekFrameDecoder decoder = new FatekFrameDecoder();
+    private final FatekReader reader = new FatekReader(decoder);
+    private int window;
+    private SelectionKey key;
+    private ByteBuffer outBuffer = ByteBuffer.allocate(OUT_BUFFER_SIZE);
+    private ByteBuffer readBuffer;
+    private NIOEventLoop.Timer timeoutTimer;
+
+    private volatile boolean closed;
+
+    NIOTCPConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) throws IOException {
+
+        super(fatekConfig, connectionStateListener);
+        this.connectionStateListener = connectionStateListener;
+
+        window = fatekConfig.getParamAsInt(PIPELINE_PARAM).orElse(1);
+        if (window < 1) {
+            throw new FatekIOException("Invalid pipeline size: %d", window);
+        }
+
+        eventLoop = NIOEventLoop.next();
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.connect(getSocketAddress(DEFAULT_PORT));
+
+        eventLoop.execute(() -> {
+            try {
+                key = eventLoop.register(channel, SelectionKey.OP_CONNECT, this);
+                timeoutTimer = eventLoop.schedule(this::connectTimeout, getTimeout());
+            } catch (IOException e) {
+                failConnection(e);
+            }
+        });
+    }
+
+    @Override
+    protected void executeBlocking(FatekTransaction transaction) throws FatekIOException, FatekException {
+
+        if (eventLoop.inEventLoop()) {
+            throw new FatekException("Blocking execute can not be called by event loop thread");
+        }
+        executeQueued(transaction);
+    }
+
+    @Override
+    protected void enqueue(FatekTransaction transaction, CompletableFuture<Void> future, Runnable finished) {
+
+        Request request = new Request(transaction, future, finished);
+        if (closed) {
+            request.done(new FatekIOException("Connection closed"));
+        } else {
+            eventLoop.execute(() -> addRequest(request));
+        }
+    }
+
+    @Override
+    public void handle(SelectionKey selectionKey) {
+
+        try {
+            if (selectionKey.isConnectable()) {
+                finishConnect();
+            }
+            if (selectionKey.isValid() && selectionKey.isWritable()) {
+                writeRequests();
+            }
+            if (selectionKey.isValid() && selectionKey.isReadable()) {
+                readResponses();
+            }
+        } catch (IOException e) {
+            failConnection(e);
+        }
+    }
+
+    @Override
+    public void failed(IOException e) {
+        failConnection(e);
+    }
+
+    @Override
+    protected InputStream getInputStream() throws IOException {
+        throw new IOException("Stream access is not supported by NIO connection");
+    }
+
+    @Override
+    protected OutputStream getOutputStream() throws IOException {
+        throw new IOException("Stream access is not supported by NIO connection");
+    }
+
+    @Override
+    protected void closeConnection() throws IOException {
+
+        closed = true;
+        channel.close();
+        eventLoop.execute(() -> failAll(new FatekIOException("Connection closed")));
+    }
+
+    @Override
+    public boolean isConnected() {
+        return !closed && channel.isOpen();
+    }
+
+    // private methods, called only by event loop thread
+
+    private void addRequest(Request request) {
+
+        if (closed) {
+            request.done(new FatekIOException("Connection closed"));
+            return;
+        }
+
+        requests.add(request);
+        if (channel.isConnected()) {
+            startNext();
+        }
+    }
+
+    private void finishConnect() throws IOException {
+
+        channel.finishConnect();
+        cancelTimeout();
+        key.interestOps(SelectionKey.OP_READ);
+        LOG.trace("Connected: {}", channel);
+
+        if (connectionStateListener != null) {
+            connectionStateListener.accept(true);
+        }
+        startNext();
+    }
+
+    private void connectTimeout() {
+
+        if (!channel.isConnected()) {
+            failConnection(new SocketTimeoutException("Connect timed out"));
+        }
+    }
+
+    /**
+     * Start waiting transactions while there is place in pipeline.
+     */
+    private void startNext() {
+
+        boolean started = false;
+        while (outstanding.size() < window && !requests.isEmpty()) {
+
+            Request request = requests.peek();
+            if (!outstanding.isEmpty() && !(request.canBePipelined() && outstanding.peek().canBePipelined())) {
+                // responses of this transaction can not be matched
+                break;
+            }
+
+            requests.poll();
+            if (request.future.isDone()) {
+                request.done(null);
+                continue;
+            }
+
+            if (outstanding.isEmpty()) {
+                // data which were received between transactions are not valid
+                decoder.reset();
+            }
+            started |= sendRequest(request);
+        }
+
+        if (started) {
+            flushRequests();
+        }
+    }
+
+    /**
+     * Append next request message of transaction to output buffer.
+     *
+     * @return true if request was written
+     */
+    private boolean sendRequest(Request request) {
+
+        ByteBuffer frame;
+        try {
+            writer.start(null);
+            request.transaction.writeRequest(writer);
+            frame = writer.finish();
+        } catch (FatekException | FatekIOException | RuntimeException e) {
+            request.done(e);
+            return false;
+        }
+
+        if (outBuffer.remaining() < frame.remaining()) {
+            ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(outBuffer.capacity() * 2,
+                    outBuffer.position() + frame.remaining()));
+            outBuffer.flip();
+            newBuffer.put(outBuffer);
+            outBuffer = newBuffer;
+        }
+        outBuffer.put(frame);
+
+        outstanding.add(request);
+        if (timeoutTimer == null) {
+            timeoutTimer = eventLoop.schedule(this::requestTimeout, getTimeout());
+        }
+        return true;
+    }
+
+    private void flushRequests() {
+
+        try {
+            writeRequests();
+        } catch (IOException e) {
+            failConnection(e);
+        }
+    }
+
+    private void writeRequests() throws IOException {
+
+        outBuffer.flip();
+        try {
+            channel.write(outBuffer);
+        } finally {
+            outBuffer.compact();
+        }
+
+        if (outBuffer.position() > 0) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void readResponses() throws IOException {
+
+        int len = decoder.prepareWrite();
+        byte[] array = decoder.array();
+        if (readBuffer == null || readBuffer.array() != array) {
+            readBuffer = ByteBuffer.wrap(array);
+        }
+        readBuffer.limit(decoder.writeOffset() + len).position(decoder.writeOffset());
+
+        int n = channel.read(readBuffer);
+        if (n < 0) {
+            throw new FatekUnexpectedEOSException();
+        }
+        decoder.commit(n);
+
+        if (outstanding.isEmpty()) {
+            // nobody waits for data
+            LOG.debug("Unexpected data received by {}", channel);
+            decoder.reset();
+            return;
+        }
+
+        boolean sent = false;
+        boolean frameReceived = false;
+        while (!outstanding.isEmpty()) {
+
+            Request request = outstanding.peek();
+            try {
+                if (!decoder.nextFrame()) {
+                    break;
+                }
+                frameReceived = true;
+            } catch (FatekException e) {
+                // broken frame is response for first request
+                outstanding.poll();
+                request.done(e);
+                continue;
+            }
+
+            outstanding.poll();
+            if (!isMatched(request)) {
+                mismatch(request);
+                break;
+            }
+
+            if (request.future.isDone()) {
+                request.done(null);
+                continue;
+            }
+
+            try {
+                reader.setMessage();
+                if (request.transaction.readResponse(reader) && !request.future.isDone()) {
+                    sent |= sendRequest(request);
+                } else {
+                    request.done(null);
+                }
+            } catch (FatekException | RuntimeException e) {
+                request.done(e);
+            }
+        }
+
+        // timeout is counted from last valid response, other received data do not extend it
+        if (outstanding.isEmpty() || frameReceived) {
+            cancelTimeout();
+        }
+        if (!outstanding.isEmpty() && timeoutTimer == null) {
+            timeoutTimer = eventLoop.schedule(this::requestTimeout, getTimeout());
+        }
+
+        if (sent) {
+            flushRequests();
+        }
+        startNext();
+    }
+
+    /**
+     * Check if PLC station ID and command ID of received frame are the same as in request.
+     */
+    private boolean isMatched(Request request) {
+
+        if (!request.canBePipelined()) {
+            return true;
+        }
+
+        byte[] buf = decoder.array();
+        int off = decoder.frameOffset();
+        return hexByte(buf, off + 1) == request.transaction.getPlcId()
+                && hexByte(buf, off + 3) == request.transaction.getCommandId();
+    }
+
+    private static int hexByte(byte[] buf, int off) {
+
+        return HexCodec.digitValue(buf[off]) << 4 | HexCodec.digitValue(buf[off + 1]);
+    }
+
+    /**
+     * Response does not belong to first request, so order of responses is lost.
+     * All waiting requests are failed and next requests are sent one by one.
+     */
+    private void mismatch(Request request) {
+
+        if (window > 1) {
+            LOG.warn("Response does not match request on {}, pipelining is disabled", channel);
+            window = 1;
+        }
+
+        FatekException e = new FatekException("Response does not match request");
+        request.done(e);
+        failOutstanding(e);
+        decoder.reset();
+    }
+
+    private void requestTimeout() {
+
+        timeoutTimer = null;
+        failOutstanding(new FatekException(new SocketTimeoutException("Read timed out")));
+        startNext();
+    }
+
+    private void failOutstanding(Exception e) {
+
+        Request request;
+        while ((request = outstanding.poll()) != null) {
+            request.done(e);
+        }
+
+        if (outBuffer.position() > 0 && !closed) {
+            // part of request frame could be already written, so next frames can not be sent on this stream
+            failConnection(new FatekIOException("Request was not fully written"));
+        }
+    }
+
+    private void cancelTimeout() {
+
+        if (timeoutTimer != null) {
+            timeoutTimer.cancel();
+            timeoutTimer = null;
+        }
+    }
+
+    private void failConnection(IOException e) {
+
+        boolean wasOpen = !closed;
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ce) {
+            LOG.debug("Error during closing channel", ce);
+        }
+
+        failAll(e instanceof FatekIOException ? (FatekIOException) e : new FatekIOException(e));
+
+        if (wasOpen && connectionStateListener != null) {
+            connectionStateListener.accept(false);
+        }
+    }
+
+    private void failAll(FatekIOException e) {
+
+        cancelTimeout();
+        failOutstanding(e);
+
+        Request request;
+        while ((request = requests.poll()) != null) {
+            request.done(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor which runs tasks one by one in order of submission on threads from shared pool.
+ * <p>
+ * Blocking connection needs thread only when it has some work, not for each request.
+ * Tasks can be run on platform threads or on virtual threads when they are supported by JVM.
+ * <p>
+ * When executor is idle, caller can run its task itself by {@link #tryAcquire()},
+ * so task is not handed off to other thread when there is no contention.
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class SerialExecutor implements Executor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SerialExecutor.class);
+
+    /**
+     * Pool of platform threads, created on first use.
+     */
+    private static final class PlatformThreads {
+
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        private static final ExecutorService POOL = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "jfatek-io-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Virtual thread per task executor, created on first use.
+     */
+    private static final class VirtualThreads {
+
+        private static final ExecutorService POOL = newVirtualThreadPerTaskExecutor();
+
+        private static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+            try {
+                // available from Java 21, library is built for Java 8
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // on Java 19 and 20 virtual threads are preview feature, which can be disabled
+                LOG.warn("Virtual threads are not supported by JVM, platform threads will be used");
+                return PlatformThreads.POOL;
+            }
+        }
+    }
+
+    private final ExecutorService pool;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Thread owner;
+
+    /**
+     * Create executor.
+     *
+     * @param virtualThreads if tasks should be run on virtual threads
+     */
+    SerialExecutor(boolean virtualThreads) {
+
+        pool = virtualThreads ? VirtualThreads.POOL : PlatformThreads.POOL;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        tasks.add(task);
+        if (running.compareAndSet(false, true)) {
+            pool.execute(this::runTasks);
+        }
+    }
+
+    /**
+     * Take executor for current thread, when executor is idle and there are no waiting tasks.
+     * Executor taken by this method must be returned by {@link #release()}.
+     *
+     * @return true if current thread can run its task
+     */
+    boolean tryAcquire() {
+
+        if (!tasks.isEmpty() || !running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        if (!tasks.isEmpty()) {
+            // task was added before executor was taken, it must be run first
+            pool.execute(this::runTasks);
+            return false;
+        }
+
+        owner = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * Return executor taken by {@link #tryAcquire()}, tasks added in the meantime are run by pool thread.
+     */
+    void release() {
+
+        owner = null;
+        running.set(false);
+        if (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+            pool.execute(this::runTasks);
+        }
+    }
+
+    /**
+     * Check if current thread runs tasks of this executor.
+     *
+     * @return true if called by task
+     */
+    boolean inWorker() {
+
+        return owner == Thread.currentThread();
+    }
+
+    // private methods
+
+    private void runTasks() {
+
+        owner = Thread.currentThread();
+        while (true) {
+            Runnable task = tasks.poll();
+            if (task == null) {
+                owner = null;
+                running.set(false);
+                // task could be added after poll, but before running was cleared
+                if (tasks.isEmpty() || !running.compareAndSet(false, true)) {
+                    return;
+                }
+                owner = Thread.currentThread();
+                continue;
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error in connection task", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.simplify4u.jfatek.FatekException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Datagram channel shared by all UDP connections served by one event loop.
+ * <p>
+ * Received datagrams are dispatched to connections by sender address, connection decides
+ * if datagram is response for its request. Buffers and decoder are reused for all datagrams.
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class UDPChannel implements NIOEventLoop.Handler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UDPChannel.class);
+
+    private static final int MAX_DATAGRAM_SIZE = FatekFrameDecoder.MAX_FRAME_LENGTH;
+
+    private static final Map<NIOEventLoop, UDPChannel> CHANNELS = new ConcurrentHashMap<>();
+
+    /**
+     * Receiver of datagrams from one remote address.
+     */
+    interface Receiver {
+
+        /**
+         * Offer received frame to connection.
+         *
+         * @param decoder decoder with received frame
+         * @param reader  reader ready to read received frame
+         * @return true if frame was consumed by connection
+         */
+        boolean receive(FatekFrameDecoder decoder, FatekReader reader);
+
+        /**
+         * Channel failed, no more datagrams will be received.
+         *
+         * @param e cause of failure
+         */
+        void failed(IOException e);
+    }
+
+    private final NIOEventLoop eventLoop;
+    private final DatagramChannel channel;
+
+    // fields used only by event loop thread
+    private final Map<SocketAddress, List<Receiver>> receivers = new HashMap<>();
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+    private final FatekFrameDecoder decoder = new FatekFrameDecoder();
+    private final FatekReader reader = new FatekReader(decoder);
+
+    private UDPChannel(NIOEventLoop eventLoop) {
+
+        this.eventLoop = eventLoop;
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.bind(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        eventLoop.execute(() -> {
+            try {
+                eventLoop.register(channel, SelectionKey.OP_READ, this);
+            } catch (IOException e) {
+                LOG.error("Can not register UDP channel", e);
+            }
+        });
+    }
+
+    /**
+     * Channel shared by connections of given event loop.
+     *
+     * @param eventLoop event loop
+     * @return UDP channel
+     * @throws IOException if channel can not be open
+     */
+    static UDPChannel forEventLoop(NIOEventLoop eventLoop) throws IOException {
+
+        try {
+            return CHANNELS.computeIfAbsent(eventLoop, UDPChannel::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Add receiver of datagrams from remote address. Must be called by loop thread.
+     *
+     * @param address  remote address
+     * @param receiver receiver
+     */
+    void addReceiver(SocketAddress address, Receiver receiver) {
+
+        receivers.computeIfAbsent(address, a -> new ArrayList<>(1)).add(receiver);
+    }
+
+    /**
+     * Remove receiver of datagrams. Must be called by loop thread.
+     *
+     * @param address  remote address
+     * @param receiver receiver
+     */
+    void removeReceiver(SocketAddress address, Receiver receiver) {
+
+        List<Receiver> list = receivers.get(address);
+        if (list != null) {
+            list.remove(receiver);
+            if (list.isEmpty()) {
+                receivers.remove(address);
+            }
+        }
+    }
+
+    /**
+     * Send datagram. Must be called by loop thread.
+     *
+     * @param address remote address
+     * @param data    datagram content, buffer is not modified
+     * @throws IOException if datagram can not be sent
+     */
+    void send(SocketAddress address, ByteBuffer data) throws IOException {
+
+        sendBuffer.clear();
+        sendBuffer.put(data.duplicate());
+        sendBuffer.flip();
+        if (channel.send(sendBuffer, address) == 0) {
+            // no place in system buffer - datagram is lost, it will be sent again after timeout
+            LOG.debug("Datagram to {} was not sent", address);
+        }
+    }
+
+    @Override
+    public void failed(IOException e) {
+
+        // next connections will use new channel
+        CHANNELS.remove(eventLoop, this);
+        try {
+            channel.close();
+        } catch (IOException ce) {
+            LOG.debug("Error during closing UDP channel", ce);
+        }
+
+        List<Receiver> all = new ArrayList<>();
+        receivers.values().forEach(all::addAll);
+        receivers.clear();
+        for (Receiver receiver : all) {
+            receiver.failed(e);
+        }
+    }
+
+    @Override
+    public void handle(SelectionKey key) {
+
+        try {
+            SocketAddress address;
+            receiveBuffer.clear();
+            while ((address = channel.receive(receiveBuffer)) != null) {
+                receiveBuffer.flip();
+                dispatch(address);
+                receiveBuffer.clear();
+            }
+        } catch (IOException e) {
+            // eg. ICMP port unreachable, connections will retry after timeout
+            LOG.debug("Error during receiving datagram", e);
+        }
+    }
+
+    // private methods
+
+    private void dispatch(SocketAddress address) {
+
+        List<Receiver> list = receivers.get(address);
+        if (list == null) {
+            LOG.debug("Datagram from unknown address {} discarded", address);
+            return;
+        }
+
+        decoder.reset();
+        decoder.feed(receiveBuffer);
+        try {
+            if (!decoder.nextFrame()) {
+                LOG.debug("Datagram from {} without complete frame discarded", address);
+                return;
+            }
+        } catch (FatekException e) {
+            LOG.debug("Datagram from {} with invalid frame discarded: {}", address, e.getMessage());
+            return;
+        }
+
+        for (Receiver receiver : list) {
+            if (receiver.receive(decoder, reader)) {
+                return;
+            }
+        }
+        LOG.debug("Stale datagram from {} discarded", address);
+    }
+}
@@ -15,61 +15,410 @@
  */
 package org.simplify4u.jfatek.io;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
-class UDPConnection extends FatekConnection {
+import org.simplify4u.jfatek.FatekException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * UDP connection served by shared NIO event loop.
+ * <p>
+ * One datagram channel of event loop serves all UDP connections. Responses are matched to requests
+ * by PLC address, station ID and command ID, so only one connection to PLC address can be open
+ * and connection pool is not supported.
+ * <p>
+ * When response is not received in time request can be sent again, number of retries can be set
+ * by URI parameter <code>retries</code>, by default request is not retransmitted.
+ * Retransmitted write command can be executed twice by PLC.
+ * <p>
+ * Response can not be bound to transmission of request, so after response for retransmitted request
+ * is received, next request is delayed by timeout. Copies of received response, which can be sent by PLC
+ * for each transmission, are discarded in this time.
+ *
+ * @author Slawomir Jaranowski.
+ */
+class UDPConnection extends FatekConnection implements UDPChannel.Receiver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UDPConnection.class);
 
     public static final int DEFAULT_PORT = 500;
 
-    private final DatagramSocket socket;
+    private static final String RETRIES_PARAM = "retries";
+    private static final int DEFAULT_RETRIES = 0;
+
+    /**
+     * Transaction waiting for execution.
+     */
+    private static final class Request {
+
+        private final FatekTransaction transaction;
+        private final CompletableFuture<Void> future;
+        private final Runnable finished;
+
+        private Request(FatekTransaction transaction, CompletableFuture<Void> future, Runnable finished) {
+            this.transaction = transaction;
+            this.future = future;
+            this.finished = finished;
+        }
+
+        /**
+         * Transaction is not executed any more.
+         *
+         * @param e error of transaction, null on success
+         */
+        private void done(Exception e) {
+            finished.run();
+            complete(future, e);
+        }
+    }
+
+    private final NIOEventLoop eventLoop;
+    private final UDPChannel udpChannel;
+    private final InetSocketAddress address;
+    private final int retries;
+    private final Consumer<Boolean> connectionStateListener;
+
+    // fields used only by event loop thread
+    private final Queue<Request> requests = new ArrayDeque<>();
+    private final FatekWriter writer = new FatekWriter(null);
+    private Request current;
+    private ByteBuffer requestFrame = ByteBuffer.allocate(256);
+    private int attempts;
+    private NIOEventLoop.Timer timeoutTimer;
+
+    // last accepted response, when request was retransmitted, the same response can be received again
+    private byte[] lastResponse = new byte[256];
+    private int lastResponseLength;
+    // next request is delayed and copies of last response are discarded
+    private boolean duplicatePossible;
+
+    private volatile boolean closed;
 
     UDPConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) throws IOException {
 
         super(fatekConfig, connectionStateListener);
-        socket = new DatagramSocket();
-        socket.setSoTimeout(fatekConfig.getTimeout());
+        this.connectionStateListener = connectionStateListener;
+
+        retries = fatekConfig.getParamAsInt(RETRIES_PARAM).orElse(DEFAULT_RETRIES);
+        if (retries < 0) {
+            throw new FatekIOException("Invalid retries number: %d", retries);
+        }
+
+        if (fatekConfig.getParamAsInt(FatekConnectionManager.POOL_PARAM).orElse(1) > 1) {
+            throw new FatekIOException("Connection pool is not supported by UDP connection");
+        }
+
+        // address is resolved only once
+        address = (InetSocketAddress) getSocketAddress(DEFAULT_PORT);
+        if (address.isUnresolved()) {
+            throw new FatekIOException("Unknown host: %s", address.getHostString());
+        }
+
+        eventLoop = NIOEventLoop.next();
+        udpChannel = UDPChannel.forEventLoop(eventLoop);
+        eventLoop.execute(() -> udpChannel.addReceiver(address, this));
+
         if (connectionStateListener != null) {
             connectionStateListener.accept(true);
         }
     }
 
     @Override
-    protected InputStream getInputStream() throws IOException {
+    protected void executeBlocking(FatekTransaction transaction) throws FatekIOException, FatekException {
 
-        byte[] buf = new byte[512];
-        DatagramPacket packet = new DatagramPacket(buf, buf.length);
-        socket.receive(packet);
-        return new ByteArrayInputStream(packet.getData());
+        if (eventLoop.inEventLoop()) {
+            throw new FatekException("Blocking execute can not be called by event loop thread");
+        }
+        executeQueued(transaction);
     }
 
     @Override
-    protected OutputStream getOutputStream() throws IOException {
+    protected void enqueue(FatekTransaction transaction, CompletableFuture<Void> future, Runnable finished) {
+
+        Request request = new Request(transaction, future, finished);
+        if (closed) {
+            request.done(new FatekIOException("Connection closed"));
+        } else {
+            eventLoop.execute(() -> addRequest(request));
+        }
+    }
+
+    @Override
+    public boolean receive(FatekFrameDecoder decoder, FatekReader reader) {
 
-        return new ByteArrayOutputStream() {
-            @Override
-            public void flush() throws IOException {
+        if (duplicatePossible) {
+            return isDuplicate(decoder);
+        }
 
-                DatagramPacket packet = new DatagramPacket(toByteArray(), size(), getSocketAddress(DEFAULT_PORT));
-                socket.send(packet);
-                reset();
+        if (current == null || !isMatched(decoder)) {
+            return false;
+        }
+
+        cancelTimeout();
+        rememberResponse(decoder);
+
+        Request request = current;
+        if (request.future.isDone()) {
+            completeCurrent(null);
+            return true;
+        }
+
+        try {
+            reader.setMessage();
+            if (request.transaction.readResponse(reader) && !request.future.isDone()) {
+                nextMessage();
+            } else {
+                completeCurrent(null);
             }
-        };
+        } catch (FatekException | RuntimeException e) {
+            completeCurrent(e);
+        }
+        return true;
+    }
+
+    @Override
+    public void failed(IOException e) {
+
+        boolean wasOpen = !closed;
+        closed = true;
+        failAll(e instanceof FatekIOException ? (FatekIOException) e : new FatekIOException(e));
+
+        if (wasOpen && connectionStateListener != null) {
+            connectionStateListener.accept(false);
+        }
+    }
+
+    @Override
+    protected InputStream getInputStream() throws IOException {
+        throw new IOException("Stream access is not supported by UDP connection");
+    }
+
+    @Override
+    protected OutputStream getOutputStream() throws IOException {
+        throw new IOException("Stream access is not supported by UDP connection");
     }
 
     @Override
     protected void closeConnection() throws IOException {
-        socket.close();
+
+        closed = true;
+        eventLoop.execute(() -> {
+            udpChannel.removeReceiver(address, this);
+            failAll(new FatekIOException("Connection closed"));
+        });
     }
 
     @Override
     public boolean isConnected() {
-        return !socket.isClosed();
+        return !closed;
+    }
+
+    // private methods, called only by event loop thread
+
+    private void addRequest(Request request) {
+
+        if (closed) {
+            request.done(new FatekIOException("Connection closed"));
+            return;
+        }
+
+        requests.add(request);
+        startNext();
+    }
+
+    private void startNext() {
+
+        while (current == null && !duplicatePossible && !requests.isEmpty()) {
+            Request request = requests.poll();
+            if (request.future.isDone()) {
+                request.done(null);
+            } else {
+                current = request;
+                sendRequest();
+            }
+        }
+    }
+
+    private void sendRequest() {
+
+        attempts = 0;
+        duplicatePossible = false;
+        try {
+            writer.start(null);
+            current.transaction.writeRequest(writer);
+            ByteBuffer frame = writer.finish();
+
+            // keep copy of request for retransmission
+            if (requestFrame.capacity() < frame.remaining()) {
+                requestFrame = ByteBuffer.allocate(frame.remaining());
+            }
+            requestFrame.clear();
+            requestFrame.put(frame);
+            requestFrame.flip();
+        } catch (FatekException | FatekIOException | RuntimeException e) {
+            completeCurrent(e);
+            return;
+        }
+
+        transmit();
+    }
+
+    /**
+     * Send next message of current transaction, after retransmission it is delayed.
+     */
+    private void nextMessage() {
+
+        if (attempts > 0) {
+            startDrain();
+        } else {
+            sendRequest();
+        }
+    }
+
+    /**
+     * Wait for copies of response for retransmitted request, next request is sent after timeout.
+     */
+    private void startDrain() {
+
+        duplicatePossible = true;
+        timeoutTimer = eventLoop.schedule(this::drainFinished, getTimeout());
+    }
+
+    private void drainFinished() {
+
+        timeoutTimer = null;
+        duplicatePossible = false;
+        if (current != null) {
+            sendRequest();
+        } else {
+            startNext();
+        }
+    }
+
+    private void transmit() {
+
+        try {
+            udpChannel.send(address, requestFrame);
+        } catch (IOException e) {
+            completeCurrent(new FatekIOException(e));
+            return;
+        }
+        timeoutTimer = eventLoop.schedule(this::requestTimeout, getTimeout());
+    }
+
+    private void requestTimeout() {
+
+        timeoutTimer = null;
+        if (current == null) {
+            return;
+        }
+
+        if (attempts < retries && !current.future.isDone()) {
+            attempts++;
+            LOG.debug("No response from {}, retry {} of {}", address, attempts, retries);
+            transmit();
+        } else {
+            completeCurrent(new FatekException(new SocketTimeoutException("Receive timed out")));
+        }
+    }
+
+    /**
+     * Check if station ID and command ID of received frame are the same as in current request.
+     */
+    private boolean isMatched(FatekFrameDecoder decoder) {
+
+        FatekTransaction transaction = current.transaction;
+        if (transaction.getPlcId() < 0 || transaction.getCommandId() < 0) {
+            return true;
+        }
+
+        byte[] buf = decoder.array();
+        int off = decoder.frameOffset();
+        return hexByte(buf, off + 1) == transaction.getPlcId() && hexByte(buf, off + 3) == transaction.getCommandId();
+    }
+
+    private static int hexByte(byte[] buf, int off) {
+
+        return HexCodec.digitValue(buf[off]) << 4 | HexCodec.digitValue(buf[off + 1]);
+    }
+
+    /**
+     * Check if frame is copy of last response, which could be sent by PLC for retransmitted request.
+     */
+    private boolean isDuplicate(FatekFrameDecoder decoder) {
+
+        int off = decoder.frameOffset();
+        int len = decoder.frameLength();
+        byte[] buf = decoder.array();
+        if (len != lastResponseLength) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (buf[off + i] != lastResponse[i]) {
+                return false;
+            }
+        }
+        LOG.debug("Duplicated response from {} discarded", address);
+        return true;
+    }
+
+    private void rememberResponse(FatekFrameDecoder decoder) {
+
+        int len = decoder.frameLength();
+        if (lastResponse.length < len) {
+            lastResponse = Arrays.copyOf(lastResponse, len);
+        }
+        System.arraycopy(decoder.array(), decoder.frameOffset(), lastResponse, 0, len);
+        lastResponseLength = len;
+    }
+
+    private void completeCurrent(Exception e) {
+
+        cancelTimeout();
+        Request request = current;
+        current = null;
+
+        request.done(e);
+
+        if (attempts > 0) {
+            attempts = 0;
+            startDrain();
+        } else {
+            startNext();
+        }
+    }
+
+    private void cancelTimeout() {
+
+        if (timeoutTimer != null) {
+            timeoutTimer.cancel();
+            timeoutTimer = null;
+        }
+    }
+
+    private void failAll(FatekIOException e) {
+
+        cancelTimeout();
+        duplicatePossible = false;
+        if (current != null) {
+            current.done(e);
+            current = null;
+        }
+
+        Request request;
+        while ((request = requests.poll()) != null) {
+            request.done(e);
+        }
     }
 }
@@ -57,90 +57,90 @@ public class DataReg extends Reg {
     }
 
     public static DataReg WX(int address) {
-        return new DataReg(WX, address, false, 4);
+        return (DataReg) valueOf(WX, address);
     }
 
     public static DataReg WY(int address) {
-        return new DataReg(WY, address, false, 4);
+        return (DataReg) valueOf(WY, address);
     }
 
     public static DataReg WM(int address) {
-        return new DataReg(WM, address, false, 4);
+        return (DataReg) valueOf(WM, address);
     }
 
     public static DataReg WS(int address) {
-        return new DataReg(WS, address, false, 4);
+        return (DataReg) valueOf(WS, address);
     }
 
     public static DataReg WT(int address) {
-        return new DataReg(WT, address, false, 4);
+        return (DataReg) valueOf(WT, address);
     }
 
     public static DataReg WC(int address) {
-        return new DataReg(WC, address, false, 4);
+        return (DataReg) valueOf(WC, address);
     }
 
     public static DataReg RT(int address) {
-        return new DataReg(RT, address, false, 4);
+        return (DataReg) valueOf(RT, address);
     }
 
     public static DataReg RC(int address) {
-        return new DataReg(RC, address, false, 4);
+        return (DataReg) valueOf(RC, address);
     }
 
     public static DataReg R(int address) {
-        return new DataReg(R, address, false, 5);
+        return (DataReg) valueOf(R, address);
     }
 
     public static DataReg D(int address) {
-        return new DataReg(D, address, false, 5);
+        return (DataReg) valueOf(D, address);
     }
 
     public static DataReg F(int address) {
-        return new DataReg(F, address, false, 5);
+        return (DataReg) valueOf(F, address);
     }
 
     public static DataReg DWX(int address) {
-        return new DataReg(DWX, address, true, 4);
+        return (DataReg) valueOf(DWX, address);
     }
 
     public static DataReg DWY(int address) {
-        return new DataReg(DWY, address, true, 4);
+        return (DataReg) valueOf(DWY, address);
     }
 
     public static DataReg DWM(int address) {
-        return new DataReg(DWM, address, true, 4);
+        return (DataReg) valueOf(DWM, address);
     }
 
     public static DataReg DWS(int address) {
-        return new DataReg(DWS, address, true, 4);
+        return (DataReg) valueOf(DWS, address);
     }
 
     public static DataReg DWT(int address) {
-        return new DataReg(DWT, address, true, 4);
+        return (DataReg) valueOf(DWT, address);
     }
 
     public static DataReg DWC(int address) {
-        return new DataReg(DWC, address, true, 4);
+        return (DataReg) valueOf(DWC, address);
     }
 
     public static DataReg DRT(int address) {
-        return new DataReg(DRT, address, true, 4);
+        return (DataReg) valueOf(DRT, address);
     }
 
     public static DataReg DRC(int address) {
-        return new DataReg(DRC, address, true, 4);
+        return (DataReg) valueOf(DRC, address);
     }
 
     public static DataReg DR(int address) {
-        return new DataReg(DR, address, true, 5);
+        return (DataReg) valueOf(DR, address);
     }
 
     public static DataReg DD(int address) {
-        return new DataReg(DD, address, true, 5);
+        return (DataReg) valueOf(DD, address);
     }
 
     public static DataReg DF(int address) {
-        return new DataReg(DF, address, true, 5);
+        return (DataReg) valueOf(DF, address);
     }
 }
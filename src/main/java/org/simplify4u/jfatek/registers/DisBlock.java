@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Status of continuous discrete packed in array of words, one bit for each discrete.
+ * <p>
+ * Array can be supplied by caller, so block can be read many times without allocation.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class DisBlock {
+
+    private final DisReg startReg;
+    private final long[] words;
+    private final int number;
+
+    /**
+     * Block with new array for status.
+     *
+     * @param startReg first discrete of block
+     * @param number   number of discrete
+     */
+    public DisBlock(DisReg startReg, int number) {
+
+        this(startReg, new long[wordsFor(number)], number);
+    }
+
+    /**
+     * Block with status in given array, bit <code>i % 64</code> of word <code>i / 64</code> is discrete i.
+     *
+     * @param startReg first discrete of block
+     * @param words    array for status
+     * @param number   number of discrete
+     */
+    public DisBlock(DisReg startReg, long[] words, int number) {
+
+        if (number < 1) {
+            throw new IllegalArgumentException("Discrete number must be positive: " + number);
+        }
+        if (words.length < wordsFor(number)) {
+            throw new IllegalArgumentException("Array too short for discrete number: " + number);
+        }
+        this.startReg = startReg;
+        this.words = words;
+        this.number = number;
+    }
+
+    public DisReg getStartReg() {
+        return startReg;
+    }
+
+    public int size() {
+        return number;
+    }
+
+    /**
+     * Array with packed status of block, changes are visible in block.
+     *
+     * @return words array
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    public DisReg getReg(int index) {
+
+        return startReg.incAddress(index);
+    }
+
+    public boolean get(int index) {
+
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void set(int index, boolean value) {
+
+        checkIndex(index);
+        if (value) {
+            words[index >>> 6] |= 1L << index;
+        } else {
+            words[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Number of discrete which are ON.
+     *
+     * @return number of set bits
+     */
+    public int cardinality() {
+
+        int last = wordsFor(number) - 1;
+        int ret = 0;
+        for (int i = 0; i < last; i++) {
+            ret += Long.bitCount(words[i]);
+        }
+        // bits above block size are not counted
+        long lastMask = number % 64 == 0 ? -1L : (1L << number) - 1;
+        return ret + Long.bitCount(words[last] & lastMask);
+    }
+
+    /**
+     * Copy of status as new bit set.
+     *
+     * @return bit set
+     */
+    public BitSet toBitSet() {
+
+        BitSet bitSet = BitSet.valueOf(Arrays.copyOf(words, wordsFor(number)));
+        bitSet.clear(number, Math.max(number, bitSet.length()));
+        return bitSet;
+    }
+
+    // private methods
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= number) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + number);
+        }
+    }
+
+    private static int wordsFor(int number) {
+
+        return (number + 63) >>> 6;
+    }
+}
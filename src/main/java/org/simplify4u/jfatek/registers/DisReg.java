@@ -38,26 +38,26 @@ public class DisReg extends Reg {
     }
 
     public static DisReg X(int address) {
-        return new DisReg(X, address);
+        return (DisReg) valueOf(X, address);
     }
 
     public static DisReg Y(int address) {
-        return new DisReg(Y, address);
+        return (DisReg) valueOf(Y, address);
     }
 
     public static DisReg M(int address) {
-        return new DisReg(M, address);
+        return (DisReg) valueOf(M, address);
     }
 
     public static DisReg S(int address) {
-        return new DisReg(S, address);
+        return (DisReg) valueOf(S, address);
     }
 
     public static DisReg T(int address) {
-        return new DisReg(T, address);
+        return (DisReg) valueOf(T, address);
     }
 
     public static DisReg C(int address) {
-        return new DisReg(C, address);
+        return (DisReg) valueOf(C, address);
     }
 }
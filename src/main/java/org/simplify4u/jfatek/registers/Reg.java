@@ -16,13 +16,11 @@
 
 package org.simplify4u.jfatek.registers;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.simplify4u.jfatek.registers.RegName.C;
 import static org.simplify4u.jfatek.registers.RegName.D;
@@ -54,13 +52,18 @@ import static org.simplify4u.jfatek.registers.RegName.X;
 import static org.simplify4u.jfatek.registers.RegName.Y;
 
 import org.simplify4u.jfatek.FatekException;
+import org.simplify4u.jfatek.io.FatekWriter;
 
 /**
  * @author Slawomir Jaranowski.
  */
 public abstract class Reg implements Cloneable, Comparable<Reg> {
 
-    private static final Pattern REG_NAME_PATTERN = Pattern.compile("([A-Z]+)(\\d+)");
+    private static final int NAME_RADIX = 27;
+    private static final int MAX_NAME_LEN = 3;
+
+    // register names indexed by letters code calculated in parse
+    private static final RegName[] NAME_CODES = new RegName[NAME_RADIX * NAME_RADIX * NAME_RADIX];
 
     protected static final Map<RegName, RegDesc> REGS_DESC;
 
@@ -69,6 +72,9 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
     private final boolean a32bit;
     private final int digitCount;
 
+    // register name as send to PLC, eg. D00012
+    private final byte[] fatekBytes;
+
     static {
         Map<RegName, RegDesc> map = new EnumMap<>(RegName.class);
 
@@ -106,6 +112,14 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
         map.put(DF, RegDesc.DATA5_32B);
 
         REGS_DESC = Collections.unmodifiableMap(map);
+
+        for (RegName regName : map.keySet()) {
+            int nameCode = 0;
+            for (char c : regName.name().toCharArray()) {
+                nameCode = nameCode * NAME_RADIX + c - 'A' + 1;
+            }
+            NAME_CODES[nameCode] = regName;
+        }
     }
 
     static class RegDesc {
@@ -126,6 +140,14 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
             this.is32bit = is32bit;
             this.digitCount = digitCount;
         }
+
+        boolean isDiscrete() {
+            return isDiscrete;
+        }
+
+        boolean is32bit() {
+            return is32bit;
+        }
     }
 
 
@@ -135,6 +157,7 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
         this.address = address;
         this.a32bit = a32bit;
         this.digitCount = digitCount;
+        this.fatekBytes = toFatekBytes(name, address, digitCount);
     }
 
     public RegName getName() {
@@ -146,6 +169,12 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
     }
 
     /**
+     * Parse register name, eg. <code>D12</code> or <code>dd00100</code>.
+     * <p>
+     * First letters followed by digits are parsed as register, other characters are ignored,
+     * eg. <code>D1X</code> is parsed as <code>D1</code>.
+     * Parser makes one pass over string without creating temporary objects, returned register is interned.
+     *
      * @param strReg string representation of register
      * @return parsed register
      * @throws UnknownRegNameException if problem with parse register
@@ -156,36 +185,76 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
             throw new UnknownRegNameException("strReg is null");
         }
 
-        String trimStrReg = strReg.trim().toUpperCase(Locale.US);
+        // find first letters followed by digit
+        int len = strReg.length();
+        int pos = 0;
+        int nameStart = -1;
+        while (pos < len && nameStart < 0) {
+            if (!isLetter(strReg.charAt(pos))) {
+                pos++;
+                continue;
+            }
+            int start = pos;
+            while (pos < len && isLetter(strReg.charAt(pos))) {
+                pos++;
+            }
+            if (pos < len && isDigit(strReg.charAt(pos))) {
+                nameStart = start;
+            }
+        }
 
-        if (trimStrReg.length() == 0) {
+        if (nameStart < 0 || pos - nameStart > MAX_NAME_LEN) {
             throw new UnknownRegNameException(strReg);
         }
 
-        Matcher matcher = REG_NAME_PATTERN.matcher(trimStrReg);
-        if (!matcher.find()) {
+        // name letters as base 27 number, at most 3 letters
+        int nameCode = 0;
+        for (int i = nameStart; i < pos; i++) {
+            nameCode = nameCode * NAME_RADIX + Character.toUpperCase(strReg.charAt(i)) - 'A' + 1;
+        }
+
+        RegName regName = NAME_CODES[nameCode];
+        if (regName == null) {
             throw new UnknownRegNameException(strReg);
         }
 
-        RegName regName;
-        try {
-            regName = RegName.valueOf(matcher.group(1).toUpperCase(Locale.ENGLISH));
-        } catch (IllegalArgumentException e) {
-            throw new UnknownRegNameException(strReg, e);
+        int regAddress = 0;
+        for (; pos < len && isDigit(strReg.charAt(pos)); pos++) {
+            char c = strReg.charAt(pos);
+            if (regAddress > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                throw new UnknownRegNameException(strReg);
+            }
+            regAddress = regAddress * 10 + c - '0';
         }
 
-        RegDesc regDesc = REGS_DESC.get(regName);
+        return valueOf(regName, regAddress);
+    }
 
-        if (null == regDesc) {
-            throw new UnknownRegNameException(strReg);
-        }
+    /**
+     * Register with given name and address.
+     * <p>
+     * Registers with address from 0 to 65535 are interned, so the same instance is returned for each call.
+     *
+     * @param name    register name
+     * @param address register address
+     * @return register
+     */
+    public static Reg valueOf(RegName name, int address) {
+
+        return RegInterner.intern(name, address);
+    }
+
+    /**
+     * Create new register instance, used by interner.
+     */
+    static Reg create(RegName name, int address) {
 
-        int regAddress = Integer.parseInt(matcher.group(2));
+        RegDesc regDesc = REGS_DESC.get(name);
 
         if (regDesc.isDiscrete) {
-            return new DisReg(regName, regAddress);
+            return new DisReg(name, address);
         } else {
-            return new DataReg(regName, regAddress, regDesc.is32bit, regDesc.digitCount);
+            return new DataReg(name, address, regDesc.is32bit, regDesc.digitCount);
         }
     }
 
@@ -206,11 +275,7 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
     @SuppressWarnings("unchecked")
     public <T extends Reg> T incAddress(int number) {
 
-        if (isDiscrete()) {
-            return (T) new DisReg(name, address + number);
-        }
-
-        return (T) new DataReg(name, address + number, a32bit, digitCount);
+        return (T) valueOf(name, address + number);
     }
 
     @Override
@@ -266,9 +331,60 @@ public abstract class Reg implements Cloneable, Comparable<Reg> {
         return address - reg.address;
     }
 
+    /**
+     * Write register name in Fatek format.
+     *
+     * @param writer output writer
+     */
+    public void writeTo(FatekWriter writer) {
+
+        writer.write(fatekBytes, 0, fatekBytes.length);
+    }
+
     @Override
     public String toString() {
 
-        return String.format(String.format("%%s%%0%dd", digitCount), name, address);
+        return new String(fatekBytes, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] toFatekBytes(RegName name, int address, int digitCount) {
+
+        if (address < 0) {
+            return String.format(String.format("%%s%%0%dd", digitCount), name, address)
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+
+        String strName = name.name();
+        int nameLen = strName.length();
+
+        int digits = 1;
+        for (int a = address / 10; a > 0; a /= 10) {
+            digits++;
+        }
+
+        byte[] bytes = new byte[nameLen + Math.max(digits, digitCount)];
+        for (int i = 0; i < nameLen; i++) {
+            bytes[i] = (byte) strName.charAt(i);
+        }
+
+        int a = address;
+        for (int i = bytes.length - 1; i >= nameLen; i--) {
+            bytes[i] = (byte) ('0' + a % 10);
+            a /= 10;
+        }
+        return bytes;
+    }
+
+    // private methods
+
+    private static boolean isLetter(char c) {
+
+        char upper = Character.toUpperCase(c);
+        return upper >= 'A' && upper <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+
+        return c >= '0' && c <= '9';
     }
 }
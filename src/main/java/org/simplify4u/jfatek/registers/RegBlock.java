@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Values of continuous data registers kept in primitive array.
+ * <p>
+ * Values are stored unsigned in array which can be supplied by caller, so block can be read many times
+ * without allocation of objects for each register.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegBlock {
+
+    private final long[] values;
+    private DataReg startReg;
+    private int size;
+
+    /**
+     * Block with new array for values.
+     *
+     * @param startReg first register of block
+     * @param number   number of registers
+     */
+    public RegBlock(DataReg startReg, int number) {
+
+        this(startReg, new long[number]);
+    }
+
+    /**
+     * Block with values in given array, each array element is one register.
+     *
+     * @param startReg first register of block
+     * @param values   array for unsigned values
+     */
+    public RegBlock(DataReg startReg, long[] values) {
+
+        if (values.length < 1) {
+            throw new IllegalArgumentException("Registers number must be positive: " + values.length);
+        }
+        this.startReg = startReg;
+        this.values = values;
+        this.size = values.length;
+    }
+
+    /**
+     * Move block to other registers, so one block can be reused for reads of many ranges.
+     * Only first <code>size</code> elements of array are used.
+     *
+     * @param startReg first register of block
+     * @param size     number of registers, not bigger than array length
+     */
+    public void setRange(DataReg startReg, int size) {
+
+        if (size < 1 || size > values.length) {
+            throw new IllegalArgumentException("Registers number must be from 1 to " + values.length + ": " + size);
+        }
+        this.startReg = startReg;
+        this.size = size;
+    }
+
+    public DataReg getStartReg() {
+        return startReg;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean is32Bits() {
+        return startReg.is32Bits();
+    }
+
+    /**
+     * Array with unsigned values of block, changes are visible in block.
+     * Array can be longer than block when block was moved by {@link #setRange(DataReg, int)}.
+     *
+     * @return values array
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    /**
+     * Register on given position in block, 32 bits register takes two addresses.
+     *
+     * @param index position in block
+     * @return register
+     */
+    public DataReg getReg(int index) {
+
+        return startReg.incAddress(is32Bits() ? index * 2 : index);
+    }
+
+    public long longValueUnsigned(int index) {
+
+        return values[index];
+    }
+
+    public long longValue(int index) {
+
+        return is32Bits() ? (int) values[index] : (short) values[index];
+    }
+
+    public int intValueUnsigned(int index) {
+
+        return (int) values[index];
+    }
+
+    public int intValue(int index) {
+
+        return (int) longValue(index);
+    }
+
+    public boolean boolValue(int index) {
+
+        return values[index] != 0;
+    }
+
+    /**
+     * Convert value in standard IEEE-754 to float.
+     * Only 32 bits registers support float.
+     *
+     * @param index position in block
+     * @return float value.
+     */
+    public float floatValue(int index) {
+
+        if (!is32Bits()) {
+            throw new UnsupportedOperationException("Only 32 bits registers support float");
+        }
+        return Float.intBitsToFloat((int) values[index]);
+    }
+
+    /**
+     * Value on given position as new object.
+     *
+     * @param index position in block
+     * @return register value
+     */
+    public RegValue getRegValue(int index) {
+
+        return RegValue.getForReg(startReg, values[index]);
+    }
+
+    /**
+     * Values as list backed by block, value object is created on each access.
+     *
+     * @return unmodifiable list of values
+     */
+    public List<RegValue> asList() {
+
+        return new ValueList();
+    }
+
+    /**
+     * List view of block values.
+     */
+    private final class ValueList extends AbstractList<RegValue> implements RandomAccess {
+
+        @Override
+        public RegValue get(int index) {
+            return getRegValue(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Report by exception - detection of changed register values between cycles.
+ * <p>
+ * Last value of each register is kept in primitive array. Data register is changed when its value
+ * differs from last reported value more than both absolute and percent deadband, without deadband each change
+ * is reported. Discrete is changed on chosen edge. First value of each register is always reported.
+ * <p>
+ * Detector is not thread safe, it should be used by one thread, eg. by scan listener.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegChangeDetector {
+
+    /**
+     * Edge of discrete which is reported as change.
+     */
+    public enum Edge {
+        /**
+         * Both edges.
+         */
+        ANY,
+        /**
+         * Change from off to on.
+         */
+        RISING,
+        /**
+         * Change from on to off.
+         */
+        FALLING
+    }
+
+    private final Reg[] regs;
+    // register key to position
+    private final RegValueMap positions;
+
+    // last reported value for data registers, last seen status for discrete
+    private final long[] values;
+    private final long[] initialized;
+
+    private final double[] absDeadbands;
+    private final double[] pctDeadbands;
+    private final boolean[] floats;
+    private final Edge[] edges;
+
+    private final RegChanges changes;
+
+    /**
+     * Detector for given registers, position of register in detector is its position in collection.
+     *
+     * @param regs registers
+     */
+    public RegChangeDetector(Collection<? extends Reg> regs) {
+
+        this.regs = regs.toArray(new Reg[regs.size()]);
+        this.positions = new RegValueMap(this.regs.length);
+        for (int i = 0; i < this.regs.length; i++) {
+            int key = RegKey.of(this.regs[i]);
+            if (positions.getRaw(key, -1) >= 0) {
+                throw new IllegalArgumentException("Duplicate register: " + this.regs[i]);
+            }
+            positions.putRaw(key, i);
+        }
+
+        this.values = new long[this.regs.length];
+        this.initialized = new long[(this.regs.length + 63) >>> 6];
+        this.absDeadbands = new double[this.regs.length];
+        this.pctDeadbands = new double[this.regs.length];
+        this.floats = new boolean[this.regs.length];
+        this.edges = new Edge[this.regs.length];
+        this.changes = new RegChanges(this.regs, values);
+    }
+
+    public int size() {
+        return regs.length;
+    }
+
+    public Reg getReg(int index) {
+        return regs[index];
+    }
+
+    /**
+     * Position of register in detector.
+     *
+     * @param reg register
+     * @return position or -1 if register is not in detector
+     */
+    public int indexOf(Reg reg) {
+
+        return (int) positions.getRaw(RegKey.of(reg), -1);
+    }
+
+    /**
+     * Absolute deadband of data register.
+     *
+     * @param reg      data register
+     * @param deadband change which is not reported
+     * @return this detector
+     */
+    public RegChangeDetector setDeadband(Reg reg, double deadband) {
+
+        absDeadbands[dataIndex(reg, deadband)] = deadband;
+        return this;
+    }
+
+    /**
+     * Percent deadband of data register, relative to absolute last reported value.
+     *
+     * @param reg     data register
+     * @param percent change in percent which is not reported
+     * @return this detector
+     */
+    public RegChangeDetector setPercentDeadband(Reg reg, double percent) {
+
+        pctDeadbands[dataIndex(reg, percent)] = percent / 100.0;
+        return this;
+    }
+
+    /**
+     * Compare values of 32 bits register as IEEE-754 float.
+     *
+     * @param reg     32 bits data register
+     * @param isFloat true if register contains float
+     * @return this detector
+     * @throws IllegalArgumentException if register is not 32 bits register
+     */
+    public RegChangeDetector setFloat(Reg reg, boolean isFloat) {
+
+        if (!reg.is32Bits()) {
+            throw new IllegalArgumentException("Only 32 bits registers support float: " + reg);
+        }
+        floats[checkedIndex(reg)] = isFloat;
+        return this;
+    }
+
+    /**
+     * Edge of discrete reported as change, default is {@link Edge#ANY}.
+     *
+     * @param reg  discrete
+     * @param edge reported edge
+     * @return this detector
+     */
+    public RegChangeDetector setEdge(Reg reg, Edge edge) {
+
+        if (!reg.isDiscrete()) {
+            throw new IllegalArgumentException("Edge can be set only for discrete: " + reg);
+        }
+        edges[checkedIndex(reg)] = edge == Edge.ANY ? null : edge;
+        return this;
+    }
+
+    /**
+     * Forget last values, next values of all registers are reported.
+     */
+    public void reset() {
+
+        Arrays.fill(initialized, 0L);
+    }
+
+    /**
+     * Detect changes in values of map, registers which are not in map are not changed.
+     *
+     * @param map new values
+     * @return changed registers
+     */
+    public RegChanges detect(RegValueMap map) {
+
+        changes.clear();
+        for (int i = 0; i < map.size(); i++) {
+            int index = (int) positions.getRaw(map.keyAt(i), -1);
+            if (index >= 0) {
+                offer(index, map.rawValueAt(i));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Detect changes in values of block, registers which are not in block are not changed.
+     *
+     * @param block new values
+     * @return changed registers
+     */
+    public RegChanges detect(RegBlock block) {
+
+        changes.clear();
+        for (int i = 0; i < block.size(); i++) {
+            int index = indexOf(block.getReg(i));
+            if (index >= 0) {
+                offer(index, block.longValueUnsigned(i));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Detect changes of all registers.
+     *
+     * @param source unsigned value of register
+     * @return changed registers
+     */
+    public RegChanges detect(ToLongFunction<Reg> source) {
+
+        changes.clear();
+        for (int i = 0; i < regs.length; i++) {
+            offer(i, source.applyAsLong(regs[i]));
+        }
+        return changes;
+    }
+
+    /**
+     * Detect changes of registers with valid value, eg. <code>detector.detect(result::getRaw, result::isValid)</code>.
+     * Registers without valid value are not changed and their first value is not taken.
+     *
+     * @param source unsigned value of register
+     * @param valid  test if value of register is valid
+     * @return changed registers
+     */
+    public RegChanges detect(ToLongFunction<Reg> source, Predicate<Reg> valid) {
+
+        changes.clear();
+        for (int i = 0; i < regs.length; i++) {
+            if (valid.test(regs[i])) {
+                offer(i, source.applyAsLong(regs[i]));
+            }
+        }
+        return changes;
+    }
+
+    // private methods
+
+    private void offer(int index, long value) {
+
+        long bit = 1L << index;
+        if ((initialized[index >>> 6] & bit) == 0) {
+            initialized[index >>> 6] |= bit;
+            values[index] = value;
+            changes.set(index);
+            return;
+        }
+
+        long last = values[index];
+        if (last == value) {
+            return;
+        }
+
+        if (regs[index].isDiscrete()) {
+            // edge detection needs last seen status
+            values[index] = value;
+            Edge edge = edges[index];
+            if (edge == null || edge == Edge.RISING && value != 0 || edge == Edge.FALLING && value == 0) {
+                changes.set(index);
+            }
+        } else if (exceedsDeadband(index, last, value)) {
+            values[index] = value;
+            changes.set(index);
+        }
+    }
+
+    private boolean exceedsDeadband(int index, long last, long value) {
+
+        double lastValue = toDouble(index, last);
+        double delta = Math.abs(toDouble(index, value) - lastValue);
+
+        // NaN is always reported
+        return !(delta <= absDeadbands[index] || delta <= pctDeadbands[index] * Math.abs(lastValue));
+    }
+
+    private double toDouble(int index, long value) {
+
+        if (floats[index]) {
+            return Float.intBitsToFloat((int) value);
+        }
+        return regs[index].is32Bits() ? (int) value : (short) value;
+    }
+
+    private int dataIndex(Reg reg, double deadband) {
+
+        if (reg.isDiscrete()) {
+            throw new IllegalArgumentException("Deadband can be set only for data register: " + reg);
+        }
+        if (!(deadband >= 0)) {
+            throw new IllegalArgumentException("Deadband must not be negative: " + deadband);
+        }
+        return checkedIndex(reg);
+    }
+
+    private int checkedIndex(Reg reg) {
+
+        int index = indexOf(reg);
+        if (index < 0) {
+            throw new IllegalArgumentException("Register is not in detector: " + reg);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Registers changed in one cycle of {@link RegChangeDetector}.
+ * <p>
+ * Changed registers are marked in bitmap by their position in detector, bit <code>i % 64</code>
+ * of word <code>i / 64</code> is register i. The same object is returned by each detection,
+ * so it is valid until next detection, {@link #toMap()} should be used when changes are kept longer.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegChanges {
+
+    private final Reg[] regs;
+    // values of registers, shared with detector
+    private final long[] values;
+    private final long[] words;
+    private int count;
+
+    RegChanges(Reg[] regs, long[] values) {
+
+        this.regs = regs;
+        this.values = values;
+        this.words = new long[(regs.length + 63) >>> 6];
+    }
+
+    /**
+     * Number of changed registers.
+     *
+     * @return changes number
+     */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Bitmap of changed registers, must not be modified.
+     *
+     * @return bitmap words
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    public boolean isChanged(int index) {
+
+        return (words[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Position of next changed register.
+     *
+     * @param fromIndex position to start from, inclusive
+     * @return position of changed register or -1 if there are no more changes
+     */
+    public int nextChanged(int fromIndex) {
+
+        int wordIndex = fromIndex >>> 6;
+        if (fromIndex < 0 || wordIndex >= words.length) {
+            return -1;
+        }
+
+        long word = words[wordIndex] & -1L << fromIndex;
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    public Reg getReg(int index) {
+        return regs[index];
+    }
+
+    /**
+     * Unsigned value of register on given position.
+     *
+     * @param index position in detector
+     * @return unsigned value
+     */
+    public long rawValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Value of register on given position as new object.
+     *
+     * @param index position in detector
+     * @return register value
+     */
+    public RegValue getRegValue(int index) {
+
+        return RegValue.getForReg(regs[index], values[index]);
+    }
+
+    public BitSet toBitSet() {
+
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Copy values of changed registers.
+     *
+     * @return new map
+     */
+    public RegValueMap toMap() {
+
+        RegValueMap map = new RegValueMap(count);
+        for (int i = nextChanged(0); i >= 0; i = nextChanged(i + 1)) {
+            map.putRaw(RegKey.of(regs[i]), values[i]);
+        }
+        return map;
+    }
+
+    void clear() {
+
+        Arrays.fill(words, 0L);
+        count = 0;
+    }
+
+    void set(int index) {
+
+        long bit = 1L << index;
+        if ((words[index >>> 6] & bit) == 0) {
+            words[index >>> 6] |= bit;
+            count++;
+        }
+    }
+}
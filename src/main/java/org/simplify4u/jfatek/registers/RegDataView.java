@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import org.simplify4u.jfatek.io.FatekUtils;
+
+/**
+ * Values of continuous data registers kept as received hex digits.
+ * <p>
+ * Value is decoded only when it is accessed, so reading many registers when only few of them are used
+ * does not cost decoding of all values. Digits array is reused by next command execution,
+ * {@link #copy()} should be used when values are kept longer.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegDataView {
+
+    private final DataReg startReg;
+    private final int number;
+    private final int width;
+    private final byte[] digits;
+
+    /**
+     * View with new array for digits.
+     *
+     * @param startReg first register
+     * @param number   number of registers
+     */
+    public RegDataView(DataReg startReg, int number) {
+
+        this(startReg, number, new byte[number * (startReg.is32Bits() ? 8 : 4)]);
+    }
+
+    private RegDataView(DataReg startReg, int number, byte[] digits) {
+
+        if (number < 1) {
+            throw new IllegalArgumentException("Registers number must be positive: " + number);
+        }
+        this.startReg = startReg;
+        this.number = number;
+        this.width = startReg.is32Bits() ? 8 : 4;
+        this.digits = digits;
+    }
+
+    public DataReg getStartReg() {
+        return startReg;
+    }
+
+    public int size() {
+        return number;
+    }
+
+    public boolean is32Bits() {
+        return startReg.is32Bits();
+    }
+
+    /**
+     * Array with hex digits of all registers, 4 or 8 digits for each register, changes are visible in view.
+     *
+     * @return digits array
+     */
+    public byte[] getDigits() {
+        return digits;
+    }
+
+    /**
+     * Register on given position, 32 bits register takes two addresses.
+     *
+     * @param index position in view
+     * @return register
+     */
+    public DataReg getReg(int index) {
+
+        checkIndex(index);
+        return startReg.incAddress(is32Bits() ? index * 2 : index);
+    }
+
+    public long longValueUnsigned(int index) {
+
+        checkIndex(index);
+        return FatekUtils.decodeHex(digits, index * width, width);
+    }
+
+    public long longValue(int index) {
+
+        long value = longValueUnsigned(index);
+        return is32Bits() ? (int) value : (short) value;
+    }
+
+    public int intValueUnsigned(int index) {
+
+        return (int) longValueUnsigned(index);
+    }
+
+    public int intValue(int index) {
+
+        return (int) longValue(index);
+    }
+
+    public boolean boolValue(int index) {
+
+        return longValueUnsigned(index) != 0;
+    }
+
+    /**
+     * Convert value in standard IEEE-754 to float.
+     * Only 32 bits registers support float.
+     *
+     * @param index position in view
+     * @return float value.
+     */
+    public float floatValue(int index) {
+
+        if (!is32Bits()) {
+            throw new UnsupportedOperationException("Only 32 bits registers support float");
+        }
+        return Float.intBitsToFloat((int) longValueUnsigned(index));
+    }
+
+    /**
+     * Value on given position as new object.
+     *
+     * @param index position in view
+     * @return register value
+     */
+    public RegValue getRegValue(int index) {
+
+        return RegValue.getForReg(startReg, longValueUnsigned(index));
+    }
+
+    /**
+     * Copy of view with own digits array, not changed by next command execution.
+     *
+     * @return new view
+     */
+    public RegDataView copy() {
+
+        return new RegDataView(startReg, number, digits.clone());
+    }
+
+    /**
+     * Decode all values to block.
+     *
+     * @return new block
+     */
+    public RegBlock toBlock() {
+
+        long[] values = new long[number];
+        for (int i = 0; i < number; i++) {
+            values[i] = FatekUtils.decodeHex(digits, i * width, width);
+        }
+        return new RegBlock(startReg, values);
+    }
+
+    // private methods
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= number) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + number);
+        }
+    }
+}
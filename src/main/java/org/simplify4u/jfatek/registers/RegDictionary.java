@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Dictionary of tags, each tag is name of interned register.
+ * <p>
+ * Tags can be loaded from CSV lines in format <code>tag,register</code>, next columns are ignored.
+ * Empty lines and lines started by <code>#</code> are skipped. Lines are parsed in parallel,
+ * when tag is repeated the last line wins.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegDictionary {
+
+    private final Map<String, Reg> tags;
+
+    public RegDictionary() {
+
+        this.tags = new HashMap<>();
+    }
+
+    private RegDictionary(Map<String, Reg> tags) {
+
+        this.tags = tags;
+    }
+
+    /**
+     * Load dictionary from CSV file in UTF-8.
+     *
+     * @param path file to load
+     * @return dictionary
+     * @throws IOException             if file can not be read
+     * @throws UnknownRegNameException if some line contains invalid register
+     */
+    public static RegDictionary load(Path path) throws IOException, UnknownRegNameException {
+
+        return load(Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Load dictionary from CSV lines.
+     *
+     * @param lines lines to parse
+     * @return dictionary
+     * @throws UnknownRegNameException if some line contains invalid register, error of first such line is reported
+     */
+    public static RegDictionary load(List<String> lines) throws UnknownRegNameException {
+
+        int count = lines.size();
+        String[] lineTags = new String[count];
+        AtomicReferenceArray<Object> results = new AtomicReferenceArray<>(count);
+
+        IntStream.range(0, count).parallel().forEach(i -> {
+            String line = lines.get(i);
+            if (isSkipped(line)) {
+                return;
+            }
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                results.set(i, new UnknownRegNameException(line));
+                return;
+            }
+            int end = line.indexOf(',', comma + 1);
+            lineTags[i] = line.substring(0, comma).trim();
+            try {
+                results.set(i, Reg.parse(line.substring(comma + 1, end < 0 ? line.length() : end)));
+            } catch (UnknownRegNameException e) {
+                results.set(i, e);
+            }
+        });
+
+        Map<String, Reg> tags = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            Object result = results.get(i);
+            if (result instanceof UnknownRegNameException) {
+                throw (UnknownRegNameException) result;
+            }
+            if (result != null) {
+                tags.put(lineTags[i], (Reg) result);
+            }
+        }
+        return new RegDictionary(tags);
+    }
+
+    /**
+     * Add tag.
+     *
+     * @param tag tag name
+     * @param reg register
+     * @return previous register of tag or null
+     */
+    public Reg put(String tag, Reg reg) {
+
+        return tags.put(tag, reg);
+    }
+
+    /**
+     * Register of tag.
+     *
+     * @param tag tag name
+     * @return register or null if there is no such tag
+     */
+    public Reg get(String tag) {
+
+        return tags.get(tag);
+    }
+
+    /**
+     * Register of tag, when there is no such tag name is parsed as register.
+     *
+     * @param tagOrReg tag name or register name
+     * @return register
+     * @throws UnknownRegNameException if there is no such tag and name is not valid register
+     */
+    public Reg resolve(String tagOrReg) throws UnknownRegNameException {
+
+        Reg reg = tags.get(tagOrReg);
+        return reg != null ? reg : Reg.parse(tagOrReg);
+    }
+
+    public int size() {
+
+        return tags.size();
+    }
+
+    public Map<String, Reg> asMap() {
+
+        return Collections.unmodifiableMap(tags);
+    }
+
+    // private methods
+
+    private static boolean isSkipped(String line) {
+
+        String trimmed = line.trim();
+        return trimmed.isEmpty() || trimmed.charAt(0) == '#';
+    }
+}
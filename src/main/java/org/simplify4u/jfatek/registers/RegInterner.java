@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache of canonical register instances.
+ * <p>
+ * Registers are kept in chunks of 1024 addresses, chunk is created when first register from it is used.
+ *
+ * @author Slawomir Jaranowski.
+ */
+final class RegInterner {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_ADDRESS = 0xFFFF;
+    private static final int CHUNKS_PER_NAME = (MAX_ADDRESS + 1) / CHUNK_SIZE;
+
+    private static final AtomicReferenceArray<AtomicReferenceArray<Reg>> CHUNKS =
+            new AtomicReferenceArray<>(RegName.values().length * CHUNKS_PER_NAME);
+
+    private RegInterner() {
+        // only static methods
+    }
+
+    /**
+     * Canonical instance of register, registers out of cached address range are created on each call.
+     */
+    static Reg intern(RegName name, int address) {
+
+        if (address < 0 || address > MAX_ADDRESS) {
+            return Reg.create(name, address);
+        }
+
+        int chunkIndex = name.ordinal() * CHUNKS_PER_NAME + (address >>> CHUNK_BITS);
+        AtomicReferenceArray<Reg> chunk = CHUNKS.get(chunkIndex);
+        if (chunk == null) {
+            CHUNKS.compareAndSet(chunkIndex, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = CHUNKS.get(chunkIndex);
+        }
+
+        int index = address & (CHUNK_SIZE - 1);
+        Reg reg = chunk.get(index);
+        if (reg == null) {
+            // only one instance wins when many threads create the same register
+            chunk.compareAndSet(index, null, Reg.create(name, address));
+            reg = chunk.get(index);
+        }
+        return reg;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+/**
+ * Register packed in one <code>int</code>.
+ * <p>
+ * Bits 27-31 keep ordinal of {@link RegName}, bit 26 is set for 32 bits register
+ * and bits 0-25 keep register address.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegKey {
+
+    private static final int NAME_SHIFT = 27;
+    private static final int A32BIT_FLAG = 1 << 26;
+
+    /**
+     * Max address which can be packed.
+     */
+    public static final int MAX_ADDRESS = A32BIT_FLAG - 1;
+
+    private static final RegName[] NAMES = RegName.values();
+
+    private RegKey() {
+        // only static methods
+    }
+
+    /**
+     * Pack register.
+     *
+     * @param reg register
+     * @return register key
+     */
+    public static int of(Reg reg) {
+
+        return of(reg.getName(), reg.getAddress());
+    }
+
+    /**
+     * Pack register with given name and address.
+     *
+     * @param name    register name
+     * @param address register address
+     * @return register key
+     */
+    public static int of(RegName name, int address) {
+
+        if (address < 0 || address > MAX_ADDRESS) {
+            throw new IllegalArgumentException("Register address out of range: " + address);
+        }
+
+        int key = name.ordinal() << NAME_SHIFT | address;
+        if (Reg.REGS_DESC.get(name).is32bit()) {
+            key |= A32BIT_FLAG;
+        }
+        return key;
+    }
+
+    public static RegName getName(int key) {
+
+        return NAMES[key >>> NAME_SHIFT];
+    }
+
+    public static int getAddress(int key) {
+
+        return key & MAX_ADDRESS;
+    }
+
+    public static boolean is32Bits(int key) {
+
+        return (key & A32BIT_FLAG) != 0;
+    }
+
+    public static boolean isDiscrete(int key) {
+
+        return Reg.REGS_DESC.get(getName(key)).isDiscrete();
+    }
+
+    /**
+     * Unpack register.
+     *
+     * @param key register key
+     * @return register
+     */
+    public static Reg toReg(int key) {
+
+        return Reg.valueOf(getName(key), getAddress(key));
+    }
+}
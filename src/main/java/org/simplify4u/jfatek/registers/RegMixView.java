@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.Collection;
+
+import org.simplify4u.jfatek.io.FatekUtils;
+
+/**
+ * Values of random registers kept as received hex digits.
+ * <p>
+ * Value is decoded only when it is accessed. Discrete takes one digit, 16 bits register four digits
+ * and 32 bits register eight digits. Digits array is reused by next command execution,
+ * {@link #copy()} should be used when values are kept longer.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegMixView {
+
+    private final Reg[] regs;
+    // offsets of digits for each register, last element is length of all digits
+    private final int[] offsets;
+    // register key to position in view
+    private final RegValueMap positions;
+    private final byte[] digits;
+
+    /**
+     * View with new array for digits.
+     *
+     * @param regs registers in order of response
+     */
+    public RegMixView(Collection<? extends Reg> regs) {
+
+        this.regs = regs.toArray(new Reg[regs.size()]);
+        this.offsets = new int[this.regs.length + 1];
+        this.positions = new RegValueMap(this.regs.length);
+        for (int i = 0; i < this.regs.length; i++) {
+            offsets[i + 1] = offsets[i] + width(this.regs[i]);
+            if (positions.getRaw(RegKey.of(this.regs[i]), -1) < 0) {
+                positions.putRaw(RegKey.of(this.regs[i]), i);
+            }
+        }
+        this.digits = new byte[offsets[this.regs.length]];
+    }
+
+    private RegMixView(RegMixView view) {
+
+        this.regs = view.regs;
+        this.offsets = view.offsets;
+        this.positions = view.positions;
+        this.digits = view.digits.clone();
+    }
+
+    public int size() {
+        return regs.length;
+    }
+
+    public Reg getReg(int index) {
+        return regs[index];
+    }
+
+    /**
+     * Array with hex digits of all registers, changes are visible in view.
+     *
+     * @return digits array
+     */
+    public byte[] getDigits() {
+        return digits;
+    }
+
+    /**
+     * Offset of register digits in digits array.
+     *
+     * @param index position in view
+     * @return offset of first digit
+     */
+    public int getDigitsOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Position of register in view.
+     *
+     * @param reg register
+     * @return position or -1 if register is not in view
+     */
+    public int indexOf(Reg reg) {
+
+        return (int) positions.getRaw(RegKey.of(reg), -1);
+    }
+
+    public long longValueUnsigned(int index) {
+
+        return FatekUtils.decodeHex(digits, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    public long longValue(int index) {
+
+        long value = longValueUnsigned(index);
+        if (regs[index].isDiscrete()) {
+            return value;
+        }
+        return regs[index].is32Bits() ? (int) value : (short) value;
+    }
+
+    public int intValueUnsigned(int index) {
+
+        return (int) longValueUnsigned(index);
+    }
+
+    public int intValue(int index) {
+
+        return (int) longValue(index);
+    }
+
+    public boolean boolValue(int index) {
+
+        return longValueUnsigned(index) != 0;
+    }
+
+    /**
+     * Value on given position as new object.
+     *
+     * @param index position in view
+     * @return register value
+     */
+    public RegValue getRegValue(int index) {
+
+        return RegValue.getForReg(regs[index], longValueUnsigned(index));
+    }
+
+    /**
+     * Value of register as new object.
+     *
+     * @param reg register
+     * @return register value or null if register is not in view
+     */
+    public RegValue get(Reg reg) {
+
+        int index = indexOf(reg);
+        return index < 0 ? null : getRegValue(index);
+    }
+
+    /**
+     * Copy of view with own digits array, not changed by next command execution.
+     *
+     * @return new view
+     */
+    public RegMixView copy() {
+
+        return new RegMixView(this);
+    }
+
+    /**
+     * Decode all values to map.
+     *
+     * @return new map
+     */
+    public RegValueMap toMap() {
+
+        RegValueMap map = new RegValueMap(regs.length);
+        for (int i = 0; i < regs.length; i++) {
+            map.putRaw(RegKey.of(regs[i]), longValueUnsigned(i));
+        }
+        return map;
+    }
+
+    // private methods
+
+    private static int width(Reg reg) {
+
+        if (reg.isDiscrete()) {
+            return 1;
+        }
+        return reg.is32Bits() ? 8 : 4;
+    }
+}
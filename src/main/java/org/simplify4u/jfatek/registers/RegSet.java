@@ -0,0 +1,721 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Set of registers kept as bitmaps of addresses.
+ * <p>
+ * Each register name has own area, area is divided into chunks of 4096 addresses
+ * and only chunks with some register are allocated. Set operations work on whole words of bitmaps.
+ * <p>
+ * Registers are iterated in order of name and address, the same order as given by {@link Reg#compareTo(Reg)}.
+ * Address must be from 0 to {@link RegKey#MAX_ADDRESS}.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegSet implements Iterable<Reg> {
+
+    /**
+     * Receiver of continuous ranges of registers.
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+
+        /**
+         * Continuous range of registers, for 32 bits registers next address is greater by 2.
+         *
+         * @param name         register name
+         * @param firstAddress address of first register in range
+         * @param lastAddress  address of last register in range
+         * @param count        number of registers in range
+         */
+        void accept(RegName name, int firstAddress, int lastAddress, int count);
+    }
+
+    /**
+     * Statistics of gaps between continuous ranges of registers with the same name.
+     */
+    public static final class GapStatistics {
+
+        private final int ranges;
+        private final int gaps;
+        private final long gapRegisters;
+        private final int maxGap;
+
+        GapStatistics(int ranges, int gaps, long gapRegisters, int maxGap) {
+
+            this.ranges = ranges;
+            this.gaps = gaps;
+            this.gapRegisters = gapRegisters;
+            this.maxGap = maxGap;
+        }
+
+        /**
+         * @return number of continuous ranges
+         */
+        public int getRanges() {
+            return ranges;
+        }
+
+        /**
+         * @return number of gaps between ranges with the same register name
+         */
+        public int getGaps() {
+            return gaps;
+        }
+
+        /**
+         * @return number of registers missing in all gaps
+         */
+        public long getGapRegisters() {
+            return gapRegisters;
+        }
+
+        /**
+         * @return number of registers missing in the biggest gap
+         */
+        public int getMaxGap() {
+            return maxGap;
+        }
+
+        @Override
+        public String toString() {
+            return "GapStatistics{ranges=" + ranges + ", gaps=" + gaps
+                    + ", gapRegisters=" + gapRegisters + ", maxGap=" + maxGap + '}';
+        }
+    }
+
+    private final Map<RegName, Area> areas = new EnumMap<>(RegName.class);
+
+    public RegSet() {
+        // empty set
+    }
+
+    /**
+     * Set with given registers.
+     *
+     * @param regs registers
+     * @return new set
+     */
+    public static RegSet of(Collection<? extends Reg> regs) {
+
+        RegSet regSet = new RegSet();
+        for (Reg reg : regs) {
+            regSet.add(reg);
+        }
+        return regSet;
+    }
+
+    /**
+     * Add register to set.
+     *
+     * @param reg register
+     * @return true if set did not contain register
+     */
+    public boolean add(Reg reg) {
+
+        return areas.computeIfAbsent(reg.getName(), n -> new Area()).add(checkAddress(reg.getAddress()));
+    }
+
+    /**
+     * Add continuous range of registers, for 32 bits registers every second address is added.
+     *
+     * @param name         register name
+     * @param firstAddress first address
+     * @param lastAddress  last address
+     */
+    public void addRange(RegName name, int firstAddress, int lastAddress) {
+
+        checkAddress(firstAddress);
+        checkAddress(lastAddress);
+        Area area = areas.computeIfAbsent(name, n -> new Area());
+        int step = step(name);
+        for (int address = firstAddress; address <= lastAddress; address += step) {
+            area.add(address);
+        }
+    }
+
+    /**
+     * Add all registers from other set.
+     *
+     * @param other other set
+     */
+    public void addAll(RegSet other) {
+
+        for (Map.Entry<RegName, Area> entry : other.areas.entrySet()) {
+            Area area = areas.get(entry.getKey());
+            areas.put(entry.getKey(), area == null ? entry.getValue().copy() : area.or(entry.getValue()));
+        }
+    }
+
+    public boolean remove(Reg reg) {
+
+        Area area = areas.get(reg.getName());
+        if (area == null || !isValidAddress(reg.getAddress()) || !area.remove(reg.getAddress())) {
+            return false;
+        }
+        if (area.isEmpty()) {
+            areas.remove(reg.getName());
+        }
+        return true;
+    }
+
+    public boolean contains(Reg reg) {
+
+        Area area = areas.get(reg.getName());
+        return area != null && isValidAddress(reg.getAddress()) && area.contains(reg.getAddress());
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (Area area : areas.values()) {
+            size += area.cardinality();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return areas.isEmpty();
+    }
+
+    /**
+     * Names of registers in set.
+     *
+     * @return set of names
+     */
+    public Set<RegName> names() {
+
+        return Collections.unmodifiableSet(areas.keySet());
+    }
+
+    /**
+     * New set with registers from this and other set.
+     *
+     * @param other other set
+     * @return union of sets
+     */
+    public RegSet union(RegSet other) {
+
+        RegSet ret = copy();
+        ret.addAll(other);
+        return ret;
+    }
+
+    /**
+     * New set with registers contained in this and other set.
+     *
+     * @param other other set
+     * @return intersection of sets
+     */
+    public RegSet intersection(RegSet other) {
+
+        RegSet ret = new RegSet();
+        for (Map.Entry<RegName, Area> entry : areas.entrySet()) {
+            Area otherArea = other.areas.get(entry.getKey());
+            if (otherArea != null) {
+                Area area = entry.getValue().and(otherArea);
+                if (!area.isEmpty()) {
+                    ret.areas.put(entry.getKey(), area);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * New set with registers from this set which are not contained in other set.
+     *
+     * @param other other set
+     * @return difference of sets
+     */
+    public RegSet difference(RegSet other) {
+
+        RegSet ret = new RegSet();
+        for (Map.Entry<RegName, Area> entry : areas.entrySet()) {
+            Area otherArea = other.areas.get(entry.getKey());
+            Area area = otherArea == null ? entry.getValue().copy() : entry.getValue().andNot(otherArea);
+            if (!area.isEmpty()) {
+                ret.areas.put(entry.getKey(), area);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Registers with given name in address order.
+     *
+     * @param name register name
+     * @return list of registers
+     */
+    public List<Reg> toList(RegName name) {
+
+        Area area = areas.get(name);
+        if (area == null) {
+            return Collections.emptyList();
+        }
+        List<Reg> ret = new ArrayList<>(area.cardinality());
+        for (int address = area.nextSetBit(0); address >= 0; address = area.nextSetBit(address + 1)) {
+            ret.add(Reg.valueOf(name, address));
+        }
+        return ret;
+    }
+
+    /**
+     * Iterate continuous ranges of registers in order of name and address.
+     *
+     * @param consumer receiver of ranges
+     */
+    public void forEachRange(RangeConsumer consumer) {
+
+        for (Map.Entry<RegName, Area> entry : areas.entrySet()) {
+            RegName name = entry.getKey();
+            Area area = entry.getValue();
+            int step = step(name);
+
+            int first = area.nextSetBit(0);
+            while (first >= 0) {
+                int last;
+                int count;
+                if (step == 1) {
+                    last = area.nextClearBit(first) - 1;
+                    count = last - first + 1;
+                } else {
+                    last = first;
+                    count = 1;
+                    while (last + step <= RegKey.MAX_ADDRESS && area.contains(last + step)) {
+                        last += step;
+                        count++;
+                    }
+                }
+                consumer.accept(name, first, last, count);
+                first = area.nextSetBit(last + 1);
+            }
+        }
+    }
+
+    /**
+     * Calculate statistics of gaps between continuous ranges.
+     *
+     * @return gap statistics
+     */
+    public GapStatistics gapStatistics() {
+
+        int[] stats = new int[3];
+        long[] gapRegisters = new long[1];
+        RegName[] lastName = new RegName[1];
+        int[] lastAddress = new int[1];
+
+        forEachRange((name, first, last, count) -> {
+            stats[0]++;
+            if (name == lastName[0]) {
+                int gap = (first - lastAddress[0]) / step(name) - 1;
+                stats[1]++;
+                gapRegisters[0] += gap;
+                stats[2] = Math.max(stats[2], gap);
+            }
+            lastName[0] = name;
+            lastAddress[0] = last;
+        });
+
+        return new GapStatistics(stats[0], stats[1], gapRegisters[0], stats[2]);
+    }
+
+    @Override
+    public Iterator<Reg> iterator() {
+
+        Iterator<Map.Entry<RegName, Area>> areaIterator = areas.entrySet().iterator();
+
+        return new Iterator<Reg>() {
+            private RegName name;
+            private Area area;
+            private int next = -1;
+
+            @Override
+            public boolean hasNext() {
+                while (next < 0 && areaIterator.hasNext()) {
+                    Map.Entry<RegName, Area> entry = areaIterator.next();
+                    name = entry.getKey();
+                    area = entry.getValue();
+                    next = area.nextSetBit(0);
+                }
+                return next >= 0;
+            }
+
+            @Override
+            public Reg next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Reg reg = Reg.valueOf(name, next);
+                next = area.nextSetBit(next + 1);
+                return reg;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return areas.equals(((RegSet) o).areas);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return areas.hashCode();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("[");
+        forEachRange((name, first, last, count) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(name).append(first);
+            if (count > 1) {
+                sb.append('-').append(last);
+            }
+        });
+        return sb.append(']').toString();
+    }
+
+    // private methods
+
+    private RegSet copy() {
+
+        RegSet ret = new RegSet();
+        for (Map.Entry<RegName, Area> entry : areas.entrySet()) {
+            ret.areas.put(entry.getKey(), entry.getValue().copy());
+        }
+        return ret;
+    }
+
+    private static int step(RegName name) {
+
+        return Reg.REGS_DESC.get(name).is32bit() ? 2 : 1;
+    }
+
+    private static boolean isValidAddress(int address) {
+
+        return address >= 0 && address <= RegKey.MAX_ADDRESS;
+    }
+
+    private static int checkAddress(int address) {
+
+        if (!isValidAddress(address)) {
+            throw new IllegalArgumentException("Register address out of range: " + address);
+        }
+        return address;
+    }
+
+    /**
+     * Bitmap of addresses divided into chunks, keys of chunks are sorted.
+     */
+    private static final class Area {
+
+        private static final int CHUNK_BITS = 12;
+        private static final int CHUNK_WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+
+        private int[] keys = new int[4];
+        private long[][] chunks = new long[4][];
+        private int count;
+
+        boolean add(int address) {
+
+            int index = Arrays.binarySearch(keys, 0, count, address >>> CHUNK_BITS);
+            if (index < 0) {
+                index = insertChunk(-index - 1, address >>> CHUNK_BITS, new long[CHUNK_WORDS]);
+            }
+            long[] words = chunks[index];
+            int word = (address >>> 6) & (CHUNK_WORDS - 1);
+            long bit = 1L << address;
+            boolean ret = (words[word] & bit) == 0;
+            words[word] |= bit;
+            return ret;
+        }
+
+        boolean remove(int address) {
+
+            int index = Arrays.binarySearch(keys, 0, count, address >>> CHUNK_BITS);
+            if (index < 0) {
+                return false;
+            }
+            long[] words = chunks[index];
+            int word = (address >>> 6) & (CHUNK_WORDS - 1);
+            long bit = 1L << address;
+            boolean ret = (words[word] & bit) != 0;
+            words[word] &= ~bit;
+            if (ret && isZero(words)) {
+                removeChunk(index);
+            }
+            return ret;
+        }
+
+        boolean contains(int address) {
+
+            int index = Arrays.binarySearch(keys, 0, count, address >>> CHUNK_BITS);
+            return index >= 0 && (chunks[index][(address >>> 6) & (CHUNK_WORDS - 1)] & (1L << address)) != 0;
+        }
+
+        boolean isEmpty() {
+
+            return count == 0;
+        }
+
+        int cardinality() {
+
+            int ret = 0;
+            for (int i = 0; i < count; i++) {
+                for (long word : chunks[i]) {
+                    ret += Long.bitCount(word);
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * First address in set which is greater or equal to given one.
+         *
+         * @return address or -1
+         */
+        int nextSetBit(int from) {
+
+            int key = from >>> CHUNK_BITS;
+            int index = Arrays.binarySearch(keys, 0, count, key);
+            int word;
+            long mask;
+            if (index >= 0) {
+                word = (from >>> 6) & (CHUNK_WORDS - 1);
+                mask = -1L << from;
+            } else {
+                index = -index - 1;
+                word = 0;
+                mask = -1L;
+            }
+
+            for (; index < count; index++, word = 0, mask = -1L) {
+                long[] words = chunks[index];
+                for (; word < CHUNK_WORDS; word++, mask = -1L) {
+                    long bits = words[word] & mask;
+                    if (bits != 0) {
+                        return (keys[index] << CHUNK_BITS) + word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * First address not in set which is greater than given address contained in set.
+         */
+        int nextClearBit(int from) {
+
+            int index = Arrays.binarySearch(keys, 0, count, from >>> CHUNK_BITS);
+            int word = (from >>> 6) & (CHUNK_WORDS - 1);
+            long mask = -1L << from;
+
+            while (true) {
+                long[] words = chunks[index];
+                for (; word < CHUNK_WORDS; word++, mask = -1L) {
+                    long bits = ~words[word] & mask;
+                    if (bits != 0) {
+                        return (keys[index] << CHUNK_BITS) + word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+                // range continues in next chunk only when it is allocated
+                if (index + 1 == count || keys[index + 1] != keys[index] + 1) {
+                    return (keys[index] + 1) << CHUNK_BITS;
+                }
+                index++;
+                word = 0;
+            }
+        }
+
+        Area or(Area other) {
+
+            Area ret = new Area();
+            int i = 0;
+            int j = 0;
+            while (i < count || j < other.count) {
+                if (j == other.count || i < count && keys[i] < other.keys[j]) {
+                    ret.appendChunk(keys[i], chunks[i].clone());
+                    i++;
+                } else if (i == count || other.keys[j] < keys[i]) {
+                    ret.appendChunk(other.keys[j], other.chunks[j].clone());
+                    j++;
+                } else {
+                    long[] words = chunks[i].clone();
+                    long[] otherWords = other.chunks[j];
+                    for (int w = 0; w < CHUNK_WORDS; w++) {
+                        words[w] |= otherWords[w];
+                    }
+                    ret.appendChunk(keys[i], words);
+                    i++;
+                    j++;
+                }
+            }
+            return ret;
+        }
+
+        Area and(Area other) {
+
+            Area ret = new Area();
+            int i = 0;
+            int j = 0;
+            while (i < count && j < other.count) {
+                if (keys[i] < other.keys[j]) {
+                    i++;
+                } else if (other.keys[j] < keys[i]) {
+                    j++;
+                } else {
+                    long[] words = chunks[i].clone();
+                    long[] otherWords = other.chunks[j];
+                    for (int w = 0; w < CHUNK_WORDS; w++) {
+                        words[w] &= otherWords[w];
+                    }
+                    if (!isZero(words)) {
+                        ret.appendChunk(keys[i], words);
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            return ret;
+        }
+
+        Area andNot(Area other) {
+
+            Area ret = new Area();
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                while (j < other.count && other.keys[j] < keys[i]) {
+                    j++;
+                }
+                long[] words = chunks[i].clone();
+                if (j < other.count && other.keys[j] == keys[i]) {
+                    long[] otherWords = other.chunks[j];
+                    for (int w = 0; w < CHUNK_WORDS; w++) {
+                        words[w] &= ~otherWords[w];
+                    }
+                }
+                if (!isZero(words)) {
+                    ret.appendChunk(keys[i], words);
+                }
+            }
+            return ret;
+        }
+
+        Area copy() {
+
+            Area ret = new Area();
+            for (int i = 0; i < count; i++) {
+                ret.appendChunk(keys[i], chunks[i].clone());
+            }
+            return ret;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Area)) {
+                return false;
+            }
+            Area area = (Area) o;
+            if (count != area.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (keys[i] != area.keys[i] || !Arrays.equals(chunks[i], area.chunks[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+
+            int result = 1;
+            for (int i = 0; i < count; i++) {
+                result = 31 * result + keys[i];
+                result = 31 * result + Arrays.hashCode(chunks[i]);
+            }
+            return result;
+        }
+
+        private void appendChunk(int key, long[] words) {
+
+            insertChunk(count, key, words);
+        }
+
+        private int insertChunk(int index, int key, long[] words) {
+
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                chunks = Arrays.copyOf(chunks, count * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(chunks, index, chunks, index + 1, count - index);
+            keys[index] = key;
+            chunks[index] = words;
+            count++;
+            return index;
+        }
+
+        private void removeChunk(int index) {
+
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, count - index - 1);
+            count--;
+            chunks[count] = null;
+        }
+
+        private static boolean isZero(long[] words) {
+
+            for (long word : words) {
+                if (word != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
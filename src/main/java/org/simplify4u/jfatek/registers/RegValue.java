@@ -19,6 +19,7 @@ package org.simplify4u.jfatek.registers;
 import org.simplify4u.jfatek.FatekException;
 import org.simplify4u.jfatek.io.FatekIOException;
 import org.simplify4u.jfatek.io.FatekReader;
+import org.simplify4u.jfatek.io.FatekWriter;
 
 import java.nio.ByteBuffer;
 
@@ -161,4 +162,21 @@ public abstract class RegValue {
     }
 
     public abstract String toFatekString();
+
+    /**
+     * Write value in Fatek format.
+     *
+     * @param writer output writer
+     * @throws FatekIOException if problem with connection
+     */
+    public void writeTo(FatekWriter writer) throws FatekIOException {
+
+        if (isDiscrete()) {
+            writer.writeNibble((int) value);
+        } else if (is32Bit()) {
+            writer.writeInt32(value);
+        } else {
+            writer.writeInt16(value);
+        }
+    }
 }
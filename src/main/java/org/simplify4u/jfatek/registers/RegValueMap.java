@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map of register values keyed by {@link RegKey} and kept in primitive arrays.
+ * <p>
+ * Keys and unsigned values are stored in insertion order, lookup uses open addressing table
+ * with positions of keys. Position of key returned by {@link #indexOf(int)} is stable until map is cleared,
+ * so consumer can resolve tags once and read values by position in next scans.
+ * <p>
+ * Map can also be used as ordinary <code>Map&lt;Reg, RegValue&gt;</code>,
+ * objects for keys and values are created on each access by this interface.
+ * Removing of entries is not supported.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public final class RegValueMap extends AbstractMap<Reg, RegValue> {
+
+    // golden ratio used to spread keys in table
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    // position + 1 of key in keys array, 0 is empty slot, table is at most half full
+    private int[] table;
+    private int shift;
+
+    public RegValueMap() {
+
+        this(16);
+    }
+
+    /**
+     * Map with space for given number of registers.
+     *
+     * @param expectedSize expected number of registers
+     */
+    public RegValueMap(int expectedSize) {
+
+        int capacity = Math.max(expectedSize, 4);
+        keys = new int[capacity];
+        values = new long[capacity];
+        allocTable(capacity);
+    }
+
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Position of register in map.
+     *
+     * @param key register key
+     * @return position or -1 if map doesn't contain register
+     */
+    public int indexOf(int key) {
+
+        int mask = table.length - 1;
+        for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+            int pos = table[slot];
+            if (pos == 0) {
+                return -1;
+            }
+            if (keys[pos - 1] == key) {
+                return pos - 1;
+            }
+        }
+    }
+
+    public boolean containsKey(int key) {
+
+        return indexOf(key) >= 0;
+    }
+
+    public int keyAt(int index) {
+
+        checkIndex(index);
+        return keys[index];
+    }
+
+    /**
+     * Unsigned value on given position.
+     *
+     * @param index position in map
+     * @return unsigned value
+     */
+    public long rawValueAt(int index) {
+
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Signed value on given position.
+     *
+     * @param index position in map
+     * @return signed value
+     */
+    public long longValueAt(int index) {
+
+        checkIndex(index);
+        int key = keys[index];
+        if (RegKey.isDiscrete(key)) {
+            return values[index];
+        }
+        return RegKey.is32Bits(key) ? (int) values[index] : (short) values[index];
+    }
+
+    /**
+     * Unsigned value of register.
+     *
+     * @param key          register key
+     * @param defaultValue value returned when map doesn't contain register
+     * @return unsigned value
+     */
+    public long getRaw(int key, long defaultValue) {
+
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Put unsigned value of register, position of register already present in map is not changed.
+     *
+     * @param key   register key
+     * @param value unsigned value
+     */
+    public void putRaw(int key, long value) {
+
+        int mask = table.length - 1;
+        int slot = hash(key);
+        while (table[slot] != 0) {
+            int pos = table[slot] - 1;
+            if (keys[pos] == key) {
+                values[pos] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+
+        if (size * 2 > table.length) {
+            allocTable(table.length);
+            for (int i = 0; i < size; i++) {
+                insert(i);
+            }
+        } else {
+            table[slot] = size;
+        }
+    }
+
+    @Override
+    public RegValue get(Object key) {
+
+        if (!(key instanceof Reg)) {
+            return null;
+        }
+        Reg reg = (Reg) key;
+        int index = indexOf(reg);
+        return index < 0 ? null : RegValue.getForReg(reg, values[index]);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+
+        return key instanceof Reg && indexOf((Reg) key) >= 0;
+    }
+
+    @Override
+    public RegValue put(Reg key, RegValue value) {
+
+        RegValue old = get(key);
+        putRaw(RegKey.of(key), value.longValueUnsigned());
+        return old;
+    }
+
+    @Override
+    public void clear() {
+
+        size = 0;
+        Arrays.fill(table, 0);
+    }
+
+    @Override
+    public Set<Entry<Reg, RegValue>> entrySet() {
+
+        return new AbstractSet<Entry<Reg, RegValue>>() {
+            @Override
+            public Iterator<Entry<Reg, RegValue>> iterator() {
+                return new Iterator<Entry<Reg, RegValue>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<Reg, RegValue> next() {
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        Reg reg = RegKey.toReg(keys[next]);
+                        RegValue value = RegValue.getForReg(reg, values[next]);
+                        next++;
+                        return new SimpleImmutableEntry<>(reg, value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // private methods
+
+    private int indexOf(Reg reg) {
+
+        int address = reg.getAddress();
+        if (address < 0 || address > RegKey.MAX_ADDRESS) {
+            return -1;
+        }
+        return indexOf(RegKey.of(reg));
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private int hash(int key) {
+
+        return (key * HASH_MULTIPLIER) >>> shift;
+    }
+
+    /**
+     * Allocate table which is at least two times bigger than given capacity.
+     */
+    private void allocTable(int capacity) {
+
+        int bits = 32 - Integer.numberOfLeadingZeros(capacity * 2 - 1);
+        table = new int[1 << bits];
+        shift = 32 - bits;
+    }
+
+    private void insert(int pos) {
+
+        int mask = table.length - 1;
+        int slot = hash(keys[pos]);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = pos + 1;
+    }
+}
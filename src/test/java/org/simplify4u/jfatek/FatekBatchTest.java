@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekWriter;
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekBatchTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testAllSuccess() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014603D00012014E0ABCDEFG014702R00100AAAA5555"
+                + "&plcInData=0146010A57FC40001;014E0ABCDEFG;01470", null)) {
+
+            FatekReadDataCmd readCmd = new FatekReadDataCmd(fatekPLC, 1, D(12), 3);
+            List<FatekBatch.CommandResult<?>> results = fatekPLC.batch()
+                    .add(readCmd)
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .add(new FatekWriteDataCmd(fatekPLC, 1, R(100), 0xAAAA, 0x5555))
+                    .execute();
+
+            assertEquals(results.size(), 3);
+            for (FatekBatch.CommandResult<?> result : results) {
+                assertTrue(result.isSuccess());
+            }
+            assertEquals(((List<?>) results.get(0).getValue()).toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            assertEquals(readCmd.getResult().toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+        }
+    }
+
+    @Test
+    public void testStopOnError() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014E0ABCDEFG014603D00012"
+                + "&plcInData=014E0ABCDEFG;01463", null)) {
+
+            List<FatekBatch.CommandResult<?>> results = fatekPLC.batch()
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .add(new FatekReadDataCmd(fatekPLC, 1, D(12), 3))
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .execute();
+
+            assertTrue(results.get(0).isSuccess());
+
+            assertTrue(results.get(1).isExecuted());
+            assertFalse(results.get(1).isSuccess());
+            assertTrue(results.get(1).getError().get() instanceof FatekCmdErrorException);
+
+            assertFalse(results.get(2).isExecuted());
+            assertFalse(results.get(2).getError().isPresent());
+        }
+    }
+
+    @Test
+    public void testContinueOnError() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014603D00012014E0ABCDEFG"
+                + "&plcInData=01463;014E0ABCDEFG", null)) {
+
+            List<FatekBatch.CommandResult<?>> results = fatekPLC.batch()
+                    .continueOnError(true)
+                    .add(new FatekReadDataCmd(fatekPLC, 1, D(12), 3))
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .executeAsync().get(5, TimeUnit.SECONDS);
+
+            assertFalse(results.get(0).isSuccess());
+            assertTrue(results.get(0).getError().get() instanceof FatekCmdErrorException);
+            assertTrue(results.get(1).isSuccess());
+        }
+    }
+
+    @Test
+    public void testContinueOnRequestError() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014E0ABCDEFG014E0ABCDEFG"
+                + "&plcInData=014E0ABCDEFG;014E0ABCDEFG", null)) {
+
+            List<FatekBatch.CommandResult<?>> results = fatekPLC.batch()
+                    .continueOnError(true)
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .add(badRequestCmd(fatekPLC))
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .add(badRequestCmd(fatekPLC))
+                    .execute();
+
+            assertTrue(results.get(0).isSuccess());
+            assertEquals(results.get(1).getError().get().getMessage(), "Bad request");
+            assertTrue(results.get(2).isSuccess());
+            assertEquals(results.get(3).getError().get().getMessage(), "Bad request");
+        }
+    }
+
+    @Test
+    public void testStopOnRequestError() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014E0ABCDEFG"
+                + "&plcInData=014E0ABCDEFG", null)) {
+
+            List<FatekBatch.CommandResult<?>> results = fatekPLC.batch()
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .add(badRequestCmd(fatekPLC))
+                    .add(new FatekLoopCmd(fatekPLC, 1, "ABCDEFG"))
+                    .executeAsync().get(5, TimeUnit.SECONDS);
+
+            assertTrue(results.get(0).isSuccess());
+            assertEquals(results.get(1).getError().get().getMessage(), "Bad request");
+            assertFalse(results.get(2).isExecuted());
+            assertFalse(results.get(2).getError().isPresent());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=&plcInData=", null)) {
+            assertTrue(fatekPLC.batch().execute().isEmpty());
+        }
+    }
+
+    // private methods
+
+    /**
+     * Command which fails after part of request is written.
+     */
+    private static FatekCommand<Void> badRequestCmd(FatekPLC fatekPLC) {
+
+        return new FatekCommand<Void>(fatekPLC, 1) {
+            @Override
+            public int getID() {
+                return FatekLoopCmd.CMD_ID;
+            }
+
+            @Override
+            protected void writeData(FatekWriter writer) throws FatekException, FatekIOException {
+                writer.write("ABC");
+                throw new FatekException("Bad request");
+            }
+        };
+    }
+}
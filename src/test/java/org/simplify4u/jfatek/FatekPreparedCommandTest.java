@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.simplify4u.jfatek.registers.DisReg.X;
+import static org.testng.Assert.assertEquals;
+
+import org.simplify4u.jfatek.io.FatekTestServer;
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.simplify4u.jfatek.registers.RegValueMap;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekPreparedCommandTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testReadDataSendTwice() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012014603D00012"
+                + "&plcInData=0146010A57FC40001;01460000100020003", null)) {
+
+            FatekPreparedCommand<List<RegValue>> cmd = FatekPreparedCommand.readData(fatekPLC, 1, D(12), 3);
+            assertEquals(cmd.getFrameCount(), 1);
+
+            assertEquals(cmd.send().toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            assertEquals(cmd.send().toArray(), RegValue16.asArray(0x0001, 0x0002, 0x0003));
+        }
+    }
+
+    @Test
+    public void testReadDataManyFrames() throws Exception {
+
+        StringBuilder first = new StringBuilder();
+        for (int i = 0; i < FatekReadDataCmd.MAX_REGS_16; i++) {
+            first.append(String.format("%04X", i));
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014640R00000014602R00064"
+                + "&plcInData=01460" + first + ";01460ABCD1234", null)) {
+
+            FatekPreparedCommand<List<RegValue>> cmd = FatekPreparedCommand.readData(fatekPLC, 1, R(0), 66);
+            assertEquals(cmd.getFrameCount(), 2);
+
+            List<RegValue> values = cmd.sendAsync().get(5, TimeUnit.SECONDS);
+            assertEquals(values.size(), 66);
+            assertEquals(values.get(63).intValue(), 63);
+            assertEquals(values.get(64).intValueUnsigned(), 0xABCD);
+            assertEquals(values.get(65).intValue(), 0x1234);
+        }
+    }
+
+    @Test
+    public void testReadDiscrete() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014404X0000"
+                + "&plcInData=014401010", null)) {
+
+            List<Boolean> values = FatekPreparedCommand.readDiscrete(fatekPLC, 1, X(0), 4).send();
+            assertEquals(values.toString(), "[true, false, true, false]");
+        }
+    }
+
+    @Test
+    public void testReadMix() throws Exception {
+
+        List<Reg> regs = new ArrayList<>();
+        regs.add(M(1));
+        regs.add(R(100));
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014802M0001R00100"
+                + "&plcInData=0148011234", null)) {
+
+            RegValueMap values = FatekPreparedCommand.readMix(fatekPLC, 1, regs).send();
+            assertEquals(values.get(M(1)).boolValue(), true);
+            assertEquals(values.get(R(100)).intValue(), 0x1234);
+        }
+    }
+
+    @Test(expectedExceptions = FatekCmdErrorException.class)
+    public void testErrorResponse() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012&plcInData=01463", null)) {
+            FatekPreparedCommand.readData(fatekPLC, 1, D(12), 3).send();
+        }
+    }
+
+    @Test
+    public void testConcurrentSends() throws Exception {
+
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            assertEquals(request, "014603D00012");
+            return "0146010A57FC40001";
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp+nio") + "&pipeline=4", null)) {
+
+            FatekPreparedCommand<List<RegValue>> cmd = FatekPreparedCommand.readData(fatekPLC, 1, D(12), 3);
+
+            List<CompletableFuture<List<RegValue>>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(cmd.sendAsync());
+            }
+            for (CompletableFuture<List<RegValue>> future : futures) {
+                assertEquals(future.get(5, TimeUnit.SECONDS).toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            }
+            assertEquals(server.getRequestCount(), 20);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekRateControllerTest {
+
+    private final FatekRateController controller = new FatekRateController(100, 1000, TimeUnit.MILLISECONDS);
+
+    @Test
+    public void testLatency() {
+
+        FatekLatency latency = new FatekLatency();
+        latency.record(TimeUnit.MILLISECONDS.toNanos(20), 2);
+        assertEquals(latency.getAverageMillis(), 10.0);
+        assertEquals(latency.getBaselineMillis(), 10.0);
+
+        latency.record(TimeUnit.MILLISECONDS.toNanos(20), 1);
+        assertEquals(latency.getAverageMillis(), 12.0, 1e-9);
+        assertEquals(latency.getBaselineMillis(), 10.0);
+
+        latency.record(TimeUnit.MILLISECONDS.toNanos(5), 1);
+        assertEquals(latency.getBaselineMillis(), 5.0);
+        assertEquals(latency.getCount(), 3);
+
+        latency.reset();
+        assertEquals(latency.getCount(), 0);
+    }
+
+    @Test
+    public void testBaselineNotRaisedByOverload() {
+
+        FatekLatency latency = new FatekLatency();
+        latency.record(TimeUnit.MILLISECONDS.toNanos(1), 1);
+        for (int i = 0; i < 200; i++) {
+            latency.record(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        }
+
+        assertEquals(latency.getBaselineMillis(), 1.0);
+        assertEquals(controller.nextPeriod(200, latency, false), 300);
+    }
+
+    @Test
+    public void testBaselineFollowsPermanentChange() {
+
+        FatekLatency latency = new FatekLatency();
+        latency.record(TimeUnit.MILLISECONDS.toNanos(1), 1);
+        for (int i = 0; i < 1000; i++) {
+            latency.record(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        }
+
+        assertEquals(latency.getBaselineMillis(), 10.0);
+        assertEquals(controller.nextPeriod(200, latency, false), 180);
+    }
+
+    @Test
+    public void testNotEnoughSamples() {
+
+        FatekLatency latency = latency(1, 100, 100);
+        assertEquals(controller.nextPeriod(200, latency, false), 200);
+    }
+
+    @Test
+    public void testSlowDownAboveKnee() {
+
+        // baseline stays 1 ms, average grows
+        FatekLatency latency = latency(1, 10, 10, 10, 10, 10, 10);
+        assertEquals(controller.nextPeriod(200, latency, false), 300);
+        assertEquals(controller.nextPeriod(800, latency, false), 1000);
+    }
+
+    @Test
+    public void testSpeedUpBelowRelax() {
+
+        FatekLatency latency = latency(10, 10, 10, 10, 10);
+        assertEquals(controller.nextPeriod(200, latency, false), 180);
+        assertEquals(controller.nextPeriod(105, latency, false), 100);
+    }
+
+    @Test
+    public void testKeepBetweenRatios() {
+
+        // average about 1.5 of baseline
+        FatekLatency latency = latency(10, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15);
+        assertEquals(controller.nextPeriod(200, latency, false), 200);
+    }
+
+    @Test
+    public void testOverrun() {
+
+        assertEquals(controller.nextPeriod(200, new FatekLatency(), true), 300);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+
+        new FatekRateController(100, 10, TimeUnit.MILLISECONDS);
+    }
+
+    // private methods
+
+    private static FatekLatency latency(long... millis) {
+
+        FatekLatency latency = new FatekLatency();
+        for (long m : millis) {
+            latency.record(TimeUnit.MILLISECONDS.toNanos(m), 1);
+        }
+        return latency;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.DisBlock;
+import org.simplify4u.jfatek.registers.RegBlock;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDataBlockCmdTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testBlockValue16() throws Exception {
+
+        long[] values = new long[3];
+        RegBlock block = new RegBlock(D(12), values);
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012014603D00012"
+                + "&plcInData=0146010A5FFFF0001;01460000100020003", null)) {
+
+            FatekReadDataBlockCmd cmd = new FatekReadDataBlockCmd(fatekPLC, 1, block);
+
+            assertSame(cmd.send(), block);
+            assertEquals(values, new long[]{0x10A5, 0xFFFF, 0x0001});
+            assertEquals(block.intValue(1), -1);
+            assertEquals(block.intValueUnsigned(1), 0xFFFF);
+            assertEquals(block.getRegValue(0), new RegValue16(0x10A5));
+            assertEquals(block.getReg(2), D(14));
+
+            // next poll reuses the same array
+            cmd.send();
+            assertEquals(values, new long[]{1, 2, 3});
+        }
+    }
+
+    @Test
+    public void testBlockValue32() throws Exception {
+
+        RegBlock block = new RegBlock(DD(12), 2);
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014602DD00012"
+                + "&plcInData=01460FFFFFFFE3F800000", null)) {
+
+            new FatekReadDataBlockCmd(fatekPLC, 1, block).send();
+        }
+
+        assertEquals(block.longValue(0), -2L);
+        assertEquals(block.longValueUnsigned(0), 0xFFFFFFFEL);
+        assertEquals(block.floatValue(1), 1.0f);
+        assertEquals(block.getReg(1), DD(14));
+    }
+
+    @Test
+    public void testBlockMoreMessages() throws Exception {
+
+        StringBuilder in1 = new StringBuilder("01460");
+        StringBuilder in2 = new StringBuilder(";01460");
+        for (int i = 0; i < 70; i++) {
+            (i < 64 ? in1 : in2).append(String.format("%04X", i));
+        }
+
+        RegBlock block = new RegBlock(D(0), 70);
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014640D00000014606D00064"
+                + "&plcInData=" + in1 + in2, null)) {
+
+            new FatekReadDataBlockCmd(fatekPLC, 1, block).send();
+        }
+
+        for (int i = 0; i < 70; i++) {
+            assertEquals(block.intValue(i), i);
+        }
+    }
+
+    @Test
+    public void testDiscreteBlock() throws Exception {
+
+        StringBuilder in1 = new StringBuilder("01440");
+        StringBuilder in2 = new StringBuilder(";01440");
+        for (int i = 0; i < 300; i++) {
+            (i < 256 ? in1 : in2).append(i % 3 == 0 ? '1' : '0');
+        }
+
+        long[] words = new long[5];
+        DisBlock block = new DisBlock(M(0), words, 300);
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014400M0000" + "01442CM0256"
+                + "&plcInData=" + in1 + in2, null)) {
+
+            assertSame(new FatekReadDiscreteBlockCmd(fatekPLC, 1, block).send(), block);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            assertEquals(block.get(i), i % 3 == 0, "discrete " + i);
+        }
+        assertEquals(block.cardinality(), 100);
+        assertEquals(block.toBitSet().cardinality(), 100);
+        assertEquals(words[0] & 0xF, 0b1001L);
+        assertEquals(block.getReg(299), M(299));
+    }
+
+    @Test
+    public void testDiscreteBlockSet() {
+
+        DisBlock block = new DisBlock(M(0), 70);
+        block.set(65, true);
+        assertTrue(block.get(65));
+        block.set(65, false);
+        assertFalse(block.get(65));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDiscreteBlockShortArray() {
+
+        new DisBlock(M(0), new long[1], 65);
+    }
+}
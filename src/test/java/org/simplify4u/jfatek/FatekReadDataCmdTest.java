@@ -65,4 +65,81 @@ public class FatekReadDataCmdTest {
             assertEquals(list.toArray(), RegValue32.asArray(0x10A510A5L, 0x7FC47FC4L, 0x00010001L));
         }
     }
+
+    @Test
+    public void testResultNotChangedByNextSend() throws Exception {
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014602D00012014602D00012"
+                + "&plcInData=0146010A57FC4;014600001FFFF", null)) {
+
+            FatekReadDataCmd cmd = new FatekReadDataCmd(fatekPLC, 1, D(12), 2);
+            List<RegValue> first = cmd.send();
+            List<RegValue> second = cmd.send();
+
+            assertEquals(first.toArray(), RegValue16.asArray(0x10A5, 0x7FC4));
+            assertEquals(second.toArray(), RegValue16.asArray(0x0001, 0xFFFF));
+        }
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testResultUnmodifiable() throws Exception {
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014601D00012"
+                + "&plcInData=0146010A5", null)) {
+
+            new FatekReadDataCmd(fatekPLC, 1, D(12), 1).send().add(new RegValue16(1));
+        }
+    }
+
+    @Test
+    public void testCmdManyMessages16() throws Exception {
+
+        StringBuilder in = new StringBuilder("01460");
+        for (int i = 0; i < 100; i++) {
+            if (i == 64) {
+                in.append(";01460");
+            }
+            in.append(String.format("%04X", i));
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014640D00000" + "014624D00064"
+                + "&plcInData=" + in, null)) {
+
+            List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(0), 100).send();
+
+            assertEquals(list.size(), 100);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(list.get(i).intValue(), i);
+            }
+        }
+    }
+
+    @Test
+    public void testCmdManyMessages32() throws Exception {
+
+        StringBuilder in = new StringBuilder("01460");
+        for (int i = 0; i < 40; i++) {
+            if (i == 32) {
+                in.append(";01460");
+            }
+            in.append(String.format("%08X", i));
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014620DD00010" + "014608DD00074"
+                + "&plcInData=" + in, null)) {
+
+            List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, DD(10), 40).send();
+
+            assertEquals(list.size(), 40);
+            for (int i = 0; i < 40; i++) {
+                assertEquals(list.get(i).longValue(), i);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidNumber() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=&plcInData=", null)) {
+            new FatekReadDataCmd(fatekPLC, 1, D(0), 0);
+        }
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.RegDataView;
+import org.simplify4u.jfatek.registers.RegMixView;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.simplify4u.jfatek.registers.RegValue32;
+import org.simplify4u.jfatek.registers.RegValueMap;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadDataViewCmdTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testDataView() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012014603D00012"
+                + "&plcInData=0146010A5FFFF0001;01460000100020003", null)) {
+
+            FatekReadDataViewCmd cmd = new FatekReadDataViewCmd(fatekPLC, 1, D(12), 3);
+
+            RegDataView view = cmd.send();
+            assertEquals(view.intValueUnsigned(0), 0x10A5);
+            assertEquals(view.intValue(1), -1);
+            assertEquals(view.intValueUnsigned(1), 0xFFFF);
+            assertEquals(view.getRegValue(2), new RegValue16(1));
+            assertEquals(view.getReg(2), D(14));
+
+            RegDataView copy = view.copy();
+
+            // next execution reuses the same view
+            assertSame(cmd.send(), view);
+            assertEquals(view.intValue(1), 2);
+            assertEquals(copy.intValue(1), -1);
+            assertEquals(view.toBlock().getValues(), new long[]{1, 2, 3});
+        }
+    }
+
+    @Test
+    public void testDataView32MoreMessages() throws Exception {
+
+        StringBuilder in1 = new StringBuilder("01460");
+        StringBuilder in2 = new StringBuilder(";01460");
+        for (int i = 0; i < 33; i++) {
+            (i < 32 ? in1 : in2).append(i == 32 ? "3F800000" : String.format("%08X", i));
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014620DD00000014601DD00064"
+                + "&plcInData=" + in1 + in2, null)) {
+
+            RegDataView view = new FatekReadDataViewCmd(fatekPLC, 1, DD(0), 33).send();
+
+            assertEquals(view.size(), 33);
+            assertEquals(view.longValue(31), 31L);
+            assertEquals(view.floatValue(32), 1.0f);
+            assertEquals(view.getReg(32), DD(64));
+        }
+    }
+
+    @Test(expectedExceptions = FatekException.class, expectedExceptionsMessageRegExp = "Invalid hex digit: 0x47")
+    public void testDataViewInvalidDigit() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012"
+                + "&plcInData=0146010A5FFFG0001", null)) {
+
+            new FatekReadDataViewCmd(fatekPLC, 1, D(12), 3).send();
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testDataViewIndex() {
+
+        new RegDataView(D(0), 3).longValue(3);
+    }
+
+    @Test
+    public void testMixView() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014803M0001R00100DD00010"
+                + "&plcInData=014801FFFEFFFFFFFD", null)) {
+
+            RegMixView view = new FatekReadMixDataViewCmd(fatekPLC, 1, M(1), R(100), DD(10)).send();
+
+            assertEquals(view.size(), 3);
+            assertTrue(view.boolValue(0));
+            assertEquals(view.intValue(1), -2);
+            assertEquals(view.intValueUnsigned(1), 0xFFFE);
+            assertEquals(view.longValue(2), -3L);
+            assertEquals(view.indexOf(DD(10)), 2);
+            assertEquals(view.indexOf(R(101)), -1);
+            assertEquals(view.get(DD(10)), new RegValue32(0xFFFFFFFDL));
+            assertNull(view.get(R(101)));
+
+            RegValueMap map = view.toMap();
+            assertEquals(map.get(M(1)).boolValue(), true);
+            assertEquals(map.get(R(100)).intValueUnsigned(), 0xFFFE);
+        }
+    }
+}
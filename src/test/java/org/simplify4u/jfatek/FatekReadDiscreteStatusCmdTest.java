@@ -19,6 +19,7 @@ package org.simplify4u.jfatek;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.simplify4u.jfatek.registers.DisReg.M;
 import static org.simplify4u.jfatek.registers.DisReg.S;
 import static org.simplify4u.jfatek.registers.DisReg.T;
 import static org.testng.Assert.assertEquals;
@@ -80,4 +81,26 @@ public class FatekReadDiscreteStatusCmdTest {
             assertEquals(values, tList);
         }
     }
+
+    @Test
+    public void testCmdManyMessages() throws Exception {
+
+        StringBuilder in = new StringBuilder("01440");
+        List<Boolean> expected = new ArrayList<>(300);
+        for (int i = 0; i < 300; i++) {
+            if (i == 256) {
+                in.append(";01440");
+            }
+            in.append(i % 3 == 0 ? 1 : 0);
+            expected.add(i % 3 == 0);
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014400M0000" + "01442CM0256"
+                + "&plcInData=" + in, null)) {
+
+            List<Boolean> values = new FatekReadDiscreteCmd(fatekPLC, 1, M(0), 300).send();
+
+            assertEquals(values, expected);
+        }
+    }
 }
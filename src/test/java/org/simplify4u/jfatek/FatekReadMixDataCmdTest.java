@@ -28,7 +28,9 @@ import static org.testng.Assert.assertEquals;
 
 import org.simplify4u.jfatek.io.MockConnectionFactory;
 import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegKey;
 import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValueMap;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -58,6 +60,23 @@ public class FatekReadMixDataCmdTest {
         assertEquals(map.get(DWM(0)).longValueUnsigned(), 0x003547BAL);
     }
 
+    @Test
+    public void testCmdKeys() throws Exception {
+
+        RegValueMap map;
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014803R00001Y0009DWM0000&plcInData=014805C341FFFFFFFE", null)) {
+
+            FatekReadMixDataCmd cmd = new FatekReadMixDataCmd(fatekPLC, 1, R(1), Y(9), DWM(0));
+            cmd.send();
+            map = cmd.getValueMap();
+        }
+
+        assertEquals(map.getRaw(RegKey.of(R(1)), -1), 0x5c34);
+        assertEquals(map.getRaw(RegKey.of(Y(9)), -1), 1);
+        assertEquals(map.longValueAt(map.indexOf(RegKey.of(DWM(0)))), -2);
+    }
+
     @Test
     public void testLongMessage1() throws Exception {
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import org.simplify4u.jfatek.io.FatekTestServer;
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadPlannerTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testScatteredAndContinuous() throws Exception {
+
+        List<Reg> regs = new ArrayList<>(Arrays.asList(D(100), D(102), D(105)));
+        StringBuilder blockData = new StringBuilder();
+        for (int i = 0; i <= 30; i++) {
+            regs.add(R(2000 + i));
+            blockData.append(String.format("%04X", i));
+        }
+
+        Map<Reg, RegValue> map;
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=01461FR02000" + "014803D00100D00102D00105"
+                + "&plcInData=01460" + blockData + ";01480000100020003", null)) {
+
+            FatekReadPlan plan = new FatekReadPlanner().plan(fatekPLC, 1, regs);
+
+            assertEquals(plan.getCommands().size(), 2);
+            assertTrue(plan.getCommands().get(0) instanceof FatekReadDataCmd);
+            assertTrue(plan.getCommands().get(1) instanceof FatekReadMixDataCmd);
+
+            map = plan.execute();
+        }
+
+        assertEquals(map.size(), 34);
+        assertEquals(map.get(D(100)).intValue(), 1);
+        assertEquals(map.get(D(102)).intValue(), 2);
+        assertEquals(map.get(D(105)).intValue(), 3);
+        for (int i = 0; i <= 30; i++) {
+            assertEquals(map.get(R(2000 + i)).intValue(), i);
+        }
+    }
+
+    @Test
+    public void testReadThroughGap() throws Exception {
+
+        List<Reg> regs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            if (i != 5) {
+                regs.add(D(i));
+            }
+        }
+
+        Map<Reg, RegValue> map;
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=01460AD00000"
+                + "&plcInData=014600000010002000300040005000600070008000900", null)) {
+
+            FatekReadPlan plan = new FatekReadPlanner().plan(fatekPLC, 1, regs);
+            assertEquals(plan.getCommands().size(), 1);
+
+            map = plan.execute();
+        }
+
+        assertEquals(map.size(), 9);
+        assertEquals(map.get(D(4)).intValue(), 0x0400);
+        assertEquals(map.get(D(6)).intValue(), 0x0600);
+    }
+
+    @Test
+    public void testDiscreteExecuteTwice() throws Exception {
+
+        List<Reg> regs = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) {
+            if (i != 7) {
+                regs.add(M(i));
+            }
+        }
+        regs.add(R(5));
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=014415M0000014801R00005014415M0000014801R00005"
+                + "&plcInData=01440101010101010101010101;0148012AB"
+                + ";01440010101010101010101010;01480CDEF", null)) {
+
+            FatekReadPlan plan = new FatekReadPlanner().plan(fatekPLC, 1, regs);
+            assertEquals(plan.getCommands().size(), 2);
+
+            Map<Reg, RegValue> map = plan.execute();
+            assertEquals(map.size(), 21);
+            assertEquals(map.get(M(0)).boolValue(), true);
+            assertEquals(map.get(M(1)).boolValue(), false);
+            assertEquals(map.get(M(20)).boolValue(), true);
+            assertEquals(map.get(R(5)).intValueUnsigned(), 0x12AB);
+
+            map = plan.executeAsync().get(5, TimeUnit.SECONDS);
+            assertEquals(map.size(), 21);
+            assertEquals(map.get(M(0)).boolValue(), false);
+            assertEquals(map.get(M(20)).boolValue(), false);
+            assertEquals(map.get(R(5)).intValueUnsigned(), 0xCDEF);
+        }
+    }
+
+    @Test
+    public void testOverlappingExecuteRejected() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            assertEquals(request, "014803D00012D00013D00014");
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "0148010A57FC40001";
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null)) {
+
+            FatekReadPlan plan = new FatekReadPlanner().plan(fatekPLC, 1, Arrays.asList(D(12), D(13), D(14)));
+
+            CompletableFuture<Map<Reg, RegValue>> first = plan.executeAsync();
+
+            try {
+                plan.executeAsync().get(5, TimeUnit.SECONDS);
+                fail("Overlapping execution should be rejected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+
+            try {
+                plan.execute();
+                fail("Overlapping execution should be rejected");
+            } catch (IllegalStateException e) {
+                assertEquals(e.getMessage(), "Plan is already executed");
+            }
+
+            release.countDown();
+            assertEquals(first.get(5, TimeUnit.SECONDS).get(D(12)).intValue(), 0x10A5);
+
+            // plan can be executed again after previous execution is finished
+            assertEquals(plan.execute().get(D(14)).intValue(), 1);
+            assertEquals(server.getRequestCount(), 2);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegBlock;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekReadStreamCmdTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testDataStream() throws Exception {
+
+        StringBuilder in1 = new StringBuilder("01460");
+        StringBuilder in2 = new StringBuilder(";01460");
+        for (int i = 0; i < 70; i++) {
+            (i < 64 ? in1 : in2).append(String.format("%04X", i));
+        }
+
+        // block is valid only during consumer call
+        List<String> blocks = new ArrayList<>();
+        List<RegBlock> instances = new ArrayList<>();
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014640D00000014606D00064"
+                + "&plcInData=" + in1 + in2, null)) {
+
+            new FatekReadDataStreamCmd(fatekPLC, 1, D(0), 70, block -> {
+                instances.add(block);
+                blocks.add(block.getStartReg() + " " + block.size() + " " + block.intValue(block.size() - 1));
+            }).send();
+        }
+
+        assertEquals(blocks, Arrays.asList("D00000 64 63", "D00064 6 69"));
+        assertTrue(instances.get(0) == instances.get(1));
+    }
+
+    @Test
+    public void testMixStream() throws Exception {
+
+        // 32 bits register takes two units, 33 registers do not fit in one message
+        List<Reg> regs = new ArrayList<>();
+        StringBuilder out1 = new StringBuilder("014820");
+        StringBuilder in1 = new StringBuilder("01480");
+        for (int i = 0; i < 32; i++) {
+            regs.add(DD(i * 2));
+            out1.append(DD(i * 2));
+            in1.append(String.format("%08X", i));
+        }
+        regs.add(R(5));
+
+        List<Integer> frameSizes = new ArrayList<>();
+        List<Long> lastValues = new ArrayList<>();
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=" + out1 + "014801R00005"
+                + "&plcInData=" + in1 + ";014801234", null)) {
+
+            new FatekReadMixDataStreamCmd(fatekPLC, 1, frame -> {
+                frameSizes.add(frame.size());
+                lastValues.add(frame.longValueAt(frame.size() - 1));
+            }, regs).send();
+        }
+
+        assertEquals(frameSizes.toString(), "[32, 1]");
+        assertEquals(lastValues.toString(), "[31, 4660]");
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.FatekConfig;
+import org.simplify4u.jfatek.io.FatekConnection;
+import org.simplify4u.jfatek.io.FatekConnectionFactory;
+import org.simplify4u.jfatek.io.FatekIOException;
+import org.simplify4u.jfatek.io.FatekTestServer;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegChangeDetector;
+import org.simplify4u.jfatek.registers.RegChanges;
+import org.simplify4u.jfatek.registers.RegValueMap;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekScanEngineTest {
+
+    @Test
+    public void testScanGroup() throws Exception {
+
+        CountDownLatch cycles = new CountDownLatch(3);
+        AtomicReference<RegValueMap> values = new AtomicReference<>();
+        AtomicReference<Exception> error = new AtomicReference<>();
+
+        try (FatekTestServer server = new FatekTestServer(FatekScanEngineTest::respond);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine(1, new FatekReadPlanner())) {
+
+            engine.addListener(result -> {
+                if (!result.isSuccess()) {
+                    error.set(result.getError().get());
+                }
+                assertTrue(result.getTimestamp() >= result.getStartTime());
+                assertEquals(result.getPeriod(), 20);
+                // first cycle can be started before second tags are added
+                if (result.getRegs().size() == 5) {
+                    values.set(result.toMap());
+                    cycles.countDown();
+                }
+            });
+
+            engine.addTags(fatekPLC, 1, 20, TimeUnit.MILLISECONDS, Arrays.asList(D(0), D(1), D(2), D(500)));
+            engine.addTags(fatekPLC, 1, 20, TimeUnit.MILLISECONDS, Collections.singletonList(M(5)));
+            assertEquals(engine.getGroupCount(), 1);
+
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(error.get(), null);
+        RegValueMap map = values.get();
+        assertEquals(map.size(), 5);
+        assertEquals(map.get(D(0)).intValue(), 0x0100);
+        assertEquals(map.get(D(2)).intValue(), 0x0102);
+        assertEquals(map.get(D(500)).intValue(), 0x100 + 500);
+        assertTrue(map.get(M(5)).boolValue());
+    }
+
+    @Test
+    public void testRemoveTags() throws Exception {
+
+        try (FatekTestServer server = new FatekTestServer(FatekScanEngineTest::respond);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine()) {
+
+            engine.addTags(fatekPLC, 1, 1, TimeUnit.SECONDS, Arrays.asList(D(0), D(1)));
+            engine.addTags(fatekPLC, 1, 2, TimeUnit.SECONDS, Collections.singletonList(D(0)));
+            assertEquals(engine.getGroupCount(), 2);
+
+            engine.removeTags(fatekPLC, 1, 1, TimeUnit.SECONDS, Collections.singletonList(D(0)));
+            assertEquals(engine.getGroupCount(), 2);
+
+            engine.removeTags(fatekPLC, 1, 1, TimeUnit.SECONDS, Collections.singletonList(D(1)));
+            assertEquals(engine.getGroupCount(), 1);
+        }
+    }
+
+    @Test
+    public void testScanError() throws Exception {
+
+        CountDownLatch cycles = new CountDownLatch(1);
+        AtomicReference<FatekScanResult> failed = new AtomicReference<>();
+
+        String uri;
+        try (FatekTestServer server = new FatekTestServer(FatekScanEngineTest::respond)) {
+            uri = server.getUri("tcp");
+        }
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri, null);
+             FatekScanEngine engine = new FatekScanEngine()) {
+
+            engine.addListener(result -> {
+                if (!result.isSuccess()) {
+                    failed.set(result);
+                    cycles.countDown();
+                }
+            });
+            engine.addTags(fatekPLC, 1, 50, TimeUnit.MILLISECONDS, Collections.singletonList(D(0)));
+
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        }
+
+        assertFalse(failed.get().isSuccess());
+        assertTrue(failed.get().getError().get() instanceof FatekIOException);
+    }
+
+    @Test
+    public void testFailedCommandInvalidatesOnlyItsTags() throws Exception {
+
+        CountDownLatch cycles = new CountDownLatch(1);
+        AtomicReference<String> checked = new AtomicReference<>();
+
+        // mixed read fails, block read is successful
+        try (FatekTestServer server = new FatekTestServer(
+                request -> request.startsWith("0148") ? "01484" : respond(request));
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine(1, new FatekReadPlanner())) {
+
+            engine.addListener(result -> {
+                checked.set(String.valueOf(result.isSuccess()) + result.isValid(D(0)) + result.isValid(D(500))
+                        + result.isValid(M(5)) + result.toMap().size()
+                        + result.getError(D(0)).isPresent() + result.getError(D(500)).get().getClass().getSimpleName());
+                cycles.countDown();
+            });
+            List<Reg> tags = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                tags.add(D(i));
+            }
+            tags.add(D(500));
+            tags.add(M(5));
+            engine.addTags(fatekPLC, 1, 1, TimeUnit.SECONDS, tags);
+
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(checked.get(), "falsetruefalsefalse20falseFatekCmdErrorException");
+    }
+
+    @Test
+    public void testDetectorSkipsNotReadTags() throws Exception {
+
+        CountDownLatch cycles = new CountDownLatch(2);
+        AtomicInteger requests = new AtomicInteger();
+        List<String> reported = new ArrayList<>();
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(D(0), D(1)));
+
+        // first cycle fails
+        try (FatekTestServer server = new FatekTestServer(
+                request -> requests.getAndIncrement() == 0 ? request.substring(0, 4) + "4" : respond(request));
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine(1, new FatekReadPlanner())) {
+
+            engine.addListener(result -> {
+                if (cycles.getCount() > 0) {
+                    RegChanges changes = detector.detect(result::getRaw, result::isValid);
+                    reported.add("success " + result.isSuccess());
+                    for (int i = changes.nextChanged(0); i >= 0; i = changes.nextChanged(i + 1)) {
+                        reported.add(changes.getReg(i) + "=" + changes.rawValue(i));
+                    }
+                    cycles.countDown();
+                }
+            });
+            engine.addTags(fatekPLC, 1, 20, TimeUnit.MILLISECONDS, Arrays.asList(D(0), D(1)));
+
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(reported, Arrays.asList("success false", "success true", "D00000=256", "D00001=257"));
+    }
+
+    @Test
+    public void testUnreachablePLCDoesNotDelayOthers() throws Exception {
+
+        HangingConnectionFactory factory = new HangingConnectionFactory();
+        FatekPLC.registerConnectionFactory(factory);
+        CountDownLatch cycles = new CountDownLatch(3);
+
+        try (FatekTestServer server = new FatekTestServer(FatekScanEngineTest::respond);
+             FatekPLC unreachable = new FatekPLC("hang://plc", null);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine(1, new FatekReadPlanner())) {
+
+            engine.addListener(result -> {
+                if (result.getFatekPLC() == fatekPLC && result.isSuccess()) {
+                    cycles.countDown();
+                }
+            });
+            engine.addTags(unreachable, 1, 10, TimeUnit.MILLISECONDS, Collections.singletonList(D(0)));
+            assertTrue(factory.connecting.await(5, TimeUnit.SECONDS));
+
+            engine.addTags(fatekPLC, 1, 10, TimeUnit.MILLISECONDS, Collections.singletonList(D(0)));
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        } finally {
+            factory.release.countDown();
+        }
+    }
+
+    @Test
+    public void testSlowDownOnOverrun() throws Exception {
+
+        CountDownLatch slowedDown = new CountDownLatch(1);
+
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return respond(request);
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp"), null);
+             FatekScanEngine engine = new FatekScanEngine()) {
+
+            engine.setRateController(fatekPLC, new FatekRateController(10, 200, TimeUnit.MILLISECONDS));
+            engine.addListener(result -> {
+                if (result.getCurrentPeriod() > 10) {
+                    slowedDown.countDown();
+                }
+            });
+            engine.addTags(fatekPLC, 1, 10, TimeUnit.MILLISECONDS, Collections.singletonList(D(0)));
+
+            assertTrue(slowedDown.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    // private methods
+
+    /**
+     * Connect waits until it is released and then fails.
+     */
+    private static final class HangingConnectionFactory implements FatekConnectionFactory {
+
+        private final CountDownLatch connecting = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String getSchema() {
+            return "HANG";
+        }
+
+        @Override
+        public FatekConnection getConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener)
+                throws IOException {
+
+            connecting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("PLC is unreachable");
+        }
+    }
+
+    /**
+     * Response where 16 bits register has value 0x0100 + address and discrete is on when address is odd.
+     */
+    private static String respond(String request) {
+
+        String cmd = request.substring(2, 4);
+        int count = Integer.parseInt(request.substring(4, 6), 16);
+        StringBuilder response = new StringBuilder("01").append(cmd).append('0');
+
+        switch (cmd) {
+            case "46": {
+                int address = Integer.parseInt(request.substring(7, 12));
+                for (int i = 0; i < count; i++) {
+                    response.append(String.format("%04X", 0x100 + address + i));
+                }
+                break;
+            }
+            case "48": {
+                int pos = 6;
+                for (int i = 0; i < count; i++) {
+                    if (request.charAt(pos) == 'M') {
+                        response.append(Integer.parseInt(request.substring(pos + 1, pos + 5)) % 2);
+                        pos += 5;
+                    } else {
+                        response.append(String.format("%04X", 0x100 + Integer.parseInt(request.substring(pos + 1, pos + 6))));
+                        pos += 6;
+                    }
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unexpected request: " + request);
+        }
+        return response.toString();
+    }
+}
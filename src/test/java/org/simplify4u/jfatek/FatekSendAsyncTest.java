@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekSendAsyncTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testSendAsync() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012"
+                + "&plcInData=0146010A57FC40001", null)) {
+
+            FatekReadDataCmd cmd = new FatekReadDataCmd(fatekPLC, 1, D(12), 3);
+            List<RegValue> list = cmd.sendAsync().get(5, TimeUnit.SECONDS);
+
+            assertEquals(list.toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            assertEquals(cmd.getResult(), list);
+        }
+    }
+
+    @Test
+    public void testSendAsyncManyMessagesOnExecutor() throws Exception {
+
+        StringBuilder outRegs = new StringBuilder("014840");
+        StringBuilder inRegs = new StringBuilder("01480");
+        Reg[] regs = new Reg[80];
+        for (int i = 0; i < regs.length; i++) {
+            if (i == 64) {
+                outRegs.append("014810");
+                inRegs.append(";01480");
+            }
+            outRegs.append(String.format("R%05d", i));
+            inRegs.append(String.format("%04X", i));
+            regs[i] = R(i);
+        }
+
+        AtomicInteger executorTasks = new AtomicInteger();
+        Executor executor = task -> {
+            executorTasks.incrementAndGet();
+            task.run();
+        };
+
+        try (FatekPLC fatekPLC = new FatekPLC(String.format("test://test?plcOutData=%s&plcInData=%s", outRegs, inRegs),
+                null)) {
+
+            Map<Reg, RegValue> map = new FatekReadMixDataCmd(fatekPLC, 1, regs).sendAsync(executor)
+                    .get(5, TimeUnit.SECONDS);
+
+            for (int i = 0; i < regs.length; i++) {
+                assertEquals(map.get(regs[i]).intValue(), i);
+            }
+            assertEquals(executorTasks.get(), 1);
+        }
+    }
+
+    @Test
+    public void testSendAsyncError() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?plcOutData=014603D00012"
+                + "&plcInData=0146410A57FC40001", null)) {
+
+            CompletableFuture<List<RegValue>> future = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync();
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                throw new AssertionError("Exception expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof FatekCmdErrorException, e.getCause().toString());
+            }
+        }
+    }
+}
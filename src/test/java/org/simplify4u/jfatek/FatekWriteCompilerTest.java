@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.simplify4u.jfatek.registers.DisReg.Y;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.io.MockConnectionFactory;
+import org.simplify4u.jfatek.registers.Reg;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.simplify4u.jfatek.registers.RegValueDis;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekWriteCompilerTest {
+
+    @BeforeClass
+    public void setup() {
+        FatekPLC.registerConnectionFactory(new MockConnectionFactory());
+    }
+
+    @Test
+    public void testRunsAndMix() throws Exception {
+
+        Map<Reg, RegValue> values = new LinkedHashMap<>();
+        StringBuilder runData = new StringBuilder();
+        values.put(D(5), new RegValue16(5));
+        for (int i = 9; i >= 0; i--) {
+            values.put(R(100 + i), new RegValue16(i));
+            values.put(M(i), i % 2 == 0 ? RegValueDis.TRUE : RegValueDis.FALSE);
+        }
+        for (int i = 0; i < 10; i++) {
+            runData.append(String.format("%04X", i));
+        }
+        values.put(Y(1), RegValueDis.FALSE);
+        values.put(Y(0), RegValueDis.TRUE);
+
+        List<FatekWritePlan.FrameResult> results;
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=01450AM00001010101010" + "01470AR00100" + runData + "014903Y00001Y00010D000050005"
+                + "&plcInData=01450;01470;01490", null)) {
+
+            FatekWritePlan plan = new FatekWriteCompiler().compile(fatekPLC, 1, values);
+
+            assertEquals(plan.getCommands().size(), 3);
+            assertTrue(plan.getCommands().get(0) instanceof FatekWriteDiscreteCmd);
+            assertTrue(plan.getCommands().get(1) instanceof FatekWriteDataCmd);
+            assertTrue(plan.getCommands().get(2) instanceof FatekWriteMixDataCmd);
+
+            results = plan.execute();
+        }
+
+        assertEquals(results.size(), 3);
+        for (FatekWritePlan.FrameResult result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertEquals(results.get(1).getRegs().size(), 10);
+        assertEquals(results.get(1).getRegs().get(0), R(100));
+    }
+
+    @Test
+    public void testMixLimitAndFailedFrame() throws Exception {
+
+        Map<Reg, RegValue> values = new LinkedHashMap<>();
+        StringBuilder out1 = new StringBuilder("014920");
+        StringBuilder out2 = new StringBuilder("014908");
+        for (int i = 0; i < 40; i++) {
+            values.put(D(i * 2), new RegValue16(i));
+            (i < 32 ? out1 : out2).append(String.format("D%05d%04X", i * 2, i));
+        }
+
+        List<FatekWritePlan.FrameResult> results;
+        try (FatekPLC fatekPLC = new FatekPLC("test://test?"
+                + "plcOutData=" + out1 + out2 + "&plcInData=01492;01490", null)) {
+
+            results = new FatekWriteCompiler().compile(fatekPLC, 1, values).execute();
+        }
+
+        assertEquals(results.size(), 2);
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(0).getError().get() instanceof FatekCmdErrorException);
+        assertEquals(results.get(0).getRegs().size(), 32);
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(results.get(1).getRegs().size(), 8);
+    }
+}
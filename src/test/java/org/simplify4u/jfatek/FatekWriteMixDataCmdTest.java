@@ -89,4 +89,25 @@ public class FatekWriteMixDataCmdTest {
             new FatekWriteMixDataCmd(fatekPLC, 1, Y(0), RegValueDis.TRUE).send();
         }
     }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Value .* does not match register WY0008")
+    public void test32BitsValueFor16BitsReg() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test", null)) {
+            new FatekWriteMixDataCmd(fatekPLC, 1).addReg(WY(8), new RegValue32(0x10000L));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Value .* does not match register Y0000")
+    public void testDataValueForDiscreteReg() throws Exception {
+
+        Map<Reg, RegValue> map = new LinkedHashMap<>();
+        map.put(Y(0), new RegValue16(2));
+
+        try (FatekPLC fatekPLC = new FatekPLC("test://test", null)) {
+            new FatekWriteMixDataCmd(fatekPLC, 1, map);
+        }
+    }
 }
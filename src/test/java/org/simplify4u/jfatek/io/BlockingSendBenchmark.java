@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.simplify4u.jfatek.FatekLoopCmd;
+import org.simplify4u.jfatek.FatekPLC;
+
+/**
+ * Blocking send on idle connection, which is executed by caller thread,
+ * compared with send handed off to connection worker.
+ * <p>
+ * Simulated PLC answers at once, so time of thread hand off is not hidden by link latency.
+ * Run after <code>mvn test-compile</code> by main method from IDE or with test class path.
+ *
+ * @author Slawomir Jaranowski.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=info")
+@Threads(1)
+public class BlockingSendBenchmark {
+
+    private FatekPLC fatekPLC;
+    private FatekLoopCmd cmd;
+
+    /**
+     * PLC which answers by sent message without delay.
+     */
+    static class EchoConnectionFactory implements FatekConnectionFactory {
+
+        @Override
+        public String getSchema() {
+            return "ECHO";
+        }
+
+        @Override
+        public FatekConnection getConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) {
+
+            return new FatekConnection(fatekConfig, connectionStateListener) {
+
+                private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                private boolean connected = true;
+
+                @Override
+                protected InputStream getInputStream() {
+                    return new ByteArrayInputStream(out.toByteArray());
+                }
+
+                @Override
+                protected OutputStream getOutputStream() {
+
+                    out.reset();
+                    return out;
+                }
+
+                @Override
+                protected void closeConnection() {
+                    connected = false;
+                }
+
+                @Override
+                public boolean isConnected() {
+                    return connected;
+                }
+            };
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        FatekPLC.registerConnectionFactory(new EchoConnectionFactory());
+        fatekPLC = new FatekPLC("echo://plc", null);
+        cmd = new FatekLoopCmd(fatekPLC, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+
+        fatekPLC.close();
+    }
+
+    @Benchmark
+    public Object sendByCaller() throws Exception {
+
+        return cmd.send();
+    }
+
+    @Benchmark
+    public Object sendByWorker() throws Exception {
+
+        return cmd.sendAsync().get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(BlockingSendBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
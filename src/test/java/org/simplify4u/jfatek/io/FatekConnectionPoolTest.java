@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.FatekPLC;
+import org.simplify4u.jfatek.FatekReadDataCmd;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekConnectionPoolTest {
+
+    private static final String REQUEST_PREFIX = "014601D";
+
+    /**
+     * Connections without streams, first connect waits for latch.
+     */
+    private static final class SlowConnectionFactory implements FatekConnectionFactory {
+
+        private final CountDownLatch firstConnect = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger connects = new AtomicInteger();
+
+        @Override
+        public String getSchema() {
+            return "SLOW";
+        }
+
+        @Override
+        public FatekConnection getConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) {
+
+            if (connects.getAndIncrement() == 0) {
+                firstConnect.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new SlowConnection(fatekConfig, connectionStateListener);
+        }
+    }
+
+    private static final class SlowConnection extends FatekConnection {
+
+        private volatile boolean connected = true;
+        private volatile boolean resourcesClosed;
+
+        private SlowConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) {
+            super(fatekConfig, connectionStateListener);
+        }
+
+        @Override
+        protected InputStream getInputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected OutputStream getOutputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void closeConnection() {
+            resourcesClosed = true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected;
+        }
+    }
+
+    @DataProvider(name = "schemes")
+    public static Object[][] schemes() {
+        return new Object[][]{{"tcp"}, {"tcp+nio"}};
+    }
+
+    @Test(dataProvider = "schemes")
+    public void testParallelRequests(String scheme) throws Exception {
+
+        // each response is sent only when all requests are received, so they must be processed in parallel
+        CountDownLatch allRequests = new CountDownLatch(4);
+
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            allRequests.countDown();
+            try {
+                assertTrue(allRequests.await(5, TimeUnit.SECONDS), "requests in parallel");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return addressAsValue(request);
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri(scheme) + "&pool=4", null)) {
+
+            List<CompletableFuture<List<RegValue>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(new FatekReadDataCmd(fatekPLC, 1, D(i), 1).sendAsync());
+            }
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(futures.get(i).get(10, TimeUnit.SECONDS).get(0).intValue(), i);
+            }
+            assertEquals(server.getConnectionCount(), 4);
+        }
+    }
+
+    @Test
+    public void testReplaceClosedConnection() throws Exception {
+
+        try (FatekTestServer server = new FatekTestServer(FatekConnectionPoolTest::addressAsValue);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp") + "&pool=2", null)) {
+
+            FatekConnection first = fatekPLC.getConnection();
+            first.close();
+
+            FatekConnection second = fatekPLC.getConnection();
+            assertNotSame(second, first);
+            assertTrue(second.isConnected());
+
+            assertEquals(new FatekReadDataCmd(fatekPLC, 1, D(7), 1).send().get(0).intValue(), 7);
+        }
+    }
+
+    @Test
+    public void testSlowConnectDoesNotBlockOtherSlots() throws Exception {
+
+        SlowConnectionFactory factory = new SlowConnectionFactory();
+        FatekPLC.registerConnectionFactory(factory);
+
+        try (FatekPLC fatekPLC = new FatekPLC("slow://plc?pool=2", null)) {
+
+            CompletableFuture<FatekConnection> slow = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return fatekPLC.getConnection();
+                } catch (FatekIOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(factory.firstConnect.await(5, TimeUnit.SECONDS));
+
+            // second slot is connected while first is still connecting
+            FatekConnection fast = fatekPLC.getConnection();
+            assertTrue(fast.isConnected());
+            assertFalse(slow.isDone());
+
+            factory.release.countDown();
+            assertNotSame(slow.get(5, TimeUnit.SECONDS), fast);
+        }
+    }
+
+    @Test
+    public void testDeadConnectionClosed() throws Exception {
+
+        SlowConnectionFactory factory = new SlowConnectionFactory();
+        factory.release.countDown();
+        FatekPLC.registerConnectionFactory(factory);
+
+        try (FatekPLC fatekPLC = new FatekPLC("slow://plc", null)) {
+
+            SlowConnection first = (SlowConnection) fatekPLC.getConnection();
+            first.connected = false;
+
+            FatekConnection second = fatekPLC.getConnection();
+            assertNotSame(second, first);
+            assertTrue(first.resourcesClosed);
+        }
+    }
+
+    @Test(expectedExceptions = FatekIOException.class, expectedExceptionsMessageRegExp = "Invalid pool size: 0")
+    public void testInvalidPoolSize() throws Exception {
+
+        new FatekPLC("tcp://127.0.0.1?pool=0", null).close();
+    }
+
+    // private methods
+
+    private static String addressAsValue(String request) {
+
+        assertTrue(request.startsWith(REQUEST_PREFIX), request);
+        int address = Integer.parseInt(request.substring(REQUEST_PREFIX.length()));
+        return String.format("01460%04X", address);
+    }
+}
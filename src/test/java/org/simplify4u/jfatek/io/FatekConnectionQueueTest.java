@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.FatekPLC;
+import org.simplify4u.jfatek.FatekReadDataCmd;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekConnectionQueueTest {
+
+    private static final String REQUEST_PREFIX = "014601D";
+
+    @DataProvider(name = "schemes")
+    public static Object[][] schemes() {
+        return new Object[][]{{"tcp", ""}, {"tcp", "&threads=virtual"}, {"tcp+nio", ""}};
+    }
+
+    @Test(dataProvider = "schemes")
+    public void testConcurrentSenders(String scheme, String params) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (FatekTestServer server = new FatekTestServer(FatekConnectionQueueTest::addressAsValue);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri(scheme) + params, null)) {
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int first = t * 100;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < first + 100; i++) {
+                        List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(i), 1).send();
+                        assertEquals(list.get(0).intValue(), i);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(server.getRequestCount(), 800);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(dataProvider = "schemes")
+    public void testQueueDepth(String scheme, String params) throws Exception {
+
+        CountDownLatch firstRequest = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            firstRequest.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return addressAsValue(request);
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri(scheme) + params, null)) {
+
+            List<CompletableFuture<List<RegValue>>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(new FatekReadDataCmd(fatekPLC, 1, D(i), 1).sendAsync());
+            }
+
+            assertTrue(firstRequest.await(5, TimeUnit.SECONDS));
+            FatekConnection connection = fatekPLC.getConnection();
+            assertEquals(connection.getQueueDepth(), 3);
+
+            release.countDown();
+            for (int i = 0; i < 3; i++) {
+                assertEquals(futures.get(i).get(5, TimeUnit.SECONDS).get(0).intValue(), i);
+            }
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (connection.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(connection.getQueueDepth(), 0);
+        }
+    }
+
+    @DataProvider(name = "streamSchemes")
+    public static Object[][] streamSchemes() {
+        return new Object[][]{{""}, {"&threads=virtual"}};
+    }
+
+    @Test(dataProvider = "streamSchemes")
+    public void testBlockingSendFromCallback(String params) throws Exception {
+
+        try (FatekTestServer server = new FatekTestServer(FatekConnectionQueueTest::addressAsValue);
+             FatekPLC fatekPLC = new FatekPLC(server.getUri("tcp") + params, null)) {
+
+            // callback is called by connection worker
+            CompletableFuture<Integer> future = new FatekReadDataCmd(fatekPLC, 1, D(1), 1).sendAsync()
+                    .thenApply(list -> {
+                        try {
+                            List<RegValue> next = new FatekReadDataCmd(fatekPLC, 1, D(2), 1).send();
+                            return list.get(0).intValue() + next.get(0).intValue();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+
+            assertEquals(future.get(5, TimeUnit.SECONDS).intValue(), 3);
+        }
+    }
+
+    @Test(dataProvider = "schemes")
+    public void testCancelWaitsForTransaction(String scheme, String params) throws Exception {
+
+        CountDownLatch firstRequest = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (FatekTestServer server = new FatekTestServer(request -> {
+            firstRequest.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return addressAsValue(request);
+        });
+             FatekPLC fatekPLC = new FatekPLC(server.getUri(scheme) + params, null)) {
+
+            CompletableFuture<List<RegValue>> future = new FatekReadDataCmd(fatekPLC, 1, D(1), 1).sendAsync();
+            assertTrue(firstRequest.await(5, TimeUnit.SECONDS));
+
+            FatekConnection connection = fatekPLC.getConnection();
+            future.cancel(false);
+            // request is still on the wire
+            assertEquals(connection.getQueueDepth(), 1);
+
+            release.countDown();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (connection.getQueueDepth() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(connection.getQueueDepth(), 0);
+        }
+    }
+
+    // private methods
+
+    /**
+     * Response for reading one register - value is equal to register address.
+     */
+    private static String addressAsValue(String request) {
+
+        assertTrue(request.startsWith(REQUEST_PREFIX), request);
+        int address = Integer.parseInt(request.substring(REQUEST_PREFIX.length()));
+        return String.format("01460%04X", address);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import org.simplify4u.jfatek.FatekException;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class FatekFrameDecoderTest {
+
+    private static String frame(FatekFrameDecoder decoder) {
+
+        return new String(decoder.array(), decoder.frameOffset(), decoder.frameLength(), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testFrameInChunks() throws Exception {
+
+        byte[] data = "\0020140C7\003\0020140C7\003".getBytes(StandardCharsets.US_ASCII);
+        FatekFrameDecoder decoder = new FatekFrameDecoder();
+
+        int frames = 0;
+        for (byte b : data) {
+            decoder.feed(new byte[]{b}, 0, 1);
+            while (decoder.nextFrame()) {
+                assertEquals(frame(decoder), "\0020140C7\003");
+                frames++;
+            }
+        }
+
+        assertEquals(frames, 2);
+    }
+
+    @Test
+    public void testResyncOnStx() throws Exception {
+
+        FatekFrameDecoder decoder = new FatekFrameDecoder();
+        decoder.feed(ByteBuffer.wrap("noise\00201\002014".getBytes(StandardCharsets.US_ASCII)));
+
+        assertFalse(decoder.nextFrame());
+
+        decoder.feed(ByteBuffer.wrap("0C7\003tail".getBytes(StandardCharsets.US_ASCII)));
+
+        assertTrue(decoder.nextFrame());
+        assertEquals(frame(decoder), "\0020140C7\003");
+        assertFalse(decoder.nextFrame());
+    }
+
+    @Test
+    public void testNextFrameAfterWrongCRC() throws Exception {
+
+        FatekFrameDecoder decoder = new FatekFrameDecoder();
+        decoder.feed(ByteBuffer.wrap("\0020140AA\003\0020140C7\003".getBytes(StandardCharsets.US_ASCII)));
+
+        try {
+            decoder.nextFrame();
+            fail("Expected CRC exception");
+        } catch (FatekCRCException e) {
+            // expected
+        }
+
+        assertTrue(decoder.nextFrame());
+        assertEquals(frame(decoder), "\0020140C7\003");
+    }
+
+    @Test(expectedExceptions = FatekException.class, expectedExceptionsMessageRegExp = "Message too short")
+    public void testShortFrame() throws Exception {
+
+        FatekFrameDecoder decoder = new FatekFrameDecoder();
+        decoder.feed(ByteBuffer.wrap("\00201\003".getBytes(StandardCharsets.US_ASCII)));
+
+        decoder.nextFrame();
+    }
+}
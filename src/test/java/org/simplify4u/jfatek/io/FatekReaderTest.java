@@ -17,6 +17,7 @@
 package org.simplify4u.jfatek.io;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 import static org.testng.Assert.assertEquals;
 
@@ -47,4 +48,59 @@ public class FatekReaderTest {
 
         fatekReader.readNextMessage();
     }
+
+    @Test
+    public void testReadInt() throws Exception {
+
+        String input = "\002A5C30123ABCDBE\003";
+        FatekReader fatekReader = new FatekReader(new ByteArrayInputStream(input.getBytes("ASCII")));
+
+        fatekReader.readNextMessage();
+        assertEquals(fatekReader.readInt16(), 0xa5c3L);
+        assertEquals(fatekReader.readInt32(), 0x0123abcdL);
+    }
+
+    @Test
+    public void testReadMessagesInBatchAndSplit() throws Exception {
+
+        byte[] data = "\0020140C7\003\002A5C30123ABCDBE\003".getBytes("ASCII");
+
+        // stream return data in small pieces
+        InputStream input = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+
+        FatekReader fatekReader = new FatekReader(input);
+
+        fatekReader.readNextMessage();
+        assertEquals(fatekReader.readByte(), 0x01);
+        assertEquals(fatekReader.readByte(), 0x40);
+
+        fatekReader.readNextMessage();
+        assertEquals(fatekReader.readInt16(), 0xa5c3L);
+        assertEquals(fatekReader.readInt32(), 0x0123abcdL);
+    }
+
+    @Test(expectedExceptions = FatekUnexpectedEOSException.class)
+    public void testUnexpectedEOS() throws Exception {
+
+        String input = "\0020140C7";
+        FatekReader fatekReader = new FatekReader(new ByteArrayInputStream(input.getBytes("ASCII")));
+
+        fatekReader.readNextMessage();
+    }
+
+    @Test
+    public void testSkipGarbageBeforeMessage() throws Exception {
+
+        String input = "xx\003\00201\0020140C7\003";
+        FatekReader fatekReader = new FatekReader(new ByteArrayInputStream(input.getBytes("ASCII")));
+
+        fatekReader.readNextMessage();
+        assertEquals(fatekReader.readByte(), 0x01);
+        assertEquals(fatekReader.readByte(), 0x40);
+    }
 }
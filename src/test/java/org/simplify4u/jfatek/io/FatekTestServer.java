@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * TCP server which simulate Fatek PLC.
+ * <p>
+ * Each request is passed to handler without STX, CRC and ETX, handler returns response
+ * in the same form or null when response should not be sent.
+ * Server can wait for batch of requests before it sends responses, as for pipelined requests.
+ *
+ * @author Slawomir Jaranowski.
+ */
+public class FatekTestServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final int batch;
+    private final Function<String, String> handler;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Thread acceptor;
+
+    public FatekTestServer(Function<String, String> handler) throws IOException {
+
+        this(1, handler);
+    }
+
+    public FatekTestServer(int batch, Function<String, String> handler) throws IOException {
+
+        this.batch = batch;
+        this.handler = handler;
+        serverSocket = new ServerSocket(0);
+
+        acceptor = new Thread(() -> {
+            try {
+                while (!serverSocket.isClosed()) {
+                    Socket socket = serverSocket.accept();
+                    connectionCount.incrementAndGet();
+                    Thread worker = new Thread(() -> serve(socket));
+                    worker.setDaemon(true);
+                    worker.start();
+                }
+            } catch (IOException e) {
+                // server closed
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public String getUri(String scheme) {
+        return scheme + "://127.0.0.1:" + serverSocket.getLocalPort() + "?plcId=1";
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        // socket blocked in accept is really closed when acceptor thread leaves accept
+        try {
+            acceptor.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static byte[] toFrame(String data) {
+
+        String msg = (char) 0x02 + data;
+        int crc = FatekUtils.countCRC(msg.getBytes(StandardCharsets.US_ASCII));
+        return (msg + String.format("%02X", crc) + (char) 0x03).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // private methods
+
+    private void serve(Socket socket) {
+
+        try (Socket s = socket) {
+            InputStream in = s.getInputStream();
+            OutputStream out = s.getOutputStream();
+
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            List<String> requests = new ArrayList<>();
+            int b;
+            while ((b = in.read()) >= 0) {
+                frame.write(b);
+                if (b != 0x03) {
+                    continue;
+                }
+
+                String request = frame.toString("ASCII");
+                frame.reset();
+                requestCount.incrementAndGet();
+                requests.add(request.substring(1, request.length() - 3));
+                if (requests.size() < batch) {
+                    continue;
+                }
+
+                for (String r : requests) {
+                    String response = handler.apply(r);
+                    if (response != null) {
+                        out.write(toFrame(response));
+                    }
+                }
+                out.flush();
+                requests.clear();
+            }
+        } catch (IOException e) {
+            // client closed connection
+        }
+    }
+}
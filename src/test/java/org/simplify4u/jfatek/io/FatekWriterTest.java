@@ -53,4 +53,34 @@ public class FatekWriterTest {
         String out = stream.toString("ASCII");
         assertEquals(out, "\0020140C7\003");
     }
+
+    @Test
+    public void testWriteInt() throws Exception {
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        FatekWriter writer = new FatekWriter(stream);
+        writer.writeInt16(0xa5c3);
+        writer.writeInt32(0x0123abcdL);
+        writer.flush();
+
+        String out = stream.toString("ASCII");
+        assertEquals(out, "\002A5C30123ABCDBE\003");
+    }
+
+    @Test
+    public void testWriterReuse() throws Exception {
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        FatekWriter writer = new FatekWriter(stream);
+        writer.writeByte(0x01);
+        writer.writeByte(0x40);
+        writer.flush();
+        writer.write("0140");
+        writer.flush();
+
+        String out = stream.toString("ASCII");
+        assertEquals(out, "\0020140C7\003\0020140C7\003");
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.simplify4u.jfatek.FatekException;
+import org.simplify4u.jfatek.registers.DataReg;
+import org.simplify4u.jfatek.registers.RegValue;
+
+/**
+ * Compare decoding of wide register payload value by value and in bulk.
+ * <p>
+ * Run after <code>mvn test-compile</code> by main method from IDE or with test class path.
+ *
+ * @author Slawomir Jaranowski.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexCodecBenchmark {
+
+    private static final int COUNT = 64;
+
+    @Param({"16", "32"})
+    private int bits;
+
+    private DataReg reg;
+    private FatekFrameDecoder decoder;
+    private FatekReader reader;
+    private byte[] frame;
+    private long[] values;
+    private FatekWriter writer;
+
+    @Setup
+    public void setup() throws Exception {
+
+        reg = bits == 32 ? DD(0) : D(0);
+        values = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            values[i] = 0x7A5C3E1FL * (i + 1) & (bits == 32 ? 0xFFFFFFFFL : 0xFFFFL);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FatekWriter frameWriter = new FatekWriter(out);
+        frameWriter.write("01460");
+        for (long value : values) {
+            RegValue.getForReg(reg, value).writeTo(frameWriter);
+        }
+        frameWriter.flush();
+        frame = out.toByteArray();
+
+        decoder = new FatekFrameDecoder();
+        decoder.feed(frame, 0, frame.length);
+        decoder.nextFrame();
+        reader = new FatekReader(decoder);
+        writer = new FatekWriter(new ByteArrayOutputStream());
+    }
+
+    private void nextMessage() throws FatekException {
+
+        // decode again the same frame
+        reader.setMessage();
+        reader.readByte();
+        reader.readByte();
+        reader.readNibble();
+    }
+
+    @Benchmark
+    public void decodeRegValueLoop(Blackhole bh) throws FatekException {
+
+        nextMessage();
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(RegValue.getForReg(reg, reader));
+        }
+    }
+
+    @Benchmark
+    public void decodeScalarLoop(Blackhole bh) throws FatekException {
+
+        nextMessage();
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(bits == 32 ? reader.readInt32() : reader.readInt16());
+        }
+    }
+
+    @Benchmark
+    public long[] decodeBulk() throws FatekException {
+
+        nextMessage();
+        if (bits == 32) {
+            reader.readInt32(values, 0, COUNT);
+        } else {
+            reader.readInt16(values, 0, COUNT);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public FatekWriter encodeScalarLoop() throws FatekIOException {
+
+        writer.start(null);
+        for (int i = 0; i < COUNT; i++) {
+            if (bits == 32) {
+                writer.writeInt32(values[i]);
+            } else {
+                writer.writeInt16(values[i]);
+            }
+        }
+        return writer;
+    }
+
+    @Benchmark
+    public FatekWriter encodeBulk() {
+
+        writer.start(null);
+        if (bits == 32) {
+            writer.writeInt32(values, 0, COUNT);
+        } else {
+            writer.writeInt16(values, 0, COUNT);
+        }
+        return writer;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder().include(HexCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+import org.simplify4u.jfatek.FatekException;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class HexCodecTest {
+
+    private static long chars(String str) {
+        return ByteBuffer.wrap(str.getBytes(StandardCharsets.US_ASCII)).getLong();
+    }
+
+    @Test
+    public void testDecode8() {
+
+        assertEquals(HexCodec.decode8(chars("0123ABCD")), 0x0123ABCDL);
+        assertEquals(HexCodec.decode8(chars("fedcba98")), 0xFEDCBA98L);
+        assertEquals(HexCodec.decode8(chars("FFFFFFFF")), 0xFFFFFFFFL);
+        assertEquals(HexCodec.decode8(chars("00000000")), 0L);
+    }
+
+    @Test
+    public void testDecode8Invalid() {
+
+        assertEquals(HexCodec.decode8(chars("0123ABCG")), -1L);
+        assertEquals(HexCodec.decode8(chars("/0000000")), -1L);
+        assertEquals(HexCodec.decode8(chars("0000:000")), -1L);
+        assertEquals(HexCodec.decode8(chars("000@0000")), -1L);
+        assertEquals(HexCodec.decode8(chars("`0000000")), -1L);
+        assertEquals(HexCodec.decode8(chars("0000000g")), -1L);
+        assertEquals(HexCodec.decode8(0x3030303030303080L), -1L);
+    }
+
+    @Test
+    public void testEncodeDecodeRandom() {
+
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            long value = random.nextInt() & 0xFFFFFFFFL;
+            String str = String.format("%08X", value);
+            long chars = HexCodec.encode8(value);
+
+            assertEquals(chars, chars(str));
+            assertEquals(HexCodec.decode8(chars), value);
+            assertEquals(HexCodec.byteSum(chars) & 0xff, FatekUtils.countCRC(str.getBytes(StandardCharsets.US_ASCII)));
+        }
+    }
+
+    @Test
+    public void testDecodeInt16Odd() throws Exception {
+
+        byte[] src = "x0001ABCDffff7".getBytes(StandardCharsets.US_ASCII);
+        long[] dst = new long[4];
+
+        HexCodec.decodeInt16(src, 1, dst, 1, 3);
+        assertEquals(dst, new long[]{0, 1, 0xABCD, 0xFFFF});
+    }
+
+    @Test(expectedExceptions = FatekException.class, expectedExceptionsMessageRegExp = "Invalid hex digit: 0x5A")
+    public void testDecodeInt32Invalid() throws Exception {
+
+        byte[] src = "0001ABCD0001ABZD".getBytes(StandardCharsets.US_ASCII);
+
+        HexCodec.decodeInt32(src, 0, new long[2], 0, 2);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.FatekException;
+import org.simplify4u.jfatek.FatekPLC;
+import org.simplify4u.jfatek.FatekReadDataCmd;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.simplify4u.jfatek.registers.RegValue16;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class NIOTCPConnectionTest {
+
+    private static final String REQUEST = "014603D00012";
+    private static final String RESPONSE = "0146010A57FC40001";
+
+    private FatekTestServer server;
+    private volatile boolean silent;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+
+        silent = false;
+        server = new FatekTestServer(request -> {
+            assertEquals(request, REQUEST);
+            return silent ? null : RESPONSE;
+        });
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testReadData() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri(), null)) {
+
+            for (int i = 0; i < 3; i++) {
+                List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+                assertEquals(list.toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            }
+        }
+        assertEquals(server.getRequestCount(), 3);
+    }
+
+    @Test
+    public void testManyConnections() throws Exception {
+
+        List<FatekPLC> plcs = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                plcs.add(new FatekPLC(uri(), null));
+            }
+
+            for (FatekPLC fatekPLC : plcs) {
+                List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+                assertEquals(list.toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            }
+        } finally {
+            for (FatekPLC fatekPLC : plcs) {
+                fatekPLC.close();
+            }
+        }
+        assertEquals(server.getRequestCount(), 50);
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+
+        silent = true;
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=200", null)) {
+            new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+            throw new AssertionError("Exception expected");
+        } catch (FatekException e) {
+            assertTrue(e.getMessage().contains("Read timed out"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSendAsyncManyConnections() throws Exception {
+
+        List<FatekPLC> plcs = new ArrayList<>();
+        List<CompletableFuture<List<RegValue>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                FatekPLC fatekPLC = new FatekPLC(uri(), null);
+                plcs.add(fatekPLC);
+                futures.add(new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync());
+            }
+
+            for (CompletableFuture<List<RegValue>> future : futures) {
+                assertEquals(future.get(5, TimeUnit.SECONDS).toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            }
+        } finally {
+            for (FatekPLC fatekPLC : plcs) {
+                fatekPLC.close();
+            }
+        }
+    }
+
+    @Test
+    public void testSendAsyncTimeout() throws Exception {
+
+        silent = true;
+        try (FatekPLC fatekPLC = new FatekPLC(uri(), null)) {
+            new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync(null, 100, TimeUnit.MILLISECONDS).get();
+            throw new AssertionError("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof FatekException, e.getCause().toString());
+            assertTrue(e.getCause().getCause() instanceof TimeoutException, e.getCause().toString());
+        }
+    }
+
+    @Test
+    public void testPipeline() throws Exception {
+
+        // server sends responses only after three requests are received
+        try (FatekTestServer batchServer = new FatekTestServer(3, request -> {
+            assertEquals(request, REQUEST);
+            return RESPONSE;
+        });
+             FatekPLC fatekPLC = new FatekPLC(batchServer.getUri("tcp+nio") + "&pipeline=3", null)) {
+
+            List<CompletableFuture<List<RegValue>>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync());
+            }
+
+            for (CompletableFuture<List<RegValue>> future : futures) {
+                assertEquals(future.get(5, TimeUnit.SECONDS).toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+            }
+        }
+    }
+
+    @Test
+    public void testPipelineMismatch() throws Exception {
+
+        AtomicInteger responses = new AtomicInteger();
+        try (FatekTestServer batchServer = new FatekTestServer(2, request -> {
+            // first response has wrong command ID
+            return responses.getAndIncrement() == 0 ? "0144010A57FC40001" : RESPONSE;
+        });
+             FatekPLC fatekPLC = new FatekPLC(batchServer.getUri("tcp+nio") + "&pipeline=2", null)) {
+
+            CompletableFuture<List<RegValue>> first = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync();
+            CompletableFuture<List<RegValue>> second = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync();
+
+            for (CompletableFuture<List<RegValue>> future : Arrays.asList(first, second)) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    throw new AssertionError("Exception expected");
+                } catch (ExecutionException e) {
+                    assertEquals(e.getCause().getMessage(), "Response does not match request");
+                }
+            }
+        }
+    }
+
+    @Test(expectedExceptions = FatekIOException.class)
+    public void testConnectionRefused() throws Exception {
+
+        String uri = uri();
+        server.close();
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri, null)) {
+            new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+        }
+    }
+
+    @Test
+    public void testGarbageDoesNotExtendTimeout() throws Exception {
+
+        try (ServerSocket garbageServer = new ServerSocket(0)) {
+
+            Thread thread = new Thread(() -> {
+                try (Socket socket = garbageServer.accept()) {
+                    OutputStream out = socket.getOutputStream();
+                    for (int i = 0; i < 40; i++) {
+                        out.write('X');
+                        out.flush();
+                        Thread.sleep(50);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // client closed connection
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            String uri = "tcp+nio://127.0.0.1:" + garbageServer.getLocalPort() + "?plcId=1&timeout=200";
+            try (FatekPLC fatekPLC = new FatekPLC(uri, null)) {
+                long start = System.nanoTime();
+                try {
+                    new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+                    throw new AssertionError("Exception expected");
+                } catch (FatekException e) {
+                    assertTrue(e.getMessage().contains("Read timed out"), e.getMessage());
+                }
+                assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000), "timeout not extended");
+            }
+        }
+    }
+
+    @Test
+    public void testSelectorFailure() throws Exception {
+
+        silent = true;
+        try (FatekPLC fatekPLC = new FatekPLC(uri(), null)) {
+
+            CompletableFuture<List<RegValue>> future = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).sendAsync();
+
+            // loops are chosen in turn, so all of them are reset
+            Set<NIOEventLoop> loops = new HashSet<>();
+            for (int i = 0; i < 16; i++) {
+                loops.add(NIOEventLoop.next());
+            }
+            for (NIOEventLoop loop : loops) {
+                loop.execute(() -> loop.resetSelector(new IOException("Test selector failure")));
+            }
+
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                throw new AssertionError("Exception expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof FatekIOException, e.getCause().toString());
+            }
+
+            // failed connection is replaced and loop serves it with new selector
+            silent = false;
+            List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(12), 3).send();
+            assertEquals(list.toArray(), RegValue16.asArray(0x10A5, 0x7FC4, 0x0001));
+        }
+    }
+
+    // private methods
+
+    private String uri() {
+        return server.getUri("tcp+nio");
+    }
+}
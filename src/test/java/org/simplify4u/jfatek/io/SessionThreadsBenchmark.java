@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.simplify4u.jfatek.FatekLoopCmd;
+import org.simplify4u.jfatek.FatekPLC;
+
+/**
+ * Polling round of many simulated PLCs, each PLC session does blocking send in own thread.
+ * <p>
+ * Compare platform threads with virtual threads, virtual threads need Java 21 or newer,
+ * on older JVM platform threads are used in both cases.
+ * Run after <code>mvn test-compile</code> by main method from IDE or with test class path.
+ *
+ * @author Slawomir Jaranowski.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss512k", "-Dorg.slf4j.simpleLogger.defaultLogLevel=info"})
+public class SessionThreadsBenchmark {
+
+    /**
+     * Response delay of simulated PLC in milliseconds.
+     */
+    private static final int LATENCY = 1;
+
+    @Param({"1000", "10000"})
+    private int plcs;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private List<FatekPLC> fatekPLCs;
+    private ExecutorService sessions;
+
+    /**
+     * PLC which answers by sent message after delay.
+     */
+    static class SimulatedConnectionFactory implements FatekConnectionFactory {
+
+        @Override
+        public String getSchema() {
+            return "SIM";
+        }
+
+        @Override
+        public FatekConnection getConnection(FatekConfig fatekConfig, Consumer<Boolean> connectionStateListener) {
+
+            return new FatekConnection(fatekConfig, connectionStateListener) {
+
+                private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                private boolean connected = true;
+
+                @Override
+                protected InputStream getInputStream() throws IOException {
+
+                    try {
+                        Thread.sleep(LATENCY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                    return new ByteArrayInputStream(out.toByteArray());
+                }
+
+                @Override
+                protected OutputStream getOutputStream() {
+
+                    out.reset();
+                    return out;
+                }
+
+                @Override
+                protected void closeConnection() {
+                    connected = false;
+                }
+
+                @Override
+                public boolean isConnected() {
+                    return connected;
+                }
+            };
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+
+        FatekPLC.registerConnectionFactory(new SimulatedConnectionFactory());
+
+        fatekPLCs = new ArrayList<>(plcs);
+        for (int i = 0; i < plcs; i++) {
+            fatekPLCs.add(new FatekPLC("sim://plc" + i + "?threads=" + threads, null));
+        }
+
+        if ("virtual".equals(threads)) {
+            sessions = newVirtualThreadPerTaskExecutor();
+        } else {
+            // one long living thread per PLC session
+            sessions = Executors.newFixedThreadPool(plcs);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+
+        sessions.shutdownNow();
+        for (FatekPLC fatekPLC : fatekPLCs) {
+            fatekPLC.close();
+        }
+    }
+
+    @Benchmark
+    public void pollRound() throws Exception {
+
+        List<Future<?>> futures = new ArrayList<>(plcs);
+        for (FatekPLC fatekPLC : fatekPLCs) {
+            futures.add(sessions.submit(() -> new FatekLoopCmd(fatekPLC, 1).send()));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(SessionThreadsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // private methods
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
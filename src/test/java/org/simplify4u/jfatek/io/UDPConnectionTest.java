@@ -0,0 +1,241 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.io;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.simplify4u.jfatek.FatekException;
+import org.simplify4u.jfatek.FatekPLC;
+import org.simplify4u.jfatek.FatekReadDataCmd;
+import org.simplify4u.jfatek.registers.RegValue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class UDPConnectionTest {
+
+    private static final String REQUEST = "014601D00012";
+
+    private DatagramSocket server;
+    private ScheduledExecutorService scheduler;
+    private final List<String> requests = new ArrayList<>();
+
+    /**
+     * Response for n-th request - response data and delay in milliseconds, null when request is dropped.
+     */
+    private volatile IntFunction<Object[]> responder;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+
+        server = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        requests.clear();
+
+        Thread thread = new Thread(() -> {
+            byte[] buf = new byte[512];
+            try {
+                while (!server.isClosed()) {
+                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                    server.receive(packet);
+                    String request = new String(buf, 1, packet.getLength() - 4, StandardCharsets.US_ASCII);
+                    int n;
+                    synchronized (requests) {
+                        n = requests.size();
+                        requests.add(request);
+                    }
+                    respond(packet.getSocketAddress(), responder.apply(n));
+                }
+            } catch (IOException e) {
+                // server closed
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterMethod
+    public void stopServer() {
+
+        server.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testReadData() throws Exception {
+
+        responder = n -> new Object[]{"01460" + String.format("%04X", n), 0};
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri(), null)) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(readValue(fatekPLC), i);
+            }
+        }
+        assertEquals(requests.size(), 3);
+        assertEquals(requests.get(0), REQUEST);
+    }
+
+    @Test
+    public void testRetransmit() throws Exception {
+
+        // first request is lost
+        responder = n -> n == 0 ? null : new Object[]{"014600001", 0};
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=100&retries=1", null)) {
+            assertEquals(readValue(fatekPLC), 1);
+        }
+        assertEquals(requests.size(), 2);
+    }
+
+    @Test
+    public void testNoRetransmitByDefault() throws Exception {
+
+        responder = n -> null;
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=50", null)) {
+            readValue(fatekPLC);
+            throw new AssertionError("Exception expected");
+        } catch (FatekException e) {
+            assertTrue(e.getMessage().contains("Receive timed out"), e.getMessage());
+        }
+        assertEquals(requests.size(), 1);
+    }
+
+    @Test
+    public void testIdenticalResponsesAfterRetransmit() throws Exception {
+
+        // first request is lost, next responses have the same content as response for retransmitted request
+        responder = n -> n == 0 ? null : new Object[]{"014600001", 0};
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=100&retries=1", null)) {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(readValue(fatekPLC), 1);
+            }
+        }
+        assertEquals(requests.size(), 4);
+    }
+
+    @Test
+    public void testDuplicatedResponseDiscarded() throws Exception {
+
+        // response for first request is late, so it is received also for retransmitted request
+        responder = n -> {
+            switch (n) {
+                case 0:
+                    return new Object[]{"014600001", 350};
+                case 1:
+                    return new Object[]{"014600001", 0};
+                default:
+                    return new Object[]{"014600002", 150};
+            }
+        };
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=250&retries=1", null)) {
+            assertEquals(readValue(fatekPLC), 1);
+            assertEquals(readValue(fatekPLC), 2);
+        }
+        assertEquals(requests.size(), 3);
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+
+        responder = n -> null;
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&timeout=50&retries=2", null)) {
+            readValue(fatekPLC);
+            throw new AssertionError("Exception expected");
+        } catch (FatekException e) {
+            assertTrue(e.getMessage().contains("Receive timed out"), e.getMessage());
+        }
+        assertEquals(requests.size(), 3);
+    }
+
+    @Test
+    public void testManyEndpointsOnOneChannel() throws Exception {
+
+        responder = n -> new Object[]{"014600007", 0};
+
+        List<FatekPLC> plcs = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++) {
+                plcs.add(new FatekPLC(uri(), null));
+            }
+            for (FatekPLC fatekPLC : plcs) {
+                assertEquals(readValue(fatekPLC), 7);
+            }
+        } finally {
+            for (FatekPLC fatekPLC : plcs) {
+                fatekPLC.close();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = FatekIOException.class)
+    public void testPoolNotSupported() throws Exception {
+
+        try (FatekPLC fatekPLC = new FatekPLC(uri() + "&pool=2", null)) {
+            readValue(fatekPLC);
+        }
+    }
+
+    // private methods
+
+    private String uri() {
+        return "udp://127.0.0.1:" + server.getLocalPort() + "?plcId=1";
+    }
+
+    private static int readValue(FatekPLC fatekPLC) throws Exception {
+
+        List<RegValue> list = new FatekReadDataCmd(fatekPLC, 1, D(12), 1).send();
+        return list.get(0).intValue();
+    }
+
+    private void respond(SocketAddress address, Object[] response) {
+
+        if (response == null) {
+            return;
+        }
+
+        byte[] frame = FatekTestServer.toFrame((String) response[0]);
+        scheduler.schedule(() -> {
+            try {
+                server.send(new DatagramPacket(frame, frame.length, address));
+            } catch (IOException e) {
+                // server closed
+            }
+        }, (Integer) response[1], TimeUnit.MILLISECONDS);
+    }
+}
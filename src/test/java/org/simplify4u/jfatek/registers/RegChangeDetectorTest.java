@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class RegChangeDetectorTest {
+
+    @Test
+    public void testFirstValuesReported() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(R(0), R(1), M(0)));
+
+        RegChanges changes = detector.detect(reg -> 0L);
+        assertEquals(changes.size(), 3);
+
+        changes = detector.detect(reg -> 0L);
+        assertTrue(changes.isEmpty());
+        assertEquals(changes.nextChanged(0), -1);
+
+        detector.reset();
+        assertEquals(detector.detect(reg -> 0L).size(), 3);
+    }
+
+    @Test
+    public void testAbsoluteDeadband() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(R(0), R(1)))
+                .setDeadband(R(0), 5);
+
+        RegBlock block = new RegBlock(R(0), new long[]{100, 100});
+        detector.detect(block);
+
+        block.getValues()[0] = 105;
+        block.getValues()[1] = 101;
+        RegChanges changes = detector.detect(block);
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.nextChanged(0), 1);
+        assertEquals(changes.rawValue(1), 101);
+
+        // deadband is counted from last reported value, not from last seen
+        block.getValues()[0] = 106;
+        changes = detector.detect(block);
+        assertEquals(changes.size(), 1);
+        assertTrue(changes.isChanged(0));
+        assertEquals(changes.getRegValue(0), new RegValue16(106));
+    }
+
+    @Test
+    public void testSignedAndPercentDeadband() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(D(0)))
+                .setPercentDeadband(D(0), 10);
+
+        RegValueMap map = new RegValueMap();
+        map.putRaw(RegKey.of(D(0)), 0xFF9C); // -100
+        detector.detect(map);
+
+        map.putRaw(RegKey.of(D(0)), 0xFFA6); // -90
+        assertTrue(detector.detect(map).isEmpty());
+
+        map.putRaw(RegKey.of(D(0)), 0xFFA7); // -89
+        RegChanges changes = detector.detect(map);
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.toMap().get(D(0)).longValue(), -89);
+    }
+
+    @Test
+    public void testFloatDeadband() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(DD(0)))
+                .setFloat(DD(0), true)
+                .setDeadband(DD(0), 0.5);
+
+        long[] value = {Float.floatToIntBits(1.0f)};
+        detector.detect(reg -> value[0]);
+
+        value[0] = Float.floatToIntBits(1.4f);
+        assertTrue(detector.detect(reg -> value[0]).isEmpty());
+
+        value[0] = Float.floatToIntBits(1.6f);
+        assertFalse(detector.detect(reg -> value[0]).isEmpty());
+    }
+
+    @Test
+    public void testEdges() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(M(0), M(1), M(2)))
+                .setEdge(M(1), RegChangeDetector.Edge.RISING)
+                .setEdge(M(2), RegChangeDetector.Edge.FALLING);
+
+        long[] status = {0};
+        detector.detect(reg -> status[0]);
+
+        status[0] = 1;
+        RegChanges changes = detector.detect(reg -> status[0]);
+        assertEquals(changes.toBitSet().toString(), "{0, 1}");
+
+        status[0] = 0;
+        changes = detector.detect(reg -> status[0]);
+        assertEquals(changes.toBitSet().toString(), "{0, 2}");
+        assertEquals(changes.getReg(2), M(2));
+    }
+
+    @Test
+    public void testManyRegisters() {
+
+        List<Reg> regs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            regs.add(R(i));
+        }
+        RegChangeDetector detector = new RegChangeDetector(regs);
+        RegBlock block = new RegBlock(R(0), 200);
+        detector.detect(block);
+
+        block.getValues()[3] = 1;
+        block.getValues()[130] = 1;
+        block.getValues()[199] = 1;
+        RegChanges changes = detector.detect(block);
+
+        List<Integer> changed = new ArrayList<>();
+        for (int i = changes.nextChanged(0); i >= 0; i = changes.nextChanged(i + 1)) {
+            changed.add(i);
+        }
+        assertEquals(changed, Arrays.asList(3, 130, 199));
+        assertEquals(changes.getWords().length, 4);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicate() {
+
+        new RegChangeDetector(Arrays.asList(R(0), R(0)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testDeadbandForDiscrete() {
+
+        new RegChangeDetector(Arrays.asList(M(0))).setDeadband(M(0), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testFloatFor16BitsReg() {
+
+        new RegChangeDetector(Arrays.asList(R(0))).setFloat(R(0), true);
+    }
+
+    @Test
+    public void testNotValidSkipped() {
+
+        RegChangeDetector detector = new RegChangeDetector(Arrays.asList(R(0), R(1)));
+
+        // R0 is not read in first cycle
+        RegChanges changes = detector.detect(reg -> 0, reg -> reg.equals(R(1)));
+        assertEquals(changes.nextChanged(0), 1);
+        assertEquals(changes.nextChanged(2), -1);
+
+        changes = detector.detect(reg -> 5, reg -> true);
+        assertEquals(changes.nextChanged(0), 0);
+        assertEquals(changes.rawValue(0), 5);
+        assertEquals(changes.nextChanged(1), 1);
+    }
+}
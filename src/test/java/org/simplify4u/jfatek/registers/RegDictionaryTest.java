@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class RegDictionaryTest {
+
+    @Test
+    public void testLoad() throws Exception {
+
+        RegDictionary dictionary = RegDictionary.load(Arrays.asList(
+                "# tag,register",
+                "pump.speed, D100 ,rpm",
+                "",
+                "pump.run,m12",
+                "flow,DD00010",
+                "pump.speed,D101"));
+
+        assertEquals(dictionary.size(), 3);
+        assertSame(dictionary.get("pump.speed"), D(101));
+        assertSame(dictionary.get("pump.run"), M(12));
+        assertSame(dictionary.get("flow"), DD(10));
+        assertNull(dictionary.get("unknown"));
+        assertSame(dictionary.resolve("R7"), DataReg.R(7));
+    }
+
+    @Test
+    public void testLoadMany() throws Exception {
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            lines.add("tag" + i + ",D" + (i % 5000));
+        }
+
+        RegDictionary dictionary = RegDictionary.load(lines);
+
+        assertEquals(dictionary.size(), 100_000);
+        assertSame(dictionary.get("tag5001"), dictionary.get("tag1"));
+    }
+
+    @Test(expectedExceptions = UnknownRegNameException.class,
+            expectedExceptionsMessageRegExp = "Unknown reg name: 'Q1'")
+    public void testLoadError() throws Exception {
+
+        RegDictionary.load(Arrays.asList("a,D1", "b,Q1", "c", "d,X1"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class RegSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+
+        RegSet regSet = new RegSet();
+
+        assertTrue(regSet.add(D(5000)));
+        assertFalse(regSet.add(D(5000)));
+        assertTrue(regSet.add(M(1)));
+        assertTrue(regSet.contains(D(5000)));
+        assertFalse(regSet.contains(D(5001)));
+        assertFalse(regSet.contains(R(-1)));
+        assertEquals(regSet.size(), 2);
+
+        assertTrue(regSet.remove(D(5000)));
+        assertFalse(regSet.remove(D(5000)));
+        assertEquals(regSet.names(), new HashSet<>(Arrays.asList(RegName.M)));
+    }
+
+    @Test
+    public void testIterateInOrder() {
+
+        List<Reg> regs = Arrays.asList(R(0), R(100), R(25), D(24), D(8), M(100), M(20), D(70000));
+        List<Reg> sorted = new ArrayList<>(regs);
+        sorted.sort(null);
+
+        List<Reg> iterated = new ArrayList<>();
+        RegSet.of(regs).forEach(iterated::add);
+
+        assertEquals(iterated, sorted);
+    }
+
+    @Test
+    public void testRanges() {
+
+        RegSet regSet = new RegSet();
+        regSet.addRange(RegName.D, 4090, 4100);
+        regSet.add(D(4105));
+        regSet.addRange(RegName.DD, 0, 6);
+        regSet.add(DD(10));
+        regSet.add(M(3));
+
+        assertEquals(regSet.toString(), "[M3, D4090-4100, D4105, DD0-6, DD10]");
+
+        RegSet.GapStatistics statistics = regSet.gapStatistics();
+        assertEquals(statistics.getRanges(), 5);
+        assertEquals(statistics.getGaps(), 2);
+        assertEquals(statistics.getGapRegisters(), 5);
+        assertEquals(statistics.getMaxGap(), 4);
+    }
+
+    @Test
+    public void testSetOperations() {
+
+        Random random = new Random(0);
+        Set<Reg> expectedA = new HashSet<>();
+        Set<Reg> expectedB = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            expectedA.add(D(random.nextInt(20000)));
+            expectedB.add(D(random.nextInt(20000)));
+            expectedB.add(M(random.nextInt(100)));
+        }
+        RegSet a = RegSet.of(expectedA);
+        RegSet b = RegSet.of(expectedB);
+
+        Set<Reg> union = new HashSet<>(expectedA);
+        union.addAll(expectedB);
+        Set<Reg> intersection = new HashSet<>(expectedA);
+        intersection.retainAll(expectedB);
+        Set<Reg> difference = new HashSet<>(expectedA);
+        difference.removeAll(expectedB);
+
+        assertEquals(a.size(), expectedA.size());
+        assertEquals(a.union(b), RegSet.of(union));
+        assertEquals(a.intersection(b), RegSet.of(intersection));
+        assertEquals(a.difference(b), RegSet.of(difference));
+        assertEquals(a.difference(a), new RegSet());
+        assertEquals(a.difference(b).size(), difference.size());
+    }
+}
@@ -50,6 +50,7 @@ import static org.simplify4u.jfatek.registers.DisReg.X;
 import static org.simplify4u.jfatek.registers.DisReg.Y;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import org.simplify4u.jfatek.FatekException;
 import org.testng.annotations.DataProvider;
@@ -102,6 +103,10 @@ public class RegTest {
                 {"DR1", DR(1)},
                 {"DD1", DD(1)},
                 {"DF1", DF(1)},
+
+                {" r100 ", R(100)},
+                {"D1X", D(1)},
+                {"#D1", D(1)},
         };
     }
 
@@ -119,7 +124,11 @@ public class RegTest {
                 {""},
                 {" "},
                 {"X"},
-                {"O2"}
+                {"O2"},
+                {"12"},
+                {"DWXY1"},
+                {"X Y"},
+                {"D99999999999"}
         };
     }
 
@@ -168,6 +177,14 @@ public class RegTest {
         assertEquals(regNameSorted, new Reg[]{X(100), Y(20), R(0), R(25), R(100), D(8), D(24)});
     }
 
+    @Test
+    public void testInterned() throws Exception {
+
+        assertTrue(D(12) == D(12));
+        assertTrue(Reg.parse(" dd00100 ") == DD(100));
+        assertTrue(X(10).incAddress(10) == X(20));
+    }
+
     @Test
     public void testImmutableInc() {
 
@@ -177,4 +194,13 @@ public class RegTest {
         assertEquals(r.getAddress(), 10);
         assertEquals(r2.getAddress(), 20);
     }
+
+    @Test
+    public void testToString() {
+
+        assertEquals(D(12).toString(), "D00012");
+        assertEquals(X(12).toString(), "X0012");
+        assertEquals(DWM(0).toString(), "DWM0000");
+        assertEquals(X(12345).toString(), "X12345");
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Slawomir Jaranowski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.simplify4u.jfatek.registers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.simplify4u.jfatek.registers.DataReg.D;
+import static org.simplify4u.jfatek.registers.DataReg.DD;
+import static org.simplify4u.jfatek.registers.DataReg.DWM;
+import static org.simplify4u.jfatek.registers.DataReg.R;
+import static org.simplify4u.jfatek.registers.DisReg.Y;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Slawomir Jaranowski.
+ */
+public class RegValueMapTest {
+
+    @Test
+    public void testKey() {
+
+        int key = RegKey.of(DD(1234));
+
+        assertEquals(RegKey.getName(key), RegName.DD);
+        assertEquals(RegKey.getAddress(key), 1234);
+        assertTrue(RegKey.is32Bits(key));
+        assertFalse(RegKey.isDiscrete(key));
+        assertEquals(RegKey.toReg(key), DD(1234));
+
+        int disKey = RegKey.of(Y(7));
+        assertTrue(RegKey.isDiscrete(disKey));
+        assertEquals(RegKey.toReg(disKey), Y(7));
+
+        assertEquals(RegKey.toReg(RegKey.of(R(RegKey.MAX_ADDRESS))), R(RegKey.MAX_ADDRESS));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testKeyInvalidAddress() {
+
+        RegKey.of(R(-1));
+    }
+
+    @Test
+    public void testPutGet() {
+
+        RegValueMap map = new RegValueMap(2);
+        for (int i = 0; i < 1000; i++) {
+            map.putRaw(RegKey.of(D(i * 3)), i);
+        }
+        map.putRaw(RegKey.of(D(3)), 0xFFFF);
+
+        assertEquals(map.size(), 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(map.keyAt(i), RegKey.of(D(i * 3)));
+        }
+        assertEquals(map.indexOf(RegKey.of(D(3))), 1);
+        assertEquals(map.rawValueAt(1), 0xFFFF);
+        assertEquals(map.longValueAt(1), -1);
+        assertEquals(map.getRaw(RegKey.of(D(1)), -5), -5);
+        assertEquals(map.get(D(6)), new RegValue16(2));
+        assertNull(map.get(D(1)));
+        assertNull(map.get(R(-1)));
+    }
+
+    @Test
+    public void testAsMap() {
+
+        Map<Reg, RegValue> expected = new HashMap<>();
+        expected.put(R(1), new RegValue16(0x5C34));
+        expected.put(Y(9), RegValueDis.TRUE);
+        expected.put(DWM(0), new RegValue32(0x003547BAL));
+
+        RegValueMap map = new RegValueMap();
+        map.putAll(expected);
+
+        assertEquals(map, expected);
+        assertEquals(expected, map);
+        assertEquals(map.hashCode(), expected.hashCode());
+        assertEquals(map.get(Y(9)).boolValue(), true);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(R(1)));
+    }
+}